@@ -0,0 +1,21 @@
+package com.example.eventsystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * Time source for "today" and other wall-clock decisions. Inject this rather than calling
+     * {@code now()} so the behaviour can be pinned to a fixed instant and zone.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.eventsystem.config;
+
+import com.example.eventsystem.service.PipelineMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter for a binary wire format (CBOR, Smile) that records write time under
+ * its own {@code format} tag, next to the JSON timings from {@link TimedJsonHttpMessageConverter}
+ */
+public class TimedBinaryHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    private final String format;
+    private final PipelineMetrics metrics;
+
+    public TimedBinaryHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType, String format, PipelineMetrics metrics) {
+        super(objectMapper, mediaType);
+        this.format = format;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            metrics.recordSerialization(format, System.nanoTime() - start);
+        }
+    }
+}
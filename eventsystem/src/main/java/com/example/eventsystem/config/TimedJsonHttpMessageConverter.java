@@ -0,0 +1,32 @@
+package com.example.eventsystem.config;
+
+import com.example.eventsystem.service.PipelineMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records how long each JSON response body takes to write.
+ * The timing includes flushing to the socket once the output buffer fills up.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final PipelineMetrics metrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, PipelineMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            metrics.recordSerialization("json", System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.eventsystem.config;
+
+import com.example.eventsystem.service.PipelineMetrics;
+import jakarta.servlet.DispatcherType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    // Boot's builder carries the spring.jackson.* settings, so every format gets the same projection
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Swap the Jackson converters for timed ones so response serialization shows up in metrics.
+     * The CBOR and Smile converters Spring registers when those modules are present are built
+     * with bare defaults; they are rebuilt from Boot's builder. JSON stays ahead of both, so
+     * clients that do not ask for a binary type still get JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJsonHttpMessageConverter)) {
+                converters.set(i, new TimedJsonHttpMessageConverter(jackson.getObjectMapper(), metrics));
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, new TimedBinaryHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new CBORFactory()).build(),
+                        MediaType.APPLICATION_CBOR, "cbor", metrics));
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, new TimedBinaryHttpMessageConverter(
+                        objectMapperBuilder.getObject().factory(new SmileFactory()).build(),
+                        new MediaType("application", "x-jackson-smile"), "smile", metrics));
+            }
+        }
+    }
+
+    /**
+     * ETags from a digest of the response body, with 304 for a matching If-None-Match, for the
+     * polled endpoints that have no cheaper version to derive one from: venues, hotel configs,
+     * alerts and impact timelines. They are weak so that
+     * response compression still applies. /api/events sets its own ETag from the result
+     * snapshot, and the SSE stream must not be buffered, so neither is mapped. ASYNC dispatch
+     * is included because /api/venues completes on a DeferredResult.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/venues", "/api/config", "/api/alerts", "/api/timeline");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+}
@@ -3,14 +3,42 @@ package com.example.eventsystem.controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.example.eventsystem.service.TicketmasterService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import com.example.eventsystem.model.EventQuery;
 import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
 import com.example.eventsystem.model.HotelConfig;
+import com.example.eventsystem.model.ImpactAlert;
+import com.example.eventsystem.model.ImpactTimeline;
+import com.example.eventsystem.model.UpstreamPriority;
+import com.example.eventsystem.service.EventSnapshot;
+import com.example.eventsystem.service.EventSnapshotStore;
+import com.example.eventsystem.service.EventQueryNormalizer;
+import com.example.eventsystem.service.HotelConfigRepository;
 import com.example.eventsystem.service.ImageProcessingService;
+import com.example.eventsystem.service.ImpactAlertEngine;
+import com.example.eventsystem.service.ImpactTimelineEngine;
+import com.example.eventsystem.service.RequestDiagnostics;
+import com.example.eventsystem.service.TicketmasterClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +47,8 @@ import org.slf4j.LoggerFactory;
 @CrossOrigin(origins = "*")
 public class EventController {
     private static final Logger logger = LoggerFactory.getLogger(EventController.class);
+    // Time left after the crawl budget for sorting, serializing and writing the response
+    private static final long BUDGET_HEADROOM_MILLIS = 2000;
 
     @Autowired
     private TicketmasterService ticketmasterService;
@@ -26,8 +56,61 @@ public class EventController {
     @Autowired
     private ImageProcessingService imageProcessingService;
 
+    @Autowired
+    private RequestDiagnostics requestDiagnostics;
+
+    @Autowired
+    private EventSnapshotStore snapshotStore;
+
+    @Autowired
+    private EventQueryNormalizer queryNormalizer;
+
+    @Autowired
+    private HotelConfigRepository hotelConfigRepository;
+
+    @Autowired
+    private ImpactAlertEngine impactAlertEngine;
+
+    @Autowired
+    private ImpactTimelineEngine impactTimelineEngine;
+
+    @Value("${events.stream.timeout-ms:60000}")
+    private long streamTimeoutMillis;
+
+    @Value("${events.async.timeout-ms:30000}")
+    private long asyncTimeoutMillis;
+
+    @Value("${events.http.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Value("${events.latency-budget-ms:10000}")
+    private long defaultBudgetMillis;
+
+    /**
+     * Events for a query, sorted and paged. The first request crawls and sorts the full result
+     * into a server-side snapshot; the {@code nextCursor}/{@code previousCursor} tokens in the
+     * pagination block address pages of that snapshot, so following them costs a slice rather
+     * than a crawl and the order cannot shift between pages. When {@code cursor} is given, the
+     * other query parameters are ignored. Page-number requests reuse the latest snapshot of the
+     * same query while it is live ({@code events.snapshot.ttl-ms}), so repeated polls do not
+     * re-crawl. A date-ascending query without filters first crawls only a few pages past the
+     * requested one and fills the rest of its snapshot in the background; pages and cursors
+     * beyond what has arrived wait for that fill.
+     *
+     * <p>{@code category}, {@code genre}, {@code venue}, {@code impactLevel}, {@code minScore},
+     * {@code maxDistance}, {@code minPrice}/{@code maxPrice} and {@code status} filter the crawled
+     * events before they are sorted; {@code totalElements} counts the events that passed.
+     * {@code sortBy} also accepts {@code impactScore}, {@code distance}, {@code price} and
+     * {@code relevance}.
+     *
+     * <p>The crawl is bounded by a latency budget: {@code budgetMs}, else the
+     * {@code X-Latency-Budget-Ms} header, else {@code events.latency-budget-ms}. When it runs
+     * out, the response holds the pages that arrived, {@code partial} is true, and the
+     * pagination block carries a {@code continuation} token. Passing it back as
+     * {@code continuation} resumes the crawl without refetching what already arrived.
+     */
     @GetMapping("/events")
-    public ResponseEntity<Map<String, Object>> getEvents(
+    public DeferredResult<ResponseEntity<Map<String, Object>>> getEvents(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(required = false) String keyword,
@@ -38,94 +121,377 @@ public class EventController {
             @RequestParam(defaultValue = "36.1656") double lat,
             @RequestParam(defaultValue = "-86.7781") double lon,
             @RequestParam(defaultValue = "10") int radius,
-            @RequestParam(required = false) String period) {
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) List<String> venue,
+            @RequestParam(required = false) List<String> impactLevel,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Double maxDistance,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String continuation,
+            @RequestParam(required = false) Long budgetMs,
+            @RequestHeader(value = "X-Latency-Budget-Ms", required = false) Long budgetHeader) {
         
-        logger.info("Fetching events with parameters: lat={}, lon={}, radius={}, period={}, page={}, size={}", 
-                   lat, lon, radius, period, page, size);
+        DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>(asyncTimeoutMillis);
+        FetchSummary summary = requestDiagnostics.begin();
+        if (cursor != null) {
+            EventSnapshotStore.Cursor position;
+            try {
+                position = snapshotStore.decodeCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                result.setResult(ResponseEntity.badRequest().body(Map.of("error", "Invalid cursor")));
+                return result;
+            }
+            EventSnapshot snapshot = snapshotStore.get(position.snapshotId());
+            if (snapshot == null) {
+                result.setResult(ResponseEntity.status(HttpStatus.GONE)
+                        .body(Map.of("error", "Cursor expired; repeat the query without a cursor")));
+                return result;
+            }
+            if (snapshot.isComplete() || position.offset() + position.size() <= snapshot.getEvents().size()) {
+                result.setResult(eventsPage(snapshot, position.offset(), position.size(), true, summary, "cursor"));
+                return result;
+            }
+            // Past the leading pages: the offsets stay valid in the full result
+            CompletableFuture<EventSnapshot> filled = ticketmasterService.completeSnapshotAsync(snapshot);
+            filled.whenComplete((full, error) -> {
+                if (error != null) {
+                    logger.error("Error filling events snapshot: {}", error.getMessage(), error);
+                    result.setResult(ResponseEntity.internalServerError().build());
+                    return;
+                }
+                result.setResult(eventsPage(full, position.offset(), position.size(), true, summary, "cursor"));
+            });
+            return result;
+        }
         
-        try {
-            List<EventResponse> events = ticketmasterService.fetchEvents(
-                startDate, endDate, keyword, page, size, sortBy, sortDir, lat, lon, radius, period);
-            
-            // Log image processing statistics
-            logImageStatistics(events);
-            
-            // Create pagination response
-            Map<String, Object> response = new HashMap<>();
-            response.put("events", events);
-            response.put("pagination", createPaginationInfo(page, size, events.size()));
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error fetching events: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError().build();
+        long budget = latencyBudget(budgetMs, budgetHeader);
+        EventQuery query;
+        CompletableFuture<EventSnapshot> work;
+        if (continuation != null) {
+            query = ticketmasterService.continuationQuery(continuation);
+            if (query == null) {
+                result.setResult(ResponseEntity.status(HttpStatus.GONE)
+                        .body(Map.of("error", "Continuation expired; repeat the query without it")));
+                return result;
+            }
+            work = ticketmasterService.resumeSnapshotAsync(continuation, budget, summary);
+        } else {
+            query = queryNormalizer.normalize(startDate, endDate, keyword, page, size, sortBy, sortDir, lat, lon, radius, period,
+                    category, genre, venue, impactLevel, minScore, maxDistance, minPrice, maxPrice, status);
+            if (!query.isValid()) {
+                result.setResult(ResponseEntity.badRequest().body(Map.of("error", query.getErrors().get(0), "errors", query.getErrors())));
+                return result;
+            }
+            work = ticketmasterService.fetchSnapshotAsync(query, true, UpstreamPriority.INTERACTIVE, summary, budget);
+        }
+        cancelWhenAbandoned(result, work);
+        work.whenComplete((snapshot, error) -> {
+            if (error != null) {
+                if (TicketmasterClient.unwrap(error) instanceof NoSuchElementException) {
+                    // The continuation was used or evicted in the meantime
+                    result.setResult(ResponseEntity.status(HttpStatus.GONE)
+                            .body(Map.of("error", "Continuation expired; repeat the query without it")));
+                    return;
+                }
+                if (!work.isCancelled()) logger.error("Error fetching events: {}", error.getMessage(), error);
+                result.setResult(ResponseEntity.internalServerError().build());
+                return;
+            }
+            result.setResult(eventsPage(snapshot, query.getPage() * query.getSize(), query.getSize(), false, summary, query.toString()));
+        });
+        return result;
+    }
+
+    /**
+     * One slice of the snapshot plus pagination. The ETag is the snapshot version and slice
+     * bounds, plus whatever else in the body does not follow from them (the partial, fallback
+     * and duplicate flags of the crawl, and the expected total of a snapshot still being
+     * filled), so a poll whose result has not changed is answered with 304 before the body is
+     * serialized. It is weak because the body may be gzipped on the way out (Tomcat will not
+     * compress a response carrying a strong ETag), and caches key on Accept because the same
+     * slice can be sent as JSON, CBOR or Smile. Cursor pages never change while the snapshot
+     * lives and may be cached until it expires; query pages must be revalidated.
+     */
+    private ResponseEntity<Map<String, Object>> eventsPage(EventSnapshot snapshot, int offset, int size, boolean fromCursor, FetchSummary summary, String requestDescription) {
+        List<EventResponse> events = snapshot.slice(offset, size);
+        // Single-pass image statistics, logged once with the request summary
+        summary.recordReturned(events);
+        requestDiagnostics.complete(summary, requestDescription);
+        
+        // Create pagination response
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", events);
+        response.put("partial", summary.isPartial());
+        response.put("fallback", summary.isFallback());
+        response.put("duplicatesRemoved", summary.getDuplicatesRemoved());
+        Map<String, Object> pagination = createPaginationInfo(snapshot, offset, size, events.size());
+        if (summary.getContinuation() != null) pagination.put("continuation", summary.getContinuation());
+        response.put("pagination", pagination);
+        
+        if (snapshot.getId() == null || summary.getContinuation() != null) {
+            // Nothing stable to validate against: a failed crawl, or one cut short with a one-off token
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
         }
+        CacheControl cacheControl = fromCursor
+                ? CacheControl.maxAge(Math.max(0, snapshot.getExpiresAtMillis() - System.currentTimeMillis()) / 1000, TimeUnit.SECONDS).cachePrivate()
+                : pollCacheControl();
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag("W/\"" + eventsVersion(snapshot, offset, size, summary) + "\"")
+                .cacheControl(cacheControl)
+                .body(response);
+    }
+
+    /** ETag value of a page of events; the same snapshot slice may be served with different flags */
+    private static String eventsVersion(EventSnapshot snapshot, int offset, int size, FetchSummary summary) {
+        StringBuilder version = new StringBuilder(snapshot.getId()).append('-').append(offset).append('-').append(size);
+        if (summary.isPartial()) version.append("-partial");
+        if (summary.isFallback()) version.append("-fallback");
+        if (summary.getDuplicatesRemoved() > 0) version.append("-d").append(summary.getDuplicatesRemoved());
+        if (!snapshot.isComplete()) version.append("-t").append(snapshot.getTotalElements());
+        return version.toString();
+    }
+
+    /**
+     * Cache-Control for polled query results: cache privately, but revalidate (cheap with
+     * If-None-Match) once {@code events.http.max-age-seconds} has passed
+     */
+    private CacheControl pollCacheControl() {
+        return maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate()
+                : CacheControl.noCache().cachePrivate();
+    }
+
+    /**
+     * Crawl budget for an events request: the parameter, else the header, else the server
+     * default. It is kept below the async timeout, so a partial answer arrives before a 504
+     * would.
+     */
+    private long latencyBudget(Long param, Long header) {
+        long budget = param != null ? param : header != null ? header : defaultBudgetMillis;
+        long ceiling = Math.max(1, asyncTimeoutMillis - BUDGET_HEADROOM_MILLIS);
+        return budget <= 0 ? ceiling : Math.min(budget, ceiling);
+    }
+
+    /**
+     * Server-Sent Events variant of /events. Each upstream page is pushed as an {@code events}
+     * frame (a JSON array) as soon as it is transformed, followed by one {@code summary} frame.
+     * Events arrive in upstream order; the client applies {@code sortBy}/{@code sortDir}. The
+     * filters of /events apply, and {@code size} counts events that passed them.
+     */
+    @GetMapping(value = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "1000") int size,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "36.1656") double lat,
+            @RequestParam(defaultValue = "-86.7781") double lon,
+            @RequestParam(defaultValue = "10") int radius,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) List<String> venue,
+            @RequestParam(required = false) List<String> impactLevel,
+            @RequestParam(required = false) Integer minScore,
+            @RequestParam(required = false) Double maxDistance,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) List<String> status) {
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        EventQuery query = queryNormalizer.normalizeStream(startDate, endDate, keyword, size, sortBy, sortDir, lat, lon, radius, period,
+                category, genre, venue, impactLevel, minScore, maxDistance, minPrice, maxPrice, status);
+        if (!query.isValid()) {
+            try {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("error", query.getErrors().get(0), "errors", query.getErrors()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException closed) {
+                emitter.completeWithError(closed);
+            }
+            return emitter;
+        }
+        FetchSummary summary = requestDiagnostics.begin();
+        CompletableFuture<List<EventResponse>> work = ticketmasterService.streamEvents(query, summary, batch -> {
+            try {
+                emitter.send(SseEmitter.event().name("events").data(batch, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                // Client went away; stop crawling further pages
+                throw new UncheckedIOException(e);
+            }
+        });
+        emitter.onTimeout(() -> work.cancel(true));
+        emitter.onError(error -> work.cancel(true));
+        emitter.onCompletion(() -> work.cancel(true));
+        work.whenComplete((events, error) -> {
+            if (error != null) {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof UncheckedIOException || cause instanceof CancellationException) {
+                    logger.debug("Events stream closed by client: {}", cause.getMessage());
+                    emitter.completeWithError(cause);
+                    return;
+                }
+                logger.error("Error streaming events: {}", cause.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("error").data(Map.of("error", "Failed to fetch events"), MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (IOException closed) {
+                    emitter.completeWithError(closed);
+                }
+                return;
+            }
+            summary.recordReturned(events);
+            requestDiagnostics.complete(summary, "stream " + query);
+
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("count", events.size());
+            frame.put("pages", summary.getPagesFetched());
+            frame.put("partial", summary.isPartial());
+            frame.put("fallback", summary.isFallback());
+            frame.put("duplicatesRemoved", summary.getDuplicatesRemoved());
+            frame.put("sortBy", query.getSortBy());
+            frame.put("sortDir", query.getSortDir());
+            frame.put("elapsedMillis", summary.getElapsedMillis());
+            try {
+                emitter.send(SseEmitter.event().name("summary").data(frame, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException closed) {
+                emitter.completeWithError(closed);
+            }
+        });
+        return emitter;
     }
 
     @GetMapping("/venues")
-    public ResponseEntity<List<Map<String, Object>>> getVenues(
+    public DeferredResult<ResponseEntity<List<Map<String, Object>>>> getVenues(
             @RequestParam(defaultValue = "36.1656") double lat,
             @RequestParam(defaultValue = "-86.7781") double lon,
             @RequestParam(defaultValue = "10") int radius,
             @RequestParam(defaultValue = "miles") String unit,
             @RequestParam(defaultValue = "50") int size) {
+        DeferredResult<ResponseEntity<List<Map<String, Object>>>> result = new DeferredResult<>(asyncTimeoutMillis);
         // Validate coordinates
         if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
-            return ResponseEntity.badRequest().body(List.of(Map.of("error", "Invalid coordinates")));
+            result.setResult(ResponseEntity.badRequest().body(List.of(Map.of("error", "Invalid coordinates"))));
+            return result;
         }
         if (radius <= 0) radius = 10;
         if (!unit.equalsIgnoreCase("miles") && !unit.equalsIgnoreCase("km")) unit = "miles";
         if (size <= 0) size = 50;
-        try {
-            List<Map<String, Object>> venues = ticketmasterService.fetchVenues(lat, lon, radius, unit, size);
-            if (venues.isEmpty()) {
-                return ResponseEntity.ok(List.of(Map.of("message", "No venues found in radius")));
+        CompletableFuture<List<Map<String, Object>>> work = ticketmasterService.fetchVenuesAsync(lat, lon, radius, unit, size);
+        cancelWhenAbandoned(result, work);
+        work.whenComplete((venues, error) -> {
+            if (error != null) {
+                if (!work.isCancelled()) logger.error("Error fetching venues: {}", error.getMessage(), error);
+                result.setResult(ResponseEntity.internalServerError().body(List.of(Map.of("error", "Failed to fetch venues"))));
+            } else if (venues.isEmpty()) {
+                result.setResult(ResponseEntity.ok().cacheControl(pollCacheControl()).varyBy(HttpHeaders.ACCEPT).body(List.of(Map.of("message", "No venues found in radius"))));
+            } else {
+                result.setResult(ResponseEntity.ok().cacheControl(pollCacheControl()).varyBy(HttpHeaders.ACCEPT).body(venues));
             }
-            return ResponseEntity.ok(venues);
-        } catch (Exception e) {
-            logger.error("Error fetching venues: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError().body(List.of(Map.of("error", "Failed to fetch venues")));
-        }
+        });
+        return result;
+    }
+
+    /**
+     * Stop upstream work nobody will read: on timeout (answered with 504), on a connection
+     * error, or when the request completes by any other route
+     */
+    private static <T> void cancelWhenAbandoned(DeferredResult<ResponseEntity<T>> result, CompletableFuture<?> work) {
+        result.onTimeout(() -> {
+            result.setErrorResult(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build());
+            work.cancel(true);
+        });
+        result.onError(error -> work.cancel(true));
+        result.onCompletion(() -> work.cancel(true));
     }
 
     @GetMapping("/config")
     public ResponseEntity<List<HotelConfig>> getConfig() {
-        // Mock config data for now
-        List<HotelConfig> configs = new ArrayList<>();
-        HotelConfig config = new HotelConfig();
-        config.setId("config-1");
-        config.setHotelName("Nashville Grand Hotel");
-        config.setHotelAddress("123 Broadway, Nashville, TN 37201");
-        config.setHotelCoordinates("36.1627,-86.7816");
-        config.setDefaultSearchRadius(10);
-        config.setNotificationEmail("manager@nashvillegrand.com");
-        config.setHighImpactThreshold(75);
-        config.setCriticalImpactThreshold(90);
-        config.setSyncFrequencyHours(6);
-        config.setPricingSystemConnected(false);
-        configs.add(config);
-        
-        return ResponseEntity.ok(configs);
+        return ResponseEntity.ok().cacheControl(pollCacheControl()).varyBy(HttpHeaders.ACCEPT)
+                .body(hotelConfigRepository.findAll());
     }
 
     @PostMapping("/config")
-    public ResponseEntity<HotelConfig> createConfig(@RequestBody HotelConfig config) {
-        // In a real app, this would save to database
-        config.setId("config-" + System.currentTimeMillis());
-        return ResponseEntity.ok(config);
+    public ResponseEntity<?> createConfig(@RequestBody HotelConfig config) {
+        List<String> errors = hotelConfigRepository.validate(config);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid config", "errors", errors));
+        }
+        config.setId(null);
+        return ResponseEntity.ok(hotelConfigRepository.save(config));
     }
 
     @PutMapping("/config/{id}")
-    public ResponseEntity<HotelConfig> updateConfig(@PathVariable String id, @RequestBody HotelConfig config) {
-        // In a real app, this would update in database
+    public ResponseEntity<?> updateConfig(@PathVariable String id, @RequestBody HotelConfig config) {
+        if (hotelConfigRepository.find(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        List<String> errors = hotelConfigRepository.validate(config);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid config", "errors", errors));
+        }
         config.setId(id);
-        return ResponseEntity.ok(config);
+        return ResponseEntity.ok(hotelConfigRepository.save(config));
     }
 
     @DeleteMapping("/config/{id}")
     public ResponseEntity<Void> deleteConfig(@PathVariable String id) {
-        // In a real app, this would delete from database
-        return ResponseEntity.ok().build();
+        return hotelConfigRepository.delete(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Impact alerts raised since startup, newest first (at most {@code alerts.recent} are kept)
+     */
+    @GetMapping("/alerts")
+    public ResponseEntity<List<ImpactAlert>> getAlerts(@RequestParam(required = false) String hotelId,
+                                                       @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok().cacheControl(pollCacheControl()).varyBy(HttpHeaders.ACCEPT)
+                .body(impactAlertEngine.recent(hotelId, Math.max(0, limit)));
+    }
+
+    /**
+     * Daily impact of the events within a hotel's {@code defaultSearchRadius}, from
+     * {@code startDate} to {@code endDate} (ISO dates, inclusive), cut to the
+     * {@code timeline.days} days from today. The summary costs the same for any range; with
+     * {@code days=true} each day is listed as well.
+     */
+    @GetMapping("/timeline")
+    public ResponseEntity<?> getTimeline(@RequestParam String hotelId,
+                                         @RequestParam(required = false) String startDate,
+                                         @RequestParam(required = false) String endDate,
+                                         @RequestParam(defaultValue = "true") boolean days) {
+        List<String> errors = new ArrayList<>(0);
+        LocalDate from = parseDay(startDate, "startDate", errors);
+        LocalDate to = parseDay(endDate, "endDate", errors);
+        if (from != null && to != null && from.isAfter(to)) errors.add("startDate must not be after endDate");
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", errors.get(0), "errors", errors));
+        }
+        ImpactTimeline timeline = impactTimelineEngine.timeline(hotelId, from, to, days);
+        if (timeline == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().cacheControl(pollCacheControl()).varyBy(HttpHeaders.ACCEPT).body(timeline);
+    }
+
+    private static LocalDate parseDay(String value, String name, List<String> errors) {
+        if (value == null) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            errors.add(name + " must be yyyy-MM-dd");
+            return null;
+        }
     }
 
     @GetMapping("/test-images")
@@ -290,20 +656,32 @@ public class EventController {
         return ResponseEntity.ok(response);
     }
 
-    private Map<String, Object> createPaginationInfo(int currentPage, int pageSize, int currentPageSize) {
+    private Map<String, Object> createPaginationInfo(EventSnapshot snapshot, int offset, int pageSize, int currentPageSize) {
+        int currentPage = offset / pageSize;
+        int totalElements = snapshot.getTotalElements();
+        int totalPages = (totalElements + pageSize - 1) / pageSize;
+        boolean hasNextPage = offset + currentPageSize < totalElements;
         Map<String, Object> pagination = new HashMap<>();
         pagination.put("currentPage", currentPage);
         pagination.put("pageSize", pageSize);
         pagination.put("currentPageSize", currentPageSize);
-        pagination.put("hasNextPage", currentPageSize == pageSize);
-        pagination.put("hasPreviousPage", currentPage > 0);
+        pagination.put("totalElements", totalElements);
+        pagination.put("totalPages", totalPages);
+        pagination.put("hasNextPage", hasNextPage);
+        pagination.put("hasPreviousPage", offset > 0);
         pagination.put("nextPage", currentPage + 1);
         pagination.put("previousPage", Math.max(0, currentPage - 1));
         
+        // Cursors into the snapshot; absent when the result was not stored (upstream failure)
+        if (snapshot.getId() != null) {
+            if (hasNextPage) pagination.put("nextCursor", snapshotStore.encodeCursor(snapshot, offset + pageSize, pageSize));
+            if (offset > 0) pagination.put("previousCursor", snapshotStore.encodeCursor(snapshot, Math.max(0, offset - pageSize), pageSize));
+        }
+        
         // Generate page numbers for navigation (1-5 style)
         List<Integer> pageNumbers = new ArrayList<>();
         int startPage = Math.max(0, currentPage - 2);
-        int endPage = currentPage + 2;
+        int endPage = Math.min(currentPage + 2, Math.max(0, totalPages - 1));
         
         for (int i = startPage; i <= endPage; i++) {
             pageNumbers.add(i);
@@ -312,36 +690,4 @@ public class EventController {
         pagination.put("pageNumbers", pageNumbers);
         return pagination;
     }
-
-    private void logImageStatistics(List<EventResponse> events) {
-        if (events == null || events.isEmpty()) {
-            logger.info("No events to analyze for image statistics");
-            return;
-        }
-        
-        long totalEvents = events.size();
-        long eventsWithImages = events.stream().filter(e -> e.getEventImage() != null).count();
-        long eventsWithoutImages = totalEvents - eventsWithImages;
-        
-        logger.info("Image Processing Statistics:");
-        logger.info("  Total events: {}", totalEvents);
-        logger.info("  Events with images: {} ({:.1f}%)", 
-                   eventsWithImages, (double) eventsWithImages / totalEvents * 100);
-        logger.info("  Events without images: {} ({:.1f}%)", 
-                   eventsWithoutImages, (double) eventsWithoutImages / totalEvents * 100);
-        
-        // Log quality distribution
-        Map<String, Long> qualityDistribution = events.stream()
-            .filter(e -> e.getImageQuality() != null)
-            .collect(java.util.stream.Collectors.groupingBy(
-                EventResponse::getImageQuality,
-                java.util.stream.Collectors.counting()
-            ));
-        
-        if (!qualityDistribution.isEmpty()) {
-            logger.info("  Image Quality Distribution:");
-            qualityDistribution.forEach((quality, count) -> 
-                logger.info("    {}: {} ({:.1f}%)", quality, count, (double) count / eventsWithImages * 100));
-        }
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.eventsystem.model;
+
+import java.util.List;
+
+/**
+ * Server-side filters of an /api/events query, applied to the crawled events before they are
+ * sorted and paged. Built by {@code EventQueryNormalizer}: value lists are de-duplicated and
+ * sorted, so equal filters have equal {@link #key()}s. A criterion that is not set matches
+ * every event; one that is set excludes events that lack the field.
+ */
+public final class EventFilter {
+    public static final EventFilter NONE = new EventFilter(List.of(), List.of(), List.of(), List.of(), 0, Double.NaN, Double.NaN, Double.NaN, List.of());
+
+    private final List<String> categories;
+    private final List<String> genres;
+    private final List<String> venues;
+    private final List<String> impactLevels;
+    private final int minScore;
+    private final double maxDistance;
+    private final double minPrice;
+    private final double maxPrice;
+    private final List<String> statuses;
+    private final String key;
+
+    /**
+     * @param minScore Lowest impact score to keep, or 0 for any
+     * @param maxDistance Furthest distance in miles to keep, or NaN for any
+     * @param minPrice Lower end of the price range, or NaN for none
+     * @param maxPrice Upper end of the price range, or NaN for none
+     */
+    public EventFilter(List<String> categories, List<String> genres, List<String> venues, List<String> impactLevels, int minScore,
+                       double maxDistance, double minPrice, double maxPrice, List<String> statuses) {
+        this.categories = List.copyOf(categories);
+        this.genres = List.copyOf(genres);
+        this.venues = List.copyOf(venues);
+        this.impactLevels = List.copyOf(impactLevels);
+        this.minScore = minScore;
+        this.maxDistance = maxDistance;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.statuses = List.copyOf(statuses);
+        StringBuilder key = new StringBuilder();
+        if (!this.categories.isEmpty()) key.append("category=").append(String.join(",", this.categories)).append(';');
+        if (!this.genres.isEmpty()) key.append("genre=").append(String.join(",", this.genres)).append(';');
+        if (!this.venues.isEmpty()) key.append("venue=").append(String.join(",", this.venues)).append(';');
+        if (!this.impactLevels.isEmpty()) key.append("impactLevel=").append(String.join(",", this.impactLevels)).append(';');
+        if (minScore > 0) key.append("minScore=").append(minScore).append(';');
+        if (!Double.isNaN(maxDistance)) key.append("maxDistance=").append(maxDistance).append(';');
+        if (!Double.isNaN(minPrice)) key.append("minPrice=").append(minPrice).append(';');
+        if (!Double.isNaN(maxPrice)) key.append("maxPrice=").append(maxPrice).append(';');
+        if (!this.statuses.isEmpty()) key.append("status=").append(String.join(",", this.statuses)).append(';');
+        this.key = key.toString();
+    }
+
+    /** Segment names such as {@code music}, lower-cased; empty for any */
+    public List<String> getCategories() { return categories; }
+    /** Genre names such as {@code country}, lower-cased; empty for any */
+    public List<String> getGenres() { return genres; }
+    /** Venue names, lower-cased; empty for any */
+    public List<String> getVenues() { return venues; }
+    /** {@code High}, {@code Medium} and/or {@code Low}; empty for any */
+    public List<String> getImpactLevels() { return impactLevels; }
+    public int getMinScore() { return minScore; }
+    public double getMaxDistance() { return maxDistance; }
+    public double getMinPrice() { return minPrice; }
+    public double getMaxPrice() { return maxPrice; }
+    /** Upstream status codes such as {@code onsale}, lower-cased; empty for any */
+    public List<String> getStatuses() { return statuses; }
+
+    public boolean isEmpty() { return key.isEmpty(); }
+
+    /** Canonical form for cache keys; empty when nothing is filtered */
+    public String key() { return key; }
+
+    /**
+     * Whether the event passes every criterion. Numeric criteria are checked before the string
+     * ones, so most rejected events cost no string comparison.
+     */
+    public boolean matches(EventResponse event) {
+        if (event.getImpactScore() < minScore) return false;
+        if (!Double.isNaN(maxDistance)) {
+            double distance = event.getDistance();
+            if (distance < 0 || distance > maxDistance) return false;
+        }
+        if (!Double.isNaN(minPrice) || !Double.isNaN(maxPrice)) {
+            // Ranges overlap: the event has a ticket within the requested range
+            Double low = event.getPriceMin();
+            Double high = event.getPriceMax();
+            if (low == null || high == null) return false;
+            if (!Double.isNaN(minPrice) && high < minPrice) return false;
+            if (!Double.isNaN(maxPrice) && low > maxPrice) return false;
+        }
+        return anyEqualsIgnoreCase(categories, event.getCategory())
+                && anyEqualsIgnoreCase(genres, event.getGenre())
+                && anyEqualsIgnoreCase(venues, event.getVenue())
+                && anyEqualsIgnoreCase(impactLevels, event.getImpactLevel())
+                && anyEqualsIgnoreCase(statuses, event.getStatus());
+    }
+
+    /** True for an empty list; otherwise whether {@code value} is one of the values */
+    private static boolean anyEqualsIgnoreCase(List<String> values, String value) {
+        if (values.isEmpty()) return true;
+        if (value == null) return false;
+        for (String candidate : values) {
+            if (candidate.equalsIgnoreCase(value)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.eventsystem.model;
+
+import java.util.List;
+
+/**
+ * An /api/events query after normalization: dates resolved to Ticketmaster's UTC format,
+ * defaults applied, and sort options reduced to their canonical values. Built by
+ * {@code EventQueryNormalizer}; instances that failed validation carry their errors instead of
+ * throwing, and must not be sent upstream.
+ */
+public final class EventQuery {
+    private final String startDateTime;
+    private final String endDateTime;
+    private final String keyword;
+    private final double lat;
+    private final double lon;
+    private final int radius;
+    private final String sortBy;
+    private final String sortDir;
+    private final int page;
+    private final int size;
+    private final EventFilter filter;
+    private final String segmentId;
+    private final String classificationName;
+    private final List<String> errors;
+    private final String upstreamKey;
+
+    public EventQuery(String startDateTime, String endDateTime, String keyword, double lat, double lon, int radius,
+                      String sortBy, String sortDir, int page, int size, EventFilter filter, List<String> errors) {
+        this(startDateTime, endDateTime, keyword, lat, lon, radius, sortBy, sortDir, page, size, filter, null, null, errors);
+    }
+
+    private EventQuery(String startDateTime, String endDateTime, String keyword, double lat, double lon, int radius,
+                       String sortBy, String sortDir, int page, int size, EventFilter filter, String segmentId,
+                       String classificationName, List<String> errors) {
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.keyword = keyword;
+        this.lat = lat;
+        this.lon = lon;
+        this.radius = radius;
+        this.sortBy = sortBy;
+        this.sortDir = sortDir;
+        this.page = page;
+        this.size = size;
+        this.filter = filter;
+        this.segmentId = segmentId;
+        this.classificationName = classificationName;
+        this.errors = List.copyOf(errors);
+        this.upstreamKey = lat + "," + lon + "|" + radius + "|" + startDateTime + "|" + endDateTime + "|" + (keyword != null ? keyword : "")
+                + (segmentId != null || classificationName != null ? "|" + segmentId + "|" + classificationName : "");
+    }
+
+    /** Start of the window in {@code yyyy-MM-dd'T'HH:mm:ss'Z'}, or null for unbounded */
+    public String getStartDateTime() { return startDateTime; }
+    /** End of the window in {@code yyyy-MM-dd'T'HH:mm:ss'Z'}, or null for unbounded */
+    public String getEndDateTime() { return endDateTime; }
+    /** Trimmed, lower-cased keyword, or null */
+    public String getKeyword() { return keyword; }
+    public double getLat() { return lat; }
+    public double getLon() { return lon; }
+    public int getRadius() { return radius; }
+    /** One of {@code date}, {@code name}, {@code venue}, {@code impactScore}, {@code distance}, {@code price}, {@code relevance} */
+    public String getSortBy() { return sortBy; }
+    /** {@code asc} or {@code desc} */
+    public String getSortDir() { return sortDir; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    /** Filters applied to the crawled events; {@link EventFilter#NONE} when there are none */
+    public EventFilter getFilter() { return filter; }
+    /** Upstream {@code segmentId} (comma-separated), or null; set by the query planner */
+    public String getSegmentId() { return segmentId; }
+    /** Upstream {@code classificationName} (comma-separated), or null; set by the query planner */
+    public String getClassificationName() { return classificationName; }
+
+    public boolean isValid() { return errors.isEmpty(); }
+    public List<String> getErrors() { return errors; }
+
+    /** The same query restricted to another window, for crawls split by date */
+    public EventQuery withWindow(String startDateTime, String endDateTime) {
+        return new EventQuery(startDateTime, endDateTime, keyword, lat, lon, radius, sortBy, sortDir, page, size, filter,
+                segmentId, classificationName, errors);
+    }
+
+    /** The same query narrowed upstream by classification, for filters pushed down to Ticketmaster */
+    public EventQuery withClassification(String segmentId, String classificationName) {
+        return new EventQuery(startDateTime, endDateTime, keyword, lat, lon, radius, sortBy, sortDir, page, size, filter,
+                segmentId, classificationName, errors);
+    }
+
+    /** Identifies the upstream result set: location, radius, window, keyword and classification */
+    public String upstreamKey() { return upstreamKey; }
+
+    /** Identifies the sorted result: {@link #upstreamKey()} plus the filters and sort order */
+    public String cacheKey() { return upstreamKey + "|" + filter.key() + "|" + sortBy + "|" + sortDir; }
+
+    @Override
+    public String toString() {
+        return "lat=" + lat + " lon=" + lon + " radius=" + radius + " start=" + startDateTime + " end=" + endDateTime
+                + (segmentId != null ? " segmentId=" + segmentId : "")
+                + (classificationName != null ? " classificationName=" + classificationName : "")
+                + " page=" + page + " size=" + size + (filter.isEmpty() ? "" : " filter=" + filter);
+    }
+}
@@ -8,10 +8,14 @@ public class EventResponse {
     private String name;
     private String date;
     private String time;
+    private String startDateTime;
     private String venue;
     private String address;
     private String category;
+    private String genre;
     private String price;
+    private Double priceMin;
+    private Double priceMax;
     private String ticketUrl;
     private String status;
     private String description;
@@ -20,6 +24,8 @@ public class EventResponse {
     private int impactScore;
     private String impactLevel;
     private double distance;
+    private Double latitude;
+    private Double longitude;
     
     // Image fields
     private String eventImage;
@@ -47,6 +53,10 @@ public class EventResponse {
     public String getTime() { return time; }
     public void setTime(String time) { this.time = time; }
 
+    /** Start as a UTC instant in upstream format ({@code yyyy-MM-ddTHH:mm:ssZ}), or null when upstream has none */
+    public String getStartDateTime() { return startDateTime; }
+    public void setStartDateTime(String startDateTime) { this.startDateTime = startDateTime; }
+
     public String getVenue() { return venue; }
     public void setVenue(String venue) { this.venue = venue; }
 
@@ -56,9 +66,21 @@ public class EventResponse {
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
 
+    /** Upstream genre within the category, e.g. {@code Country} for Music */
+    public String getGenre() { return genre; }
+    public void setGenre(String genre) { this.genre = genre; }
+
     public String getPrice() { return price; }
     public void setPrice(String price) { this.price = price; }
 
+    /** Lowest ticket price from the first upstream price range, or null when there is none */
+    public Double getPriceMin() { return priceMin; }
+    public void setPriceMin(Double priceMin) { this.priceMin = priceMin; }
+
+    /** Highest ticket price; equals {@link #getPriceMin()} when upstream gives only a minimum */
+    public Double getPriceMax() { return priceMax; }
+    public void setPriceMax(Double priceMax) { this.priceMax = priceMax; }
+
     public String getTicketUrl() { return ticketUrl; }
     public void setTicketUrl(String ticketUrl) { this.ticketUrl = ticketUrl; }
 
@@ -83,6 +105,13 @@ public class EventResponse {
     public double getDistance() { return distance; }
     public void setDistance(double distance) { this.distance = distance; }
 
+    /** Venue latitude, or null when upstream has no location */
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     // Image getters and setters
     public String getEventImage() { return eventImage; }
     public void setEventImage(String eventImage) { this.eventImage = eventImage; }
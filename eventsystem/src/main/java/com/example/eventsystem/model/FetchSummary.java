@@ -0,0 +1,108 @@
+package com.example.eventsystem.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-request diagnostics accumulated while serving an events request.
+ * One instance is created per request and logged once when the request completes,
+ * so the hot path only bumps counters instead of writing log lines.
+ */
+public class FetchSummary {
+    private final long requestId;
+    private final boolean sampled;
+    private final long startNanos = System.nanoTime();
+
+    private int pagesFetched;
+    private int upstreamEvents;
+    private int duplicatesRemoved;
+    private int imagesSeen;
+    private int placeholderImages;
+    private int eventsReturned;
+    private int eventsWithImages;
+    private boolean partial;
+    private boolean fallback;
+    private boolean truncated;
+    private int upstreamTotal;
+    private String continuation;
+    private final Map<String, Integer> qualityDistribution = new TreeMap<>();
+
+    public FetchSummary() {
+        this(0, false);
+    }
+
+    public FetchSummary(long requestId, boolean sampled) {
+        this.requestId = requestId;
+        this.sampled = sampled;
+    }
+
+    public long getRequestId() { return requestId; }
+
+    /** Whether per-event debug detail should be logged for this request. */
+    public boolean isSampled() { return sampled; }
+
+    public synchronized int getPagesFetched() { return pagesFetched; }
+    public synchronized int getUpstreamEvents() { return upstreamEvents; }
+    /** Upstream events dropped as repeats of events already crawled for this request */
+    public synchronized int getDuplicatesRemoved() { return duplicatesRemoved; }
+    public synchronized int getImagesSeen() { return imagesSeen; }
+    public synchronized int getPlaceholderImages() { return placeholderImages; }
+    public int getEventsReturned() { return eventsReturned; }
+    public int getEventsWithImages() { return eventsWithImages; }
+    public Map<String, Integer> getQualityDistribution() { return qualityDistribution; }
+
+    /** A later upstream page failed and the request was served from the pages fetched before it. */
+    public synchronized boolean isPartial() { return partial; }
+    public synchronized void markPartial() { partial = true; }
+
+    /** Upstream was unavailable and the request was served from the last good result. */
+    public synchronized boolean isFallback() { return fallback; }
+    public synchronized void markFallback() { fallback = true; }
+
+    /**
+     * The crawl left upstream events out: it covered only the leading part of its date range,
+     * or stopped paging while upstream reported more events
+     */
+    public synchronized boolean isTruncated() { return truncated; }
+    public synchronized void markTruncated() { truncated = true; }
+
+    /** Largest {@code page.totalElements} upstream reported to this request's crawls */
+    public synchronized int getUpstreamTotal() { return upstreamTotal; }
+    public synchronized void recordUpstreamTotal(int total) { upstreamTotal = Math.max(upstreamTotal, total); }
+
+    /** Token to continue a crawl that its latency budget cut short, or null */
+    public synchronized String getContinuation() { return continuation; }
+    public synchronized void setContinuation(String continuation) { this.continuation = continuation; }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /** Called concurrently by the windows of a split crawl */
+    public synchronized void recordPage(int eventCount) {
+        pagesFetched++;
+        upstreamEvents += eventCount;
+    }
+
+    public synchronized void recordDuplicates(int count) {
+        duplicatesRemoved += count;
+    }
+
+    /** Called concurrently while a page is transformed in parallel */
+    public synchronized void recordImages(int candidates, boolean placeholder) {
+        imagesSeen += candidates;
+        if (placeholder) placeholderImages++;
+    }
+
+    /**
+     * Record image coverage of the events returned to the caller in a single pass.
+     */
+    public void recordReturned(List<EventResponse> events) {
+        eventsReturned = events.size();
+        for (EventResponse event : events) {
+            if (event.getEventImage() != null) eventsWithImages++;
+            if (event.getImageQuality() != null) qualityDistribution.merge(event.getImageQuality(), 1, Integer::sum);
+        }
+    }
+}
@@ -42,4 +42,43 @@ public class HotelConfig {
 
     public boolean isPricingSystemConnected() { return pricingSystemConnected; }
     public void setPricingSystemConnected(boolean pricingSystemConnected) { this.pricingSystemConnected = pricingSystemConnected; }
-} 
\ No newline at end of file
+
+    /**
+     * Field-by-field copy, so stored configs can be shared with readers without being mutated
+     */
+    public HotelConfig copy() {
+        HotelConfig copy = new HotelConfig();
+        copy.id = id;
+        copy.hotelName = hotelName;
+        copy.hotelAddress = hotelAddress;
+        copy.hotelCoordinates = hotelCoordinates;
+        copy.defaultSearchRadius = defaultSearchRadius;
+        copy.notificationEmail = notificationEmail;
+        copy.highImpactThreshold = highImpactThreshold;
+        copy.criticalImpactThreshold = criticalImpactThreshold;
+        copy.syncFrequencyHours = syncFrequencyHours;
+        copy.pricingSystemConnected = pricingSystemConnected;
+        return copy;
+    }
+
+    /** Latitude from {@code hotelCoordinates} ("lat,lon"), or NaN if it cannot be read */
+    public double latitude() {
+        return coordinate(0);
+    }
+
+    /** Longitude from {@code hotelCoordinates} ("lat,lon"), or NaN if it cannot be read */
+    public double longitude() {
+        return coordinate(1);
+    }
+
+    private double coordinate(int index) {
+        if (hotelCoordinates == null) return Double.NaN;
+        String[] parts = hotelCoordinates.split(",");
+        if (parts.length != 2) return Double.NaN;
+        try {
+            return Double.parseDouble(parts[index].trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.eventsystem.model;
+
+/**
+ * An event near a hotel whose impact score reached one of the hotel's thresholds. Raised once
+ * per hotel, event and level; an event that goes from high to critical raises a second alert.
+ */
+public final class ImpactAlert {
+    public enum Level { HIGH, CRITICAL }
+
+    private final String hotelId;
+    private final String hotelName;
+    private final String notificationEmail;
+    private final String eventId;
+    private final String eventName;
+    private final String venue;
+    private final String date;
+    private final String time;
+    private final int impactScore;
+    private final Level level;
+    private final double distance;
+    private final long createdAt;
+
+    public ImpactAlert(String hotelId, String hotelName, String notificationEmail, String eventId, String eventName,
+                       String venue, String date, String time, int impactScore, Level level, double distance,
+                       long createdAt) {
+        this.hotelId = hotelId;
+        this.hotelName = hotelName;
+        this.notificationEmail = notificationEmail;
+        this.eventId = eventId;
+        this.eventName = eventName;
+        this.venue = venue;
+        this.date = date;
+        this.time = time;
+        this.impactScore = impactScore;
+        this.level = level;
+        this.distance = distance;
+        this.createdAt = createdAt;
+    }
+
+    public String getHotelId() { return hotelId; }
+    public String getHotelName() { return hotelName; }
+    public String getNotificationEmail() { return notificationEmail; }
+    public String getEventId() { return eventId; }
+    public String getEventName() { return eventName; }
+    public String getVenue() { return venue; }
+    public String getDate() { return date; }
+    public String getTime() { return time; }
+    public int getImpactScore() { return impactScore; }
+    public Level getLevel() { return level; }
+    /** Miles from the hotel to the venue, one decimal */
+    public double getDistance() { return distance; }
+    /** Epoch millis when the alert was raised */
+    public long getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,41 @@
+package com.example.eventsystem.model;
+
+/**
+ * Impact of the events near a hotel over a range of days, or over one day when {@code from}
+ * and {@code to} are equal. Critical and high counts use the hotel's thresholds, as alerts do:
+ * an event counts as critical when it reaches the critical threshold, and as high when it only
+ * reaches the high one.
+ */
+public final class ImpactSummary {
+    private final String from;
+    private final String to;
+    private final int events;
+    private final long totalImpact;
+    private final int maxImpact;
+    private final int critical;
+    private final int high;
+
+    public ImpactSummary(String from, String to, int events, long totalImpact, int maxImpact, int critical, int high) {
+        this.from = from;
+        this.to = to;
+        this.events = events;
+        this.totalImpact = totalImpact;
+        this.maxImpact = maxImpact;
+        this.critical = critical;
+        this.high = high;
+    }
+
+    /** First day (ISO date, inclusive) */
+    public String getFrom() { return from; }
+    /** Last day (ISO date, inclusive) */
+    public String getTo() { return to; }
+    public int getEvents() { return events; }
+    /** Sum of the events' impact scores */
+    public long getTotalImpact() { return totalImpact; }
+    /** Highest impact score, or 0 without events */
+    public int getMaxImpact() { return maxImpact; }
+    /** Mean impact score, one decimal, or 0 without events */
+    public double getAverageImpact() { return events == 0 ? 0 : Math.round(totalImpact * 10.0 / events) / 10.0; }
+    public int getCritical() { return critical; }
+    public int getHigh() { return high; }
+}
@@ -0,0 +1,38 @@
+package com.example.eventsystem.model;
+
+import java.util.List;
+
+/**
+ * Daily impact of the events within a hotel's {@code defaultSearchRadius}: a summary of the
+ * requested days and, when asked for, one summary per day.
+ */
+public final class ImpactTimeline {
+    private final String hotelId;
+    private final String hotelName;
+    private final int highImpactThreshold;
+    private final int criticalImpactThreshold;
+    private final long updatedAt;
+    private final ImpactSummary summary;
+    private final List<ImpactSummary> days;
+
+    public ImpactTimeline(String hotelId, String hotelName, int highImpactThreshold, int criticalImpactThreshold,
+                          long updatedAt, ImpactSummary summary, List<ImpactSummary> days) {
+        this.hotelId = hotelId;
+        this.hotelName = hotelName;
+        this.highImpactThreshold = highImpactThreshold;
+        this.criticalImpactThreshold = criticalImpactThreshold;
+        this.updatedAt = updatedAt;
+        this.summary = summary;
+        this.days = days;
+    }
+
+    public String getHotelId() { return hotelId; }
+    public String getHotelName() { return hotelName; }
+    public int getHighImpactThreshold() { return highImpactThreshold; }
+    public int getCriticalImpactThreshold() { return criticalImpactThreshold; }
+    /** Epoch millis when the hotel's aggregates were last rebuilt, or 0 if they never were */
+    public long getUpdatedAt() { return updatedAt; }
+    public ImpactSummary getSummary() { return summary; }
+    /** One summary per day, in date order; empty unless requested */
+    public List<ImpactSummary> getDays() { return days; }
+}
@@ -0,0 +1,39 @@
+package com.example.eventsystem.model;
+
+import java.time.LocalDate;
+
+/**
+ * Named date windows accepted by the {@code period} request parameter, starting today
+ */
+public enum Period {
+    TODAY,
+    WEEK,
+    MONTH;
+
+    private static final Period[] VALUES = values();
+
+    /**
+     * Period named by a request parameter, ignoring case
+     * @return The period, or null when {@code value} is null or not a period name
+     */
+    public static Period fromParam(String value) {
+        if (value == null) return null;
+        for (Period period : VALUES) {
+            if (period.name().equalsIgnoreCase(value)) return period;
+        }
+        return null;
+    }
+
+    /** Last day (inclusive) of the window that starts on {@code today} */
+    public LocalDate lastDay(LocalDate today) {
+        switch (this) {
+            case WEEK:
+                return today.plusDays(6);
+            case MONTH:
+                return today.withDayOfMonth(today.lengthOfMonth());
+            case TODAY:
+            default:
+                return today;
+        }
+    }
+}
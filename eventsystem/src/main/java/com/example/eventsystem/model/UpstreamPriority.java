@@ -0,0 +1,11 @@
+package com.example.eventsystem.model;
+
+/**
+ * Scheduling class of an upstream Ticketmaster call
+ */
+public enum UpstreamPriority {
+    /** A user is waiting on the response */
+    INTERACTIVE,
+    /** Scheduled sync and cache warming; yields to interactive traffic */
+    BACKGROUND
+}
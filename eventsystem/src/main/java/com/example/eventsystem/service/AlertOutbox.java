@@ -0,0 +1,106 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.ImpactAlert;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Local outbox for alerts: pending alerts are appended to a JSON-lines file in batches, one
+ * write per batch, for a notifier to pick up. A failed write keeps the batch for the next flush;
+ * beyond {@code maxPending} the oldest alerts are dropped. Not thread-safe; owned by
+ * {@link ImpactAlertEngine}'s thread.
+ */
+final class AlertOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(AlertOutbox.class);
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxPending;
+    private final ArrayDeque<ImpactAlert> pending = new ArrayDeque<>();
+
+    AlertOutbox(Path file, ObjectMapper objectMapper, int batchSize, int maxPending) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    /** Queue an alert; returns whether a full batch is waiting */
+    boolean add(ImpactAlert alert) {
+        if (pending.size() >= maxPending) {
+            pending.removeFirst();
+            logger.warn("Alert outbox full, dropped the oldest alert");
+        }
+        pending.addLast(alert);
+        return pending.size() >= batchSize;
+    }
+
+    /** Write all pending alerts; returns how many were written */
+    int flush() {
+        if (pending.isEmpty()) return 0;
+        StringBuilder lines = new StringBuilder(pending.size() * 256);
+        try {
+            for (ImpactAlert alert : pending) {
+                lines.append(objectMapper.writeValueAsString(alert)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize alert", e);
+        }
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Cannot write {} alerts to {}: {}", pending.size(), file.toAbsolutePath(), e.toString());
+            return 0;
+        }
+        int written = pending.size();
+        pending.clear();
+        return written;
+    }
+
+    /**
+     * Hand each alert already written to the file to {@code action}, oldest first. Lines that
+     * cannot be parsed are skipped; a missing file holds no alerts.
+     * @return How many alerts were read
+     */
+    int forEachWritten(Consumer<JsonNode> action) {
+        int read = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) continue;
+                JsonNode alert;
+                try {
+                    alert = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    continue;
+                }
+                action.accept(alert);
+                read++;
+            }
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            logger.warn("Cannot read alerts from {}: {}", file.toAbsolutePath(), e.toString());
+        }
+        return read;
+    }
+
+    int pending() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency budget of one events crawl, and what the crawl achieved before it ran out. Crawls
+ * register on start; when the budget expires, each is stopped, which cancels its page in flight
+ * and completes it with the pages it has. Every crawl unit (the query, or one window of a split
+ * query) records its progress here, so a continuation can resume the same budget object later.
+ * Units that finished are then served from memory, and interrupted ones pick up at the page
+ * where they stopped.
+ */
+final class CrawlBudget {
+    /** How far one crawl unit got; {@code done} units need no more upstream calls */
+    record Progress(List<EventResponse> events, int nextPage, int totalElements, boolean split, boolean done) {}
+
+    private final EventQuery query;
+    private final long createdAtMillis = System.currentTimeMillis();
+    private final Map<String, Progress> progress = new ConcurrentHashMap<>();
+    // Kept with the progress so a continuation still drops events the earlier run returned
+    private final EventDeduplicator deduplicator = new EventDeduplicator();
+    private final Set<PagedCrawl<?>> crawls = ConcurrentHashMap.newKeySet();
+    private volatile boolean expired;
+    private int run;
+    private ScheduledFuture<?> deadline;
+
+    CrawlBudget(EventQuery query) {
+        this.query = query;
+    }
+
+    EventQuery getQuery() { return query; }
+
+    long getCreatedAtMillis() { return createdAtMillis; }
+
+    EventDeduplicator getDeduplicator() { return deduplicator; }
+
+    boolean isExpired() { return expired; }
+
+    /**
+     * Start the clock; crawls are stopped {@code budgetMillis} from now, on {@code timer}. Stopped
+     * crawls are no longer tracked after a run, so a resumed budget starts clean.
+     */
+    synchronized void start(long budgetMillis, ScheduledExecutorService timer) {
+        int current = ++run;
+        expired = false;
+        crawls.clear();
+        if (deadline != null) deadline.cancel(false);
+        deadline = timer.schedule(() -> expire(current), budgetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The run's crawl completed: cancel its deadline, so the timer no longer holds this budget
+     * and its progress
+     */
+    synchronized void finish() {
+        if (deadline != null) deadline.cancel(false);
+        deadline = null;
+    }
+
+    /** Track a crawl; one registered after expiry is stopped at once */
+    void register(PagedCrawl<?> crawl) {
+        crawls.add(crawl);
+        if (expired) crawl.stop();
+    }
+
+    Progress progress(String unitKey) {
+        return progress.get(unitKey);
+    }
+
+    void record(String unitKey, Progress unit) {
+        progress.put(unitKey, unit);
+    }
+
+    /** Whether any crawl unit stopped short and can be continued */
+    boolean hasUnfinished() {
+        return progress.values().stream().anyMatch(unit -> !unit.done());
+    }
+
+    private void expire(int expiring) {
+        synchronized (this) {
+            // A timer left over from an earlier run must not cut the current one short
+            if (expiring != run) return;
+            expired = true;
+        }
+        for (PagedCrawl<?> crawl : crawls) {
+            crawl.stop();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.ImpactSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-day impact aggregates of one hotel over a fixed run of days. Counts, score sums
+ * and critical/high counts are kept as prefix sums, so any range of days is summed with two
+ * subtractions. The daily maximum is kept as a sparse table, so the maximum of a range is the
+ * larger of two overlapping power-of-two spans. Every range summary is O(1). Being immutable,
+ * an instance can be read by any number of threads while its replacement is built.
+ */
+final class DailyImpact {
+    /** Highest score tracked; higher scores count as this one */
+    static final int MAX_SCORE = 100;
+
+    private final LocalDate first;
+    private final int highThreshold;
+    private final int criticalThreshold;
+    private final long updatedAt;
+    // Element i holds the total of days [0, i)
+    private final int[] events;
+    private final long[] impact;
+    private final int[] critical;
+    private final int[] high;
+    // maxImpact[k][i] is the highest score over days [i, i + 2^k)
+    private final int[][] maxImpact;
+
+    private DailyImpact(LocalDate first, int highThreshold, int criticalThreshold, long updatedAt, int[] events,
+                        long[] impact, int[] critical, int[] high, int[][] maxImpact) {
+        this.first = first;
+        this.highThreshold = highThreshold;
+        this.criticalThreshold = criticalThreshold;
+        this.updatedAt = updatedAt;
+        this.events = events;
+        this.impact = impact;
+        this.critical = critical;
+        this.high = high;
+        this.maxImpact = maxImpact;
+    }
+
+    /**
+     * Aggregate {@code days} days starting on {@code first}
+     * @param histograms Events per score (index 0 to {@link #MAX_SCORE}) by epoch day
+     * @param highThreshold High impact threshold, or 0 for unset
+     * @param criticalThreshold Critical impact threshold, or 0 for unset
+     */
+    static DailyImpact of(LocalDate first, int days, Map<Long, int[]> histograms, int highThreshold,
+                          int criticalThreshold, long updatedAt) {
+        int n = Math.max(days, 1);
+        int[] events = new int[n + 1];
+        long[] impact = new long[n + 1];
+        int[] critical = new int[n + 1];
+        int[] high = new int[n + 1];
+        int[] max = new int[n];
+        long firstDay = first.toEpochDay();
+        for (int i = 0; i < n; i++) {
+            int[] scores = histograms.get(firstDay + i);
+            int dayEvents = 0;
+            long dayImpact = 0;
+            int dayCritical = 0;
+            int dayHigh = 0;
+            int dayMax = 0;
+            if (scores != null) {
+                for (int score = 0; score <= MAX_SCORE; score++) {
+                    int count = scores[score];
+                    if (count == 0) continue;
+                    dayEvents += count;
+                    dayImpact += (long) score * count;
+                    dayMax = score;
+                    if (criticalThreshold > 0 && score >= criticalThreshold) dayCritical += count;
+                    else if (highThreshold > 0 && score >= highThreshold) dayHigh += count;
+                }
+            }
+            events[i + 1] = events[i] + dayEvents;
+            impact[i + 1] = impact[i] + dayImpact;
+            critical[i + 1] = critical[i] + dayCritical;
+            high[i + 1] = high[i] + dayHigh;
+            max[i] = dayMax;
+        }
+        return new DailyImpact(first, highThreshold, criticalThreshold, updatedAt, events, impact, critical, high, sparseTable(max));
+    }
+
+    private static int[][] sparseTable(int[] max) {
+        int levels = 32 - Integer.numberOfLeadingZeros(max.length);
+        int[][] table = new int[levels][];
+        table[0] = max;
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int[] row = new int[max.length - (1 << k) + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = Math.max(table[k - 1][i], table[k - 1][i + half]);
+            }
+            table[k] = row;
+        }
+        return table;
+    }
+
+    LocalDate first() {
+        return first;
+    }
+
+    LocalDate last() {
+        return first.plusDays(events.length - 2);
+    }
+
+    int highThreshold() {
+        return highThreshold;
+    }
+
+    int criticalThreshold() {
+        return criticalThreshold;
+    }
+
+    long updatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Summary of the days from {@code from} to {@code to} (inclusive), cut to the days covered.
+     * A range that covers none of them gets an empty summary of the requested days.
+     */
+    ImpactSummary summary(LocalDate from, LocalDate to) {
+        int lo = Math.max(0, offset(from));
+        int hi = Math.min(events.length - 2, offset(to));
+        if (lo > hi) return new ImpactSummary(from.toString(), to.toString(), 0, 0, 0, 0, 0);
+        return summary(lo, hi);
+    }
+
+    /** One summary per covered day from {@code from} to {@code to} (inclusive) */
+    List<ImpactSummary> days(LocalDate from, LocalDate to) {
+        int lo = Math.max(0, offset(from));
+        int hi = Math.min(events.length - 2, offset(to));
+        List<ImpactSummary> days = new ArrayList<>(Math.max(0, hi - lo + 1));
+        for (int i = lo; i <= hi; i++) days.add(summary(i, i));
+        return days;
+    }
+
+    private ImpactSummary summary(int lo, int hi) {
+        int k = 31 - Integer.numberOfLeadingZeros(hi - lo + 1);
+        int max = Math.max(maxImpact[k][lo], maxImpact[k][hi - (1 << k) + 1]);
+        return new ImpactSummary(first.plusDays(lo).toString(), first.plusDays(hi).toString(),
+                events[hi + 1] - events[lo], impact[hi + 1] - impact[lo], max,
+                critical[hi + 1] - critical[lo], high[hi + 1] - high[lo]);
+    }
+
+    /** Days from the first covered day, clamped to the int range */
+    private int offset(LocalDate day) {
+        long offset = day.toEpochDay() - first.toEpochDay();
+        return (int) Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, offset));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.eventsystem.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops raw upstream events already seen in the same crawl, before they are transformed, so
+ * duplicates cost neither image processing nor scoring. An event is a duplicate if its id was
+ * seen, or if an event with the same name, venue, local date and local time was. The second
+ * rule catches the same show listed under several ids, e.g. one per ticket offer. Name and venue
+ * are compared ignoring case and runs of whitespace. Only 64-bit fingerprints of both keys are
+ * kept, in a {@link LongHashSet}. One instance is shared by every page and window of a crawl.
+ */
+final class EventDeduplicator {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final LongHashSet seen = new LongHashSet(1024);
+
+    /**
+     * Events of a page that were not seen before, in page order; the page itself is returned
+     * when it holds no duplicates
+     */
+    synchronized List<Map> filter(List<Map> rawEvents) {
+        List<Map> kept = null;
+        for (int i = 0; i < rawEvents.size(); i++) {
+            Map event = rawEvents.get(i);
+            boolean fresh = isNew(event);
+            if (!fresh && kept == null) {
+                kept = new ArrayList<>(rawEvents.size());
+                kept.addAll(rawEvents.subList(0, i));
+            }
+            if (fresh && kept != null) kept.add(event);
+        }
+        return kept != null ? kept : rawEvents;
+    }
+
+    private boolean isNew(Map event) {
+        Object id = event.get("id");
+        // Both keys are recorded even when one already matched, so a later copy matching
+        // either of them is caught too
+        boolean newId = id == null || seen.add(hash(hash(FNV_OFFSET, 'i'), id.toString(), false));
+        long key = contentKey(event);
+        boolean newKey = key == 0 || seen.add(key);
+        return newId && newKey;
+    }
+
+    /** Fingerprint of (name, venue, local date, local time), or 0 when name or date is missing */
+    private static long contentKey(Map event) {
+        Object name = event.get("name");
+        Map dates = (Map) event.get("dates");
+        Map start = dates != null ? (Map) dates.get("start") : null;
+        Object date = start != null ? start.get("localDate") : null;
+        if (name == null || date == null) return 0;
+        Object time = start.get("localTime");
+        Object venue = null;
+        Map embedded = (Map) event.get("_embedded");
+        if (embedded != null && embedded.get("venues") instanceof List<?> venues && !venues.isEmpty()
+                && venues.get(0) instanceof Map<?, ?> first) {
+            venue = first.get("name");
+        }
+        long h = hash(FNV_OFFSET, 'k');
+        h = hash(h, name.toString(), true);
+        h = hash(h, venue != null ? venue.toString() : "", true);
+        h = hash(h, date.toString(), false);
+        return hash(h, time != null ? time.toString() : "", false);
+    }
+
+    /**
+     * FNV-1a over the characters, then a separator. With {@code normalize}, case is folded,
+     * leading and trailing whitespace is ignored and inner runs count as one space.
+     */
+    private static long hash(long h, String value, boolean normalize) {
+        boolean started = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (normalize) {
+                if (Character.isWhitespace(c)) {
+                    pendingSpace = started;
+                    continue;
+                }
+                if (pendingSpace) {
+                    h = hash(h, ' ');
+                    pendingSpace = false;
+                }
+                started = true;
+                c = Character.toLowerCase(c);
+            }
+            h = hash(h, c);
+        }
+        return hash(h, '\u0000');
+    }
+
+    private static long hash(long h, char c) {
+        return (h ^ c) * FNV_PRIME;
+    }
+}
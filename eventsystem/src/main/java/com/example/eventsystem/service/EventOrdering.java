@@ -0,0 +1,113 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventFilter;
+import com.example.eventsystem.model.EventResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Filters and sorts crawled events for a query. Filters run first, so the sort only sees the
+ * events that are kept. Numeric orders ({@code impactScore}, {@code distance}, {@code price})
+ * read each event's key once into a {@code double[]} and sort indexes into it, rather than
+ * calling getters and unboxing on every comparison. Events without the key (no location, no
+ * price) go last in either direction. All orders are stable, so ties keep upstream order.
+ */
+public final class EventOrdering {
+    private EventOrdering() {}
+
+    /** Events that pass {@code filter}, in the {@code sortBy}/{@code sortDir} order, as a new list */
+    public static List<EventResponse> filterAndSort(List<EventResponse> events, EventFilter filter, String sortBy, String sortDir) {
+        List<EventResponse> kept;
+        if (filter.isEmpty()) {
+            kept = new ArrayList<>(events);
+        } else {
+            kept = new ArrayList<>();
+            for (EventResponse event : events) {
+                if (filter.matches(event)) kept.add(event);
+            }
+        }
+        if ("relevance".equals(sortBy)) return kept;
+        if (isNumeric(sortBy)) return sortByKey(kept, sortBy, "desc".equalsIgnoreCase(sortDir));
+        kept.sort(TicketmasterService.eventOrder(sortBy, sortDir));
+        return kept;
+    }
+
+    /** Whether {@code sortBy} is ordered on a precomputed numeric key */
+    static boolean isNumeric(String sortBy) {
+        return "impactScore".equals(sortBy) || "distance".equals(sortBy) || "price".equals(sortBy);
+    }
+
+    /**
+     * Comparator form of a numeric order, for callers that sort themselves; events without the
+     * key go last in either direction
+     */
+    static Comparator<EventResponse> comparator(String sortBy, boolean descending) {
+        return (a, b) -> {
+            double keyA = key(a, sortBy);
+            double keyB = key(b, sortBy);
+            if (descending) {
+                keyA = -keyA;
+                keyB = -keyB;
+            }
+            return after(keyA, keyB) ? 1 : after(keyB, keyA) ? -1 : 0;
+        };
+    }
+
+    /** Numeric sort key of an event, or NaN when it has none */
+    static double key(EventResponse event, String sortBy) {
+        switch (sortBy) {
+            case "impactScore":
+                return event.getImpactScore();
+            case "distance":
+                return event.getDistance() >= 0 ? event.getDistance() : Double.NaN;
+            case "price":
+            default:
+                Double price = event.getPriceMin();
+                return price != null ? price : Double.NaN;
+        }
+    }
+
+    private static List<EventResponse> sortByKey(List<EventResponse> events, String sortBy, boolean descending) {
+        int n = events.size();
+        double[] keys = new double[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            double key = key(events.get(i), sortBy);
+            // Negating turns descending into ascending and keeps the sort stable; NaN stays NaN
+            keys[i] = descending ? -key : key;
+            order[i] = i;
+        }
+        mergeSort(order, new int[n], keys, 0, n);
+        List<EventResponse> sorted = new ArrayList<>(n);
+        for (int index : order) sorted.add(events.get(index));
+        return sorted;
+    }
+
+    /** Stable sort of {@code order[from, to)} by {@code keys}, NaN last */
+    private static void mergeSort(int[] order, int[] scratch, double[] keys, int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(order, scratch, keys, from, mid);
+        mergeSort(order, scratch, keys, mid, to);
+        // Already in order: nothing to merge
+        if (!after(keys[order[mid - 1]], keys[order[mid]])) return;
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && !after(keys[scratch[left]], keys[scratch[right]]))) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    /** Whether key {@code a} sorts strictly after key {@code b} */
+    private static boolean after(double a, double b) {
+        if (Double.isNaN(a)) return !Double.isNaN(b);
+        return !Double.isNaN(b) && a > b;
+    }
+}
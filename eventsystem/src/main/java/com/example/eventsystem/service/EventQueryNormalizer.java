@@ -0,0 +1,257 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventFilter;
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.Period;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Turns raw /api/events parameters into an {@link EventQuery}: resolves {@code period} and the
+ * default window against the injected clock, converts plain dates to Ticketmaster's UTC format,
+ * applies defaults, and collects validation errors instead of throwing. Dates are recognised
+ * by shape and checked field by field, so malformed input costs no exception and input already
+ * in the upstream format is passed through without being parsed or re-formatted.
+ *
+ * <p>Every crawl behind a query costs upstream calls and quota, so its size is bounded here: a
+ * page holds at most {@value #MAX_PAGE_SIZE} events, Ticketmaster's own page size, and must start
+ * within the {@code events.snapshot.max-events} events a snapshot holds. A stream counts up to
+ * that many events.
+ */
+@Component
+public class EventQueryNormalizer {
+    /** Ticketmaster's {@code startDateTime}/{@code endDateTime} format */
+    public static final DateTimeFormatter UPSTREAM_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private static final int DEFAULT_WINDOW_DAYS = 30;
+    private static final int DEFAULT_RADIUS = 10;
+    private static final int DEFAULT_SIZE = 20;
+    /** Largest page; larger sizes are cut to it */
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final String DATE_FORMATS = "yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss[.SSS]Z";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, String> IMPACT_LEVELS = Map.of(
+            "critical", "Critical", "high", "High", "medium", "Medium", "low", "Low");
+
+    private final Clock clock;
+    private final int maxEvents;
+
+    /**
+     * @param maxEvents Events a snapshot holds ({@code events.snapshot.max-events}); pages must
+     *                  start within them
+     */
+    public EventQueryNormalizer(Clock clock, @Value("${events.snapshot.max-events:3000}") int maxEvents) {
+        this.clock = clock;
+        this.maxEvents = Math.max(1, maxEvents);
+    }
+
+    public EventQuery normalize(String startDate, String endDate, String keyword, int page, int size, String sortBy,
+                                String sortDir, double lat, double lon, int radius, String period) {
+        return normalize(startDate, endDate, keyword, page, size, sortBy, sortDir, lat, lon, radius, period,
+                null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * {@link #normalize(String, String, String, int, int, String, String, double, double, int, String)}
+     * with server-side filters. Null or empty filter parameters filter nothing.
+     */
+    public EventQuery normalize(String startDate, String endDate, String keyword, int page, int size, String sortBy,
+                                String sortDir, double lat, double lon, int radius, String period,
+                                List<String> categories, List<String> genres, List<String> venues, List<String> impactLevels,
+                                Integer minScore, Double maxDistance, Double minPrice, Double maxPrice, List<String> statuses) {
+        List<String> errors = new ArrayList<>(0);
+        int pageSize = size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_SIZE;
+        // Long arithmetic: page * size overflows an int for large pages
+        if (page > 0 && (long) page * pageSize >= maxEvents) {
+            errors.add("page must start within the first " + maxEvents + " events");
+        }
+        return normalize(startDate, endDate, keyword, Math.max(page, 0), pageSize, sortBy, sortDir, lat, lon, radius, period,
+                categories, genres, venues, impactLevels, minScore, maxDistance, minPrice, maxPrice, statuses, errors);
+    }
+
+    /**
+     * Parameters of /api/events/stream, which has no pages: {@code size} caps the events streamed,
+     * up to {@code events.snapshot.max-events}
+     */
+    public EventQuery normalizeStream(String startDate, String endDate, String keyword, int size, String sortBy,
+                                      String sortDir, double lat, double lon, int radius, String period,
+                                      List<String> categories, List<String> genres, List<String> venues, List<String> impactLevels,
+                                      Integer minScore, Double maxDistance, Double minPrice, Double maxPrice, List<String> statuses) {
+        return normalize(startDate, endDate, keyword, 0, size > 0 ? Math.min(size, maxEvents) : DEFAULT_SIZE, sortBy, sortDir,
+                lat, lon, radius, period, categories, genres, venues, impactLevels, minScore, maxDistance, minPrice, maxPrice,
+                statuses, new ArrayList<>(0));
+    }
+
+    /** Normalize with {@code page} and {@code size} already checked */
+    private EventQuery normalize(String startDate, String endDate, String keyword, int page, int size, String sortBy,
+                                 String sortDir, double lat, double lon, int radius, String period,
+                                 List<String> categories, List<String> genres, List<String> venues, List<String> impactLevels,
+                                 Integer minScore, Double maxDistance, Double minPrice, Double maxPrice, List<String> statuses,
+                                 List<String> errors) {
+        ZoneId zone = clock.getZone();
+        LocalDate today = LocalDate.now(clock);
+
+        Period named = Period.fromParam(period);
+        if (period != null && named == null) {
+            errors.add("period must be one of today, week, month");
+        }
+        String start;
+        String end;
+        if (named != null && (startDate == null || endDate == null)) {
+            // A period replaces a half-open range, as before
+            start = toUpstream(today.atStartOfDay(), zone);
+            end = toUpstream(named.lastDay(today).atTime(23, 59, 59), zone);
+        } else if (startDate == null && endDate == null) {
+            start = toUpstream(today.atStartOfDay(), zone);
+            end = toUpstream(today.plusDays(DEFAULT_WINDOW_DAYS).atTime(23, 59, 59), zone);
+        } else {
+            start = normalizeDate(startDate, true, zone);
+            end = normalizeDate(endDate, false, zone);
+            if (startDate != null && start == null) errors.add("startDate must be " + DATE_FORMATS);
+            if (endDate != null && end == null) errors.add("endDate must be " + DATE_FORMATS);
+        }
+        // Same fixed-width format, so string order is chronological order
+        if (start != null && end != null && start.compareTo(end) > 0) {
+            errors.add("startDate must not be after endDate");
+        }
+
+        if (Double.isNaN(lat) || Double.isNaN(lon) || lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            errors.add("Invalid coordinates");
+        }
+
+        return new EventQuery(start, end, normalizeKeyword(keyword), lat, lon,
+                radius > 0 ? radius : DEFAULT_RADIUS,
+                canonicalSort(sortBy),
+                "desc".equalsIgnoreCase(sortDir) ? "desc" : "asc",
+                page,
+                size,
+                normalizeFilter(categories, genres, venues, impactLevels, minScore, maxDistance, minPrice, maxPrice, statuses, errors),
+                errors);
+    }
+
+    private static EventFilter normalizeFilter(List<String> categories, List<String> genres, List<String> venues,
+                                               List<String> impactLevels, Integer minScore, Double maxDistance, Double minPrice,
+                                               Double maxPrice, List<String> statuses, List<String> errors) {
+        List<String> levels = new ArrayList<>(4);
+        for (String level : distinctLowerCase(impactLevels)) {
+            String canonical = IMPACT_LEVELS.get(level);
+            if (canonical == null) {
+                errors.add("impactLevel must be one of Critical, High, Medium, Low");
+                break;
+            }
+            levels.add(canonical);
+        }
+        if (minScore != null && (minScore < 0 || minScore > 100)) errors.add("minScore must be between 0 and 100");
+        if (maxDistance != null && !(maxDistance >= 0)) errors.add("maxDistance must not be negative");
+        if (minPrice != null && !(minPrice >= 0)) errors.add("minPrice must not be negative");
+        if (maxPrice != null && !(maxPrice >= 0)) errors.add("maxPrice must not be negative");
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) errors.add("minPrice must not be above maxPrice");
+        EventFilter filter = new EventFilter(distinctLowerCase(categories), distinctLowerCase(genres), distinctLowerCase(venues), levels,
+                minScore != null ? Math.max(minScore, 0) : 0,
+                maxDistance != null ? maxDistance : Double.NaN,
+                minPrice != null ? minPrice : Double.NaN,
+                maxPrice != null ? maxPrice : Double.NaN,
+                distinctLowerCase(statuses));
+        return filter.isEmpty() ? EventFilter.NONE : filter;
+    }
+
+    /** Trimmed, lower-cased, sorted values without blanks or repeats */
+    private static List<String> distinctLowerCase(List<String> values) {
+        if (values == null || values.isEmpty()) return List.of();
+        TreeSet<String> distinct = new TreeSet<>();
+        for (String value : values) {
+            if (value == null) continue;
+            String trimmed = value.strip();
+            if (!trimmed.isEmpty()) distinct.add(trimmed.toLowerCase(Locale.ROOT));
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    private static String toUpstream(LocalDateTime local, ZoneId zone) {
+        return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UPSTREAM_FORMAT);
+    }
+
+    /**
+     * Accept {@code yyyy-MM-ddTHH:mm:ssZ} as is, drop the fraction from
+     * {@code yyyy-MM-ddTHH:mm:ss.SSSZ} (what browsers' {@code toISOString()} sends), or expand
+     * {@code yyyy-MM-dd} to the start or end of that day in the clock's zone
+     * @return The date in upstream format, or null if {@code value} is null or matches none
+     */
+    String normalizeDate(String value, boolean isStart, ZoneId zone) {
+        if (value == null) return null;
+        int length = value.length();
+        if (length >= 20 && value.charAt(length - 1) == 'Z' && isDateTime(value)) {
+            if (length == 20) return value;
+            // Fractional seconds: ".<1-9 digits>" before the Z
+            if (value.charAt(19) != '.' || length < 22 || length > 30 || number(value, 20, length - 1) < 0) return null;
+            return value.substring(0, 19) + "Z";
+        }
+        if (length == 10 && isDate(value)) {
+            LocalDate day = LocalDate.of(number(value, 0, 4), number(value, 5, 7), number(value, 8, 10));
+            return toUpstream(isStart ? day.atStartOfDay() : day.atTime(23, 59, 59), zone);
+        }
+        return null;
+    }
+
+    /** Whether the first nineteen characters are a valid {@code yyyy-MM-ddTHH:mm:ss} */
+    private static boolean isDateTime(String value) {
+        if (value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':' || !isDate(value)) return false;
+        int hour = number(value, 11, 13);
+        int minute = number(value, 14, 16);
+        int second = number(value, 17, 19);
+        return hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60;
+    }
+
+    /** Whether the first ten characters are a real calendar date in {@code yyyy-MM-dd} form */
+    private static boolean isDate(String value) {
+        if (value.charAt(4) != '-' || value.charAt(7) != '-') return false;
+        int year = number(value, 0, 4);
+        int month = number(value, 5, 7);
+        int day = number(value, 8, 10);
+        return year >= 0 && month >= 1 && month <= 12
+                && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    /** Decimal value of {@code value[from, to)}, or -1 if it contains a non-digit */
+    private static int number(String value, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            n = n * 10 + (c - '0');
+        }
+        return n;
+    }
+
+    private static String normalizeKeyword(String keyword) {
+        if (keyword == null) return null;
+        String trimmed = keyword.strip();
+        if (trimmed.isEmpty()) return null;
+        return WHITESPACE.matcher(trimmed).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String canonicalSort(String sortBy) {
+        if ("name".equalsIgnoreCase(sortBy)) return "name";
+        if ("venue".equalsIgnoreCase(sortBy)) return "venue";
+        if ("impactScore".equalsIgnoreCase(sortBy)) return "impactScore";
+        if ("distance".equalsIgnoreCase(sortBy)) return "distance";
+        if ("price".equalsIgnoreCase(sortBy)) return "price";
+        if ("relevance".equalsIgnoreCase(sortBy)) return "relevance";
+        return "date";
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves keyword and date-range queries from events that are already cached, instead of a
+ * fresh upstream crawl per query.
+ *
+ * <p>Every complete crawl without a keyword or filters ({@link EventsIngestedEvent#isComplete()})
+ * covers a scope: an origin, a radius and a date window. Each scope keeps a {@link KeywordIndex}
+ * of its events, updated incrementally on an indexing thread as the scope is crawled again,
+ * and an {@link EventTimeIndex} rebuilt alongside it. A query is covered by a fresh scope with
+ * the same origin, at least its radius, and a window that contains its window. A covered
+ * keyword query is answered locally when at least one event matches; otherwise it is a miss,
+ * and the caller goes upstream. A covered query without a keyword is answered with a slice of
+ * the time index, unless it is the scope's own query: that one keeps going upstream, which is
+ * what keeps the scope fresh. Scopes expire {@code events.search.ttl-ms} after they were last
+ * crawled; beyond {@code events.search.max-scopes}, the stalest is dropped.
+ *
+ * <p>Keyword queries take a scope's read lock, so they only wait while a crawl is being applied.
+ * Range queries read an immutable time index through a volatile field and never wait.
+ */
+@Component
+public class EventSearchIndex {
+    private final PipelineMetrics metrics;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${events.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${events.search.ttl-ms:300000}")
+    private long ttlMillis;
+
+    @Value("${events.search.max-scopes:16}")
+    private int maxScopes;
+
+    public EventSearchIndex(PipelineMetrics metrics, Clock clock) {
+        this.metrics = metrics;
+        this.clock = clock;
+        this.zone = clock.getZone();
+    }
+
+    /** Events of one covered origin, radius and window */
+    private static final class Scope {
+        final double lat;
+        final double lon;
+        final int radius;
+        final String start;
+        final String end;
+        final KeywordIndex index = new KeywordIndex();
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        volatile EventTimeIndex timeline = EventTimeIndex.EMPTY;
+        volatile long crawledAtMillis;
+
+        Scope(EventQuery query) {
+            this.lat = query.getLat();
+            this.lon = query.getLon();
+            this.radius = query.getRadius();
+            this.start = query.getStartDateTime();
+            this.end = query.getEndDateTime();
+        }
+
+        boolean covers(EventQuery query) {
+            // Same fixed-width format, so string order is chronological order
+            return lat == query.getLat() && lon == query.getLon() && radius >= query.getRadius()
+                    && start != null && query.getStartDateTime() != null && start.compareTo(query.getStartDateTime()) <= 0
+                    && end != null && query.getEndDateTime() != null && end.compareTo(query.getEndDateTime()) >= 0;
+        }
+
+        /** Whether the query is the one this scope was crawled for, filters aside */
+        boolean isCrawledBy(EventQuery query) {
+            return radius == query.getRadius() && start.equals(query.getStartDateTime()) && end.equals(query.getEndDateTime());
+        }
+    }
+
+    @EventListener
+    public void onIngest(EventsIngestedEvent event) {
+        if (enabled && event.isComplete()) worker.execute(() -> update(event.getQuery(), event.getEvents()));
+    }
+
+    /**
+     * Local answer to a keyword query, best matches first
+     * @return The matching events, or null on a miss: no keyword, no fresh scope covering the
+     *         query, or no match
+     */
+    public List<EventResponse> search(EventQuery query) {
+        if (!enabled || query.getKeyword() == null) return null;
+        long start = System.nanoTime();
+        Scope scope = coveringScope(query);
+        List<String> tokens = KeywordIndex.tokenize(query.getKeyword());
+        if (scope == null || tokens.isEmpty()) {
+            metrics.recordCacheMiss("search");
+            return null;
+        }
+        List<EventResponse> hits;
+        scope.lock.readLock().lock();
+        try {
+            hits = scope.index.search(tokens);
+        } finally {
+            scope.lock.readLock().unlock();
+        }
+        hits = narrow(hits, scope, query, !scope.isCrawledBy(query));
+        metrics.recordSearch(System.nanoTime() - start);
+        if (hits.isEmpty()) {
+            metrics.recordCacheMiss("search");
+            return null;
+        }
+        metrics.recordCacheHit("search");
+        return hits;
+    }
+
+    /**
+     * Local answer to a query without a keyword: the scope's events within the query's window
+     * and radius, in start order. Filters are left to the caller.
+     * @return The events, possibly none, or null on a miss: a keyword query, no fresh scope
+     *         covering the query, or the scope's own unfiltered query
+     */
+    public List<EventResponse> range(EventQuery query) {
+        if (!enabled || query.getKeyword() != null) return null;
+        long start = System.nanoTime();
+        Scope scope = coveringScope(query);
+        if (scope == null || (scope.isCrawledBy(query) && query.getFilter().isEmpty())) {
+            metrics.recordCacheMiss("range");
+            return null;
+        }
+        long from = Instant.parse(query.getStartDateTime()).getEpochSecond();
+        long to = Instant.parse(query.getEndDateTime()).getEpochSecond();
+        List<String> venues = query.getFilter().getVenues();
+        EventTimeIndex timeline = scope.timeline;
+        List<EventResponse> events = venues.size() == 1 ? timeline.range(from, to, venues.get(0)) : timeline.range(from, to);
+        events = narrow(events, scope, query, false);
+        metrics.recordRangeQuery(System.nanoTime() - start);
+        metrics.recordCacheHit("range");
+        return events;
+    }
+
+    /**
+     * Drop events beyond the query's radius and, with {@code checkWindow}, outside its window.
+     * Events without a distance are only kept when the scope's radius is the query's.
+     */
+    private List<EventResponse> narrow(List<EventResponse> events, Scope scope, EventQuery query, boolean checkWindow) {
+        boolean checkRadius = query.getRadius() < scope.radius;
+        if (!checkRadius && !checkWindow) return events;
+        long from = checkWindow ? Instant.parse(query.getStartDateTime()).getEpochSecond() : 0;
+        long to = checkWindow ? Instant.parse(query.getEndDateTime()).getEpochSecond() : 0;
+        List<EventResponse> kept = new ArrayList<>(events.size());
+        for (EventResponse event : events) {
+            if (checkRadius && (event.getDistance() < 0 || event.getDistance() > query.getRadius())) continue;
+            if (checkWindow) {
+                long eventStart = EventTimeIndex.epochSecond(event, zone);
+                if (eventStart < from || eventStart > to) continue;
+            }
+            kept.add(event);
+        }
+        return kept;
+    }
+
+    /** The fresh scope with the smallest radius that covers the query, or null */
+    private Scope coveringScope(EventQuery query) {
+        long now = clock.millis();
+        Scope best = null;
+        for (Scope scope : scopes.values()) {
+            if (now - scope.crawledAtMillis > ttlMillis || !scope.covers(query)) continue;
+            if (best == null || scope.radius < best.radius) best = scope;
+        }
+        return best;
+    }
+
+    private void update(EventQuery query, List<EventResponse> events) {
+        long start = System.nanoTime();
+        long now = clock.millis();
+        scopes.values().removeIf(scope -> now - scope.crawledAtMillis > ttlMillis);
+        String key = query.getLat() + "," + query.getLon() + "|" + query.getRadius() + "|" + query.getStartDateTime() + "|" + query.getEndDateTime();
+        Scope scope = scopes.get(key);
+        if (scope == null) {
+            while (scopes.size() >= Math.max(1, maxScopes)) evictStalest();
+            scope = new Scope(query);
+        }
+        KeywordIndex.Update update;
+        scope.lock.writeLock().lock();
+        try {
+            update = scope.index.replaceAll(events);
+        } finally {
+            scope.lock.writeLock().unlock();
+        }
+        scope.timeline = EventTimeIndex.of(events, zone);
+        scope.crawledAtMillis = now;
+        scopes.put(key, scope);
+        metrics.recordSearchIndexUpdate(update.indexed(), update.unchanged(), update.removed(), System.nanoTime() - start);
+    }
+
+    private void evictStalest() {
+        String stalest = null;
+        long oldest = Long.MAX_VALUE;
+        for (Map.Entry<String, Scope> entry : scopes.entrySet()) {
+            if (entry.getValue().crawledAtMillis < oldest) {
+                oldest = entry.getValue().crawledAtMillis;
+                stalest = entry.getKey();
+            }
+        }
+        if (stalest == null) return;
+        scopes.remove(stalest);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+
+import java.util.List;
+
+/**
+ * Immutable, sorted result of one events crawl, kept server-side so later pages are
+ * slices of the same ordering instead of a fresh crawl and sort. A snapshot may hold only the
+ * leading pages of its result while the rest is crawled in the background; it is then not
+ * {@link #isComplete() complete} and reports the expected total.
+ */
+public final class EventSnapshot {
+    private final String id;
+    private final List<EventResponse> events;
+    private volatile long expiresAtMillis;
+    private volatile int totalElements;
+    // Query whose full result is still being crawled, or null when the snapshot holds all of it
+    private volatile EventQuery pending;
+
+    EventSnapshot(String id, List<EventResponse> events, long expiresAtMillis) {
+        this(id, events, expiresAtMillis, events.size(), null);
+    }
+
+    EventSnapshot(String id, List<EventResponse> events, long expiresAtMillis, int totalElements, EventQuery pending) {
+        this.id = id;
+        this.events = events;
+        this.expiresAtMillis = expiresAtMillis;
+        this.totalElements = Math.max(totalElements, events.size());
+        this.pending = pending;
+    }
+
+    /**
+     * Content-derived snapshot id, or null when the result was not stored (e.g. the crawl
+     * failed). Equal results get equal ids, so the id doubles as a version for ETags.
+     */
+    public String getId() { return id; }
+
+    public List<EventResponse> getEvents() { return events; }
+
+    /** Events in the full result; more than {@link #getEvents()} holds while it is not complete */
+    public int getTotalElements() { return totalElements; }
+
+    /** Whether the snapshot holds its whole result rather than only the leading pages */
+    public boolean isComplete() { return pending == null; }
+
+    /** Query whose full result this snapshot leads, or null when it is complete */
+    EventQuery getPendingQuery() { return pending; }
+
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    void renew(long expiresAtMillis, int totalElements, EventQuery pending) {
+        this.expiresAtMillis = expiresAtMillis;
+        this.totalElements = Math.max(totalElements, events.size());
+        this.pending = pending;
+    }
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /** Events {@code [offset, offset + size)}, clamped to the snapshot */
+    public List<EventResponse> slice(int offset, int size) {
+        int from = Math.min(Math.max(offset, 0), events.size());
+        int to = Math.min(from + Math.max(size, 0), events.size());
+        return events.subList(from, to);
+    }
+}
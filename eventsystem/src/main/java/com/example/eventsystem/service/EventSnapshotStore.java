@@ -0,0 +1,155 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TTL-bounded store of sorted event results, addressed by snapshot id (for cursors) and by
+ * query key (so page-number requests for the same query reuse one crawl). Snapshots expire
+ * {@code events.snapshot.ttl-ms} after they are created; the oldest are evicted beyond
+ * {@code events.snapshot.max-entries}.
+ *
+ * <p>Snapshot ids are a digest of the sorted result, so a re-crawl that finds nothing new
+ * renews the existing snapshot instead of creating another one: cursors handed out earlier
+ * stay valid and ETags derived from the id stay stable across polls.
+ */
+@Component
+public class EventSnapshotStore {
+    private static final String CURSOR_VERSION = "1";
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, EventSnapshot> byId = new LinkedHashMap<>();
+    private final Map<String, EventSnapshot> byQuery = new LinkedHashMap<>();
+
+    public EventSnapshotStore(ObjectMapper objectMapper,
+                              @Value("${events.snapshot.ttl-ms:300000}") long ttlMillis,
+                              @Value("${events.snapshot.max-entries:64}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /** Position in a snapshot decoded from an opaque cursor token */
+    public record Cursor(String snapshotId, int offset, int size) {}
+
+    /**
+     * Store a sorted result. Only complete results are registered under {@code queryKey};
+     * partial or fallback results are still addressable by id so their cursors stay stable.
+     */
+    public EventSnapshot put(String queryKey, List<EventResponse> sortedEvents, boolean reusable) {
+        return put(queryKey, sortedEvents, reusable, sortedEvents.size(), null);
+    }
+
+    /**
+     * Store the leading pages of a result whose remainder is still being crawled for
+     * {@code pending} (null when the result is whole), out of {@code totalElements} expected.
+     * A leading snapshot does not displace a live complete one of the same query.
+     */
+    public EventSnapshot put(String queryKey, List<EventResponse> sortedEvents, boolean reusable, int totalElements, EventQuery pending) {
+        List<EventResponse> events = List.copyOf(sortedEvents);
+        String id = contentId(events);
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            purgeExpired(now);
+            EventSnapshot snapshot = byId.remove(id);
+            if (snapshot != null) {
+                // The same events already stored as a whole result stay one
+                snapshot.renew(now + ttlMillis, snapshot.isComplete() ? events.size() : totalElements, snapshot.isComplete() ? null : pending);
+            } else {
+                snapshot = new EventSnapshot(id, events, now + ttlMillis, totalElements, pending);
+            }
+            // Re-inserted at the tail, which keeps byId in expiry order
+            byId.put(id, snapshot);
+            EventSnapshot current = byQuery.get(queryKey);
+            if (reusable && (snapshot.isComplete() || current == null || !current.isComplete() || current.isExpired(now))) {
+                byQuery.remove(queryKey);
+                byQuery.put(queryKey, snapshot);
+            }
+            while (byId.size() > maxEntries) {
+                Iterator<EventSnapshot> eldest = byId.values().iterator();
+                EventSnapshot evicted = eldest.next();
+                eldest.remove();
+                byQuery.values().removeIf(live -> live == evicted);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * SHA-256 of the result as it is serialized, truncated to 128 bits
+     */
+    private String contentId(List<EventResponse> events) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(events));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint events snapshot", e);
+        }
+    }
+
+    /** Live snapshot by id, or null if it never existed or has expired */
+    public synchronized EventSnapshot get(String snapshotId) {
+        EventSnapshot snapshot = byId.get(snapshotId);
+        return snapshot == null || snapshot.isExpired(System.currentTimeMillis()) ? null : snapshot;
+    }
+
+    /**
+     * Live snapshot of the last complete crawl for a query, or of the leading pages of one still
+     * being filled; null if there is neither
+     */
+    public synchronized EventSnapshot find(String queryKey) {
+        EventSnapshot snapshot = byQuery.get(queryKey);
+        return snapshot == null || snapshot.isExpired(System.currentTimeMillis()) ? null : snapshot;
+    }
+
+    private void purgeExpired(long now) {
+        // Insertion order is expiry order, so expired snapshots are at the head
+        Iterator<EventSnapshot> it = byId.values().iterator();
+        while (it.hasNext()) {
+            EventSnapshot snapshot = it.next();
+            if (!snapshot.isExpired(now)) break;
+            it.remove();
+            byQuery.values().removeIf(live -> live == snapshot);
+        }
+    }
+
+    /** Opaque token for the page of {@code size} events starting at {@code offset} */
+    public String encodeCursor(EventSnapshot snapshot, int offset, int size) {
+        String raw = CURSOR_VERSION + ":" + snapshot.getId() + ":" + offset + ":" + size;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor token
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public Cursor decodeCursor(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+        String[] parts = raw.split(":");
+        if (parts.length != 4 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        int offset = Integer.parseInt(parts[2]);
+        int size = Integer.parseInt(parts[3]);
+        if (offset < 0 || size <= 0) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new Cursor(parts[1], offset, size);
+    }
+}
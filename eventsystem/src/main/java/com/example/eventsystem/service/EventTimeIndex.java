@@ -0,0 +1,128 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, start-ordered view of one set of events: a sorted {@code long[]} of start times in
+ * epoch seconds, the events in the same order, and for each venue the ascending positions of
+ * its events. A date range is two binary searches and a slice; a range at one venue is the same
+ * over that venue's positions. Being immutable, an index can be read by any number of threads
+ * while its replacement is built.
+ */
+final class EventTimeIndex {
+    static final EventTimeIndex EMPTY = new EventTimeIndex(new long[0], new EventResponse[0], Map.of());
+
+    // Start in the high bits, input position in the low ones, so one long sort is a stable sort
+    private static final int POSITION_BITS = 24;
+
+    private final long[] starts;
+    private final EventResponse[] events;
+    private final Map<String, int[]> byVenue;
+
+    private EventTimeIndex(long[] starts, EventResponse[] events, Map<String, int[]> byVenue) {
+        this.starts = starts;
+        this.events = events;
+        this.byVenue = byVenue;
+    }
+
+    /**
+     * Index the events that have a start time. Events are placed by {@code startDateTime}, or
+     * by their local date and time in {@code zone} when upstream gave no instant.
+     */
+    static EventTimeIndex of(List<EventResponse> events, ZoneId zone) {
+        int n = Math.min(events.size(), 1 << POSITION_BITS);
+        long[] keys = new long[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            long start = epochSecond(events.get(i), zone);
+            if (start >= 0) keys[count++] = start << POSITION_BITS | i;
+        }
+        Arrays.sort(keys, 0, count);
+        long[] starts = new long[count];
+        EventResponse[] ordered = new EventResponse[count];
+        Map<String, List<Integer>> venues = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            starts[i] = keys[i] >>> POSITION_BITS;
+            ordered[i] = events.get((int) (keys[i] & ((1 << POSITION_BITS) - 1)));
+            if (ordered[i].getVenue() != null) {
+                venues.computeIfAbsent(ordered[i].getVenue().toLowerCase(Locale.ROOT), venue -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<String, int[]> byVenue = new HashMap<>(venues.size() * 2);
+        venues.forEach((venue, positions) -> byVenue.put(venue, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return new EventTimeIndex(starts, ordered, byVenue);
+    }
+
+    /**
+     * Start of an event in epoch seconds, or -1 when it has none or it cannot be read
+     */
+    static long epochSecond(EventResponse event, ZoneId zone) {
+        try {
+            if (event.getStartDateTime() != null) return Instant.parse(event.getStartDateTime()).getEpochSecond();
+            if (event.getDate() == null) return -1;
+            LocalTime time = event.getTime() != null ? LocalTime.parse(event.getTime()) : LocalTime.MIDNIGHT;
+            return LocalDate.parse(event.getDate()).atTime(time).atZone(zone).toEpochSecond();
+        } catch (DateTimeException e) {
+            return -1;
+        }
+    }
+
+    int size() {
+        return events.length;
+    }
+
+    /** Events starting within {@code [from, to]} (epoch seconds, inclusive), in start order */
+    List<EventResponse> range(long from, long to) {
+        int lo = lowerBound(from);
+        int hi = to == Long.MAX_VALUE ? starts.length : lowerBound(to + 1);
+        return lo >= hi ? List.of() : Collections.unmodifiableList(Arrays.asList(events).subList(lo, hi));
+    }
+
+    /** Events at the named venue (any case) starting within {@code [from, to]}, in start order */
+    List<EventResponse> range(long from, long to, String venue) {
+        int[] positions = byVenue.get(venue.toLowerCase(Locale.ROOT));
+        if (positions == null) return List.of();
+        int lo = lowerBound(positions, from);
+        int hi = to == Long.MAX_VALUE ? positions.length : lowerBound(positions, to + 1);
+        List<EventResponse> result = new ArrayList<>(Math.max(0, hi - lo));
+        for (int i = lo; i < hi; i++) result.add(events[positions[i]]);
+        return result;
+    }
+
+    /** First position whose start is at or after {@code second} */
+    private int lowerBound(long second) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < second) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index into {@code positions} whose event starts at or after {@code second} */
+    private int lowerBound(int[] positions, long second) {
+        int lo = 0;
+        int hi = positions.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[positions[mid]] < second) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps a raw Ticketmaster event into an {@link EventResponse}: image selection, venue
+ * address and metadata, distance from the search origin, price and impact scoring.
+ *
+ * <p>A few hundred venues host most events, so the fields derived from a venue (address, parsed
+ * coordinates, tier and type) are built once per venue id and cached across requests, up to
+ * {@code events.transform.venue-cache-size} venues, evicting the ones not read lately first.
+ * Distances depend on the search origin, so they are kept per crawl instead, in an
+ * {@link Origin}: the haversine runs about once per venue per crawl, and crawls from different
+ * origins do not share them.
+ */
+@Component
+public class EventTransformer {
+    private static final Logger logger = LoggerFactory.getLogger(EventTransformer.class);
+
+    // Venue metadata mapping
+    private static final Map<String, String[]> VENUE_METADATA = new HashMap<>();
+    static {
+        VENUE_METADATA.put("Nissan Stadium", new String[]{"Mega Venue (50,000+)", "Sports Venue"});
+        VENUE_METADATA.put("Bridgestone Arena", new String[]{"Major Arena (15,000-25,000)", "Sports Venue"});
+        VENUE_METADATA.put("Grand Ole Opry House", new String[]{"Large Theater (2,000-5,000)", "Country Music Heritage"});
+        VENUE_METADATA.put("Tennessee Performing Arts Center", new String[]{"Large Theater (2,000-5,000)", "Classical/Symphony"});
+        VENUE_METADATA.put("Ryman Auditorium", new String[]{"Medium Theater (1,000-2,500)", "Country Music Heritage"});
+        VENUE_METADATA.put("Schermerhorn Symphony Center", new String[]{"Medium Theater (1,000-2,500)", "Classical/Symphony"});
+        VENUE_METADATA.put("Marathon Music Works", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
+        VENUE_METADATA.put("Cannery Hall", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
+        VENUE_METADATA.put("Brooklyn Bowl", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
+        VENUE_METADATA.put("CMA Theater", new String[]{"Medium Music Venue (500-1,000)", "Contemporary Music"});
+        VENUE_METADATA.put("City Winery", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
+        VENUE_METADATA.put("The Country", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
+        VENUE_METADATA.put("Listening Room Cafe", new String[]{"Small Music Venue (100-500)", "Songwriter Venue"});
+        VENUE_METADATA.put("Tin Roof", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
+        VENUE_METADATA.put("The Bluebird Cafe", new String[]{"Intimate Venue (Under 200)", "Country Music Heritage"});
+        VENUE_METADATA.put("The Cobra", new String[]{"Intimate Venue (Under 200)", "Contemporary Music"});
+        VENUE_METADATA.put("Ascend Amphitheater", new String[]{"Amphitheater", "Outdoor"});
+        VENUE_METADATA.put("Nashville Municipal Auditorium", new String[]{"Multi-Purpose Venue", "Multi-Purpose/Historic"});
+        VENUE_METADATA.put("War Memorial Auditorium", new String[]{"Multi-Purpose Venue", "Multi-Purpose/Historic"});
+    }
+
+    private final ImageProcessingService imageProcessingService;
+    private final PipelineMetrics metrics;
+    private final int maxVenues;
+    // Derived venue fields by upstream venue id, shared by every request and transform thread;
+    // venues not read since the last sweep are evicted first
+    private final SecondChanceCache<Venue> venues;
+
+    /**
+     * @param maxVenues Venues whose derived fields are cached ({@code events.transform.venue-cache-size}),
+     *                  or 0 to derive them for every event
+     */
+    public EventTransformer(ImageProcessingService imageProcessingService, PipelineMetrics metrics,
+                            @Value("${events.transform.venue-cache-size:4096}") int maxVenues) {
+        this.imageProcessingService = imageProcessingService;
+        this.metrics = metrics;
+        this.maxVenues = maxVenues;
+        this.venues = new SecondChanceCache<>(maxVenues);
+    }
+
+    /**
+     * Transform a single raw event
+     * @param event Event map from the Discovery API "_embedded.events" list
+     * @param origin Search origin of the crawl, used for the distance field
+     * @param summary Per-request diagnostics
+     */
+    public EventResponse transform(Map event, Origin origin, FetchSummary summary) {
+        EventResponse er = new EventResponse();
+        er.setId((String) event.get("id"));
+        er.setName((String) event.get("name"));
+        
+        // Process images using the new ImageProcessingService
+        processEventImages(er, event, summary);
+        
+        Map dates = (Map) event.get("dates");
+        if (dates != null && dates.containsKey("start")) {
+            Map start = (Map) dates.get("start");
+            er.setDate((String) start.get("localDate"));
+            er.setTime((String) start.get("localTime"));
+            er.setStartDateTime((String) start.get("dateTime"));
+        }
+        Venue venue = null;
+        if (event.containsKey("_embedded")) {
+            Map embedded2 = (Map) event.get("_embedded");
+            List<Map> venues = (List<Map>) embedded2.get("venues");
+            if (venues != null && !venues.isEmpty()) {
+                venue = venue(venues.get(0));
+            }
+        }
+        if (venue != null) {
+            er.setVenue(venue.name);
+            er.setAddress(venue.address);
+            er.setVenueTier(venue.tier);
+            er.setVenueType(venue.type);
+        } else {
+            er.setVenueTier("Other Venue");
+            er.setVenueType("Other");
+        }
+        // Distance calculation
+        if (venue != null && venue.lat != null && venue.lon != null) {
+            er.setLatitude(venue.lat);
+            er.setLongitude(venue.lon);
+            // An uncached venue is a new instance per event, so there is nothing to reuse
+            er.setDistance(maxVenues > 0 ? origin.distanceTo(venue) : haversine(origin.lat, origin.lon, venue.lat, venue.lon));
+        } else {
+            er.setDistance(-1);
+        }
+        // Category
+        List<Map> classifications = (List<Map>) event.get("classifications");
+        if (classifications != null && !classifications.isEmpty()) {
+            Map segment = (Map) classifications.get(0).get("segment");
+            if (segment != null && segment.get("name") != null) {
+                er.setCategory((String) segment.get("name"));
+            }
+            Map genre = (Map) classifications.get(0).get("genre");
+            if (genre != null && genre.get("name") != null) {
+                er.setGenre((String) genre.get("name"));
+            }
+        }
+        // Price
+        List<Map> priceRanges = (List<Map>) event.get("priceRanges");
+        if (priceRanges != null && !priceRanges.isEmpty()) {
+            Map price = priceRanges.get(0);
+            String currency = (String) price.getOrDefault("currency", "USD");
+            Object min = price.get("min");
+            Object max = price.get("max");
+            er.setPrice(currency + " " + min + (max != null ? (" - " + max) : ""));
+            if (min instanceof Number low) {
+                er.setPriceMin(low.doubleValue());
+                er.setPriceMax(max instanceof Number high ? high.doubleValue() : low.doubleValue());
+            }
+        } else {
+            er.setPrice("Price not available");
+        }
+        er.setTicketUrl((String) event.get("url"));
+        Map dates2 = (Map) event.get("dates");
+        if (dates2 != null && dates2.get("status") != null) {
+            Map status = (Map) dates2.get("status");
+            er.setStatus((String) status.get("code"));
+        }
+        er.setDescription((String) event.getOrDefault("info", ""));
+        // Impact score/level calculation
+        long scoreStart = System.nanoTime();
+        int impactScore = calculateImpactScore(er);
+        metrics.recordImpactScoring(System.nanoTime() - scoreStart);
+        er.setImpactScore(impactScore);
+        er.setImpactLevel(getImpactLevel(impactScore));
+        return er;
+    }
+
+    /**
+     * Derived fields of an upstream venue, from the cache when the venue was seen before with
+     * the same name, location and address
+     */
+    private Venue venue(Map raw) {
+        if (maxVenues <= 0 || !(raw.get("id") instanceof String id)) return Venue.of(raw);
+        Venue cached = venues.get(id);
+        if (cached != null && cached.isDerivedFrom(raw)) {
+            metrics.recordVenueLookup(true);
+            return cached;
+        }
+        metrics.recordVenueLookup(false);
+        Venue derived = Venue.of(raw);
+        venues.put(id, derived);
+        return derived;
+    }
+
+    /**
+     * Process images for an event using the ImageProcessingService
+     */
+    private void processEventImages(EventResponse event, Map<String, Object> rawEvent, FetchSummary summary) {
+        try {
+            List<Map<String, Object>> images = (List<Map<String, Object>>) rawEvent.get("images");
+            
+            // Store all images for reference
+            event.setAllImages(images);
+            
+            // Process images to get the best one
+            long imageStart = System.nanoTime();
+            Map<String, Object> processedImage = imageProcessingService.processEventImages(images, event.getName(), summary.isSampled());
+            metrics.recordImageProcessing(System.nanoTime() - imageStart);
+            
+            if (processedImage != null) {
+                summary.recordImages(images != null ? images.size() : 0, "PLACEHOLDER".equals(processedImage.get("size")));
+
+                // Set the selected image URL
+                event.setEventImage((String) processedImage.get("url"));
+                event.setImageUrl((String) processedImage.get("url"));
+                
+                // Set image dimensions
+                Object width = processedImage.get("width");
+                Object height = processedImage.get("height");
+                if (width instanceof Integer) event.setImageWidth((Integer) width);
+                if (height instanceof Integer) event.setImageHeight((Integer) height);
+                
+                // Set other image properties
+                event.setImageRatio((String) processedImage.get("ratio"));
+                event.setImageSize((String) processedImage.get("size"));
+                event.setImageQuality((String) processedImage.get("quality"));
+                event.setImageFileSize((String) processedImage.get("fileSize"));
+                
+                // Set numeric values
+                Object aspectRatio = processedImage.get("aspectRatio");
+                Object priority = processedImage.get("priority");
+                if (aspectRatio instanceof Double) event.setImageAspectRatio((Double) aspectRatio);
+                if (priority instanceof Integer) event.setImagePriority((Integer) priority);
+                
+                // Set metadata
+                Map<String, Object> metadata = (Map<String, Object>) processedImage.get("metadata");
+                event.setImageMetadata(metadata);
+                
+                if (summary.isSampled()) {
+                    logger.debug("Processed images for event '{}': selected image with quality {}",
+                        event.getName(), event.getImageQuality());
+                }
+            } else {
+                logger.warn("No valid images found for event: {}", event.getName());
+            }
+        } catch (Exception e) {
+            logger.error("Error processing images for event {}: {}", event.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Haversine distance in miles, rounded to one decimal
+     */
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        final int R = 3959; // Radius of the earth in miles
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return Math.round(R * c * 10.0) / 10.0; // round to 1 decimal
+    }
+
+    // Simple impact score calculation
+    public int calculateImpactScore(EventResponse er) {
+        int score = 0;
+        // Venue tier
+        if (er.getVenueTier() != null) {
+            if (er.getVenueTier().contains("Mega Venue")) score += 40;
+            else if (er.getVenueTier().contains("Major Arena")) score += 30;
+            else if (er.getVenueTier().contains("Large")) score += 20;
+            else if (er.getVenueTier().contains("Medium")) score += 15;
+            else if (er.getVenueTier().contains("Small")) score += 10;
+            else if (er.getVenueTier().contains("Intimate")) score += 5;
+        }
+        // Category
+        if (er.getCategory() != null) {
+            if (er.getCategory().equalsIgnoreCase("Music")) score += 15;
+            else if (er.getCategory().equalsIgnoreCase("Sports")) score += 12;
+            else if (er.getCategory().equalsIgnoreCase("Arts & Theatre")) score += 10;
+        }
+        // Date proximity (today = highest)
+        if (er.getDate() != null) {
+            try {
+                LocalDate eventDate = LocalDate.parse(er.getDate());
+                LocalDate today = LocalDate.now();
+                long days = Math.abs(today.until(eventDate).getDays());
+                if (days == 0) score += 15;
+                else if (days <= 2) score += 10;
+                else if (days <= 7) score += 5;
+            } catch (Exception ignore) {}
+        }
+        // Price (higher price = higher impact)
+        if (er.getPrice() != null && er.getPrice().matches(".*\\d+.*")) {
+            try {
+                String[] parts = er.getPrice().split(" ");
+                double price = Double.parseDouble(parts[1]);
+                if (price > 100) score += 10;
+                else if (price > 50) score += 5;
+            } catch (Exception ignore) {}
+        }
+        return score;
+    }
+
+    public String getImpactLevel(int score) {
+        if (score >= 60) return "Critical";
+        if (score >= 40) return "High";
+        if (score >= 25) return "Medium";
+        return "Low";
+    }
+
+    /**
+     * What an event takes from its venue. Keeps the upstream fields it was derived from, so a
+     * venue that was renamed, moved or re-addressed upstream is derived again.
+     */
+    private static final class Venue {
+        final String name;
+        final String address;
+        final String tier;
+        final String type;
+        final Double lat;
+        final Double lon;
+        private final Source source;
+
+        private Venue(String name, String address, String tier, String type, Double lat, Double lon, Source source) {
+            this.name = name;
+            this.address = address;
+            this.tier = tier;
+            this.type = type;
+            this.lat = lat;
+            this.lon = lon;
+            this.source = source;
+        }
+
+        static Venue of(Map venue) {
+            Source source = Source.of(venue);
+            Double venueLat = null, venueLon = null;
+            try {
+                venueLat = source.latitude() != null ? Double.parseDouble(source.latitude().toString()) : null;
+                venueLon = source.longitude() != null ? Double.parseDouble(source.longitude().toString()) : null;
+            } catch (Exception ignore) {}
+            StringBuilder address = new StringBuilder();
+            if (source.line1() != null) address.append(source.line1()).append(", ");
+            if (source.city() != null) address.append(source.city()).append(", ");
+            if (source.stateCode() != null) address.append(source.stateCode()).append(", ");
+            if (source.postalCode() != null) address.append(source.postalCode());
+            // Venue tier/type
+            String[] meta = VENUE_METADATA.getOrDefault(source.name(), new String[]{"Other Venue","Other"});
+            return new Venue(source.name(), address.toString(), meta[0], meta[1], venueLat, venueLon, source);
+        }
+
+        boolean isDerivedFrom(Map venue) {
+            return source.matches(venue);
+        }
+    }
+
+    /**
+     * A search origin and the distances to the venues measured from it so far. Made once per
+     * crawl and shared by the transform threads of its pages. Distances are kept per cached venue
+     * instance; with the venue cache disabled they are not kept at all.
+     */
+    public static final class Origin {
+        private final double lat;
+        private final double lon;
+        private final Map<Venue, Double> miles = new ConcurrentHashMap<>();
+
+        public Origin(double lat, double lon) {
+            this.lat = lat;
+            this.lon = lon;
+        }
+
+        private double distanceTo(Venue venue) {
+            return miles.computeIfAbsent(venue, v -> haversine(lat, lon, v.lat, v.lon));
+        }
+    }
+
+    /** The upstream venue fields that the derived ones are built from, as upstream sent them */
+    private record Source(String name, Object latitude, Object longitude, Object line1, Object city, Object stateCode,
+                          Object postalCode) {
+        static Source of(Map venue) {
+            Map location = (Map) venue.get("location");
+            Map address = (Map) venue.get("address");
+            Map city = (Map) venue.get("city");
+            Map state = (Map) venue.get("state");
+            return new Source((String) venue.get("name"),
+                    location != null ? location.get("latitude") : null,
+                    location != null ? location.get("longitude") : null,
+                    address != null ? address.get("line1") : null,
+                    city != null ? city.get("name") : null,
+                    state != null ? state.get("stateCode") : null,
+                    venue.get("postalCode"));
+        }
+
+        /** Same as {@code equals(Source.of(venue))}, without building one for every event */
+        boolean matches(Map venue) {
+            if (!Objects.equals(name, venue.get("name")) || !Objects.equals(postalCode, venue.get("postalCode"))) return false;
+            Map rawLocation = (Map) venue.get("location");
+            Map rawAddress = (Map) venue.get("address");
+            Map rawCity = (Map) venue.get("city");
+            Map rawState = (Map) venue.get("state");
+            return Objects.equals(latitude, rawLocation != null ? rawLocation.get("latitude") : null)
+                    && Objects.equals(longitude, rawLocation != null ? rawLocation.get("longitude") : null)
+                    && Objects.equals(line1, rawAddress != null ? rawAddress.get("line1") : null)
+                    && Objects.equals(city, rawCity != null ? rawCity.get("name") : null)
+                    && Objects.equals(stateCode, rawState != null ? rawState.get("stateCode") : null);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+
+import java.util.List;
+
+/**
+ * Published by {@link TicketmasterService} after a crawl has been stored as a snapshot, on the
+ * thread that completed the crawl. The list is immutable and may repeat events that were ingested
+ * before; listeners that do real work should hand it to their own thread.
+ */
+public class EventsIngestedEvent {
+    private final List<EventResponse> events;
+    private final EventQuery query;
+    private final boolean complete;
+
+    public EventsIngestedEvent(List<EventResponse> events, EventQuery query, boolean complete) {
+        this.events = events;
+        this.query = query;
+        this.complete = complete;
+    }
+
+    public List<EventResponse> getEvents() { return events; }
+
+    /** The query that was crawled */
+    public EventQuery getQuery() { return query; }
+
+    /**
+     * Whether the events are every upstream event for the query's location, radius and window:
+     * the crawl had no keyword or filters, was neither partial nor a fallback, and was not
+     * {@link com.example.eventsystem.model.FetchSummary#isTruncated() truncated} to the leading
+     * part of its window or by the paging limits
+     */
+    public boolean isComplete() { return complete; }
+}
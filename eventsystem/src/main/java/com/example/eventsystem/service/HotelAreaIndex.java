@@ -0,0 +1,85 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.HotelConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable grid index of hotel search areas. The map is cut into cells of
+ * {@value #CELL_DEGREES} degrees, and each hotel is listed in every cell its radius reaches, so
+ * the hotels that may be near a point are the ones listed in that point's cell. Candidates
+ * still need an exact distance check.
+ */
+final class HotelAreaIndex {
+    static final double CELL_DEGREES = 0.25;
+    private static final double MILES_PER_DEGREE = 69.0;
+    private static final Area[] NONE = new Area[0];
+
+    /** A hotel with its parsed location */
+    record Area(HotelConfig config, double lat, double lon, int radiusMiles) {}
+
+    private final Map<Long, Area[]> cells;
+    private final Map<String, Area> byId;
+
+    private HotelAreaIndex(Map<Long, Area[]> cells, Map<String, Area> byId) {
+        this.cells = cells;
+        this.byId = byId;
+    }
+
+    /**
+     * Index the given hotels; hotels without valid coordinates or with a radius of 0 are left out
+     */
+    static HotelAreaIndex of(List<HotelConfig> configs) {
+        Map<Long, List<Area>> building = new HashMap<>();
+        Map<String, Area> byId = new HashMap<>();
+        for (HotelConfig config : configs) {
+            double lat = config.latitude();
+            double lon = config.longitude();
+            int radius = config.getDefaultSearchRadius();
+            if (Double.isNaN(lat) || Double.isNaN(lon) || radius <= 0) continue;
+            Area area = new Area(config, lat, lon, radius);
+            byId.put(config.getId(), area);
+            double latSpan = radius / MILES_PER_DEGREE;
+            double lonSpan = radius / (MILES_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+            for (int row = cell(lat - latSpan); row <= cell(lat + latSpan); row++) {
+                for (int col = cell(lon - lonSpan); col <= cell(lon + lonSpan); col++) {
+                    building.computeIfAbsent(key(row, col), k -> new ArrayList<>(2)).add(area);
+                }
+            }
+        }
+        Map<Long, Area[]> cells = new HashMap<>(building.size() * 2);
+        building.forEach((key, areas) -> cells.put(key, areas.toArray(NONE)));
+        return new HotelAreaIndex(cells, byId);
+    }
+
+    /** Hotels whose area may contain the point; do not modify the returned array */
+    Area[] near(double lat, double lon) {
+        return cells.getOrDefault(key(cell(lat), cell(lon)), NONE);
+    }
+
+    /** Indexed area of one hotel, or null */
+    Area get(String hotelId) {
+        return byId.get(hotelId);
+    }
+
+    /** Every indexed area */
+    Collection<Area> all() {
+        return byId.values();
+    }
+
+    boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.HotelConfig;
+
+/**
+ * Published by {@link HotelConfigRepository} after a config change has been written to disk.
+ * Listeners run on the writing thread, in write order; they must not mutate the configs.
+ */
+public class HotelConfigChangedEvent {
+    public enum Change { CREATED, UPDATED, DELETED }
+
+    private final Change change;
+    private final HotelConfig previous;
+    private final HotelConfig current;
+
+    public HotelConfigChangedEvent(Change change, HotelConfig previous, HotelConfig current) {
+        this.change = change;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Change getChange() { return change; }
+
+    /** Config before the change; null when created */
+    public HotelConfig getPrevious() { return previous; }
+
+    /** Config after the change; null when deleted */
+    public HotelConfig getCurrent() { return current; }
+
+    public String getId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.HotelConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hotel configurations kept in a JSON file, with an in-memory copy for reads.
+ *
+ * <p>The file is read on first access. Reads go to an immutable map behind a volatile field, so
+ * they take no lock. Writes are serialized. Each write applies the change to a copy of the map,
+ * writes the whole file (to a temporary file, then an atomic rename), and only then swaps the
+ * copy in and publishes a {@link HotelConfigChangedEvent}. A failed write leaves both the file and
+ * the cache unchanged. Returned configs are shared; callers must not mutate them.
+ */
+@Component
+public class HotelConfigRepository {
+    private static final Logger logger = LoggerFactory.getLogger(HotelConfigRepository.class);
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private volatile Map<String, HotelConfig> configs;
+
+    public HotelConfigRepository(@Value("${hotel-config.file:data/hotel-configs.json}") Path file,
+                                 ObjectMapper objectMapper, ApplicationEventPublisher events) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.events = events;
+    }
+
+    /** All configs, in creation order */
+    public List<HotelConfig> findAll() {
+        return List.copyOf(configs().values());
+    }
+
+    /** Config with the given id, or null */
+    public HotelConfig find(String id) {
+        return configs().get(id);
+    }
+
+    /**
+     * Create or replace a config. A config without an id is created under a new one.
+     * @return The stored config
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized HotelConfig save(HotelConfig config) {
+        Map<String, HotelConfig> current = configs();
+        HotelConfig stored = config.copy();
+        if (stored.getId() == null || stored.getId().isBlank()) {
+            stored.setId(newId(current));
+        }
+        HotelConfig previous = current.get(stored.getId());
+        Map<String, HotelConfig> next = new LinkedHashMap<>(current);
+        next.put(stored.getId(), stored);
+        write(next);
+        events.publishEvent(new HotelConfigChangedEvent(
+                previous == null ? HotelConfigChangedEvent.Change.CREATED : HotelConfigChangedEvent.Change.UPDATED,
+                previous, stored));
+        return stored;
+    }
+
+    /**
+     * Delete a config
+     * @return Whether it existed
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized boolean delete(String id) {
+        Map<String, HotelConfig> current = configs();
+        HotelConfig previous = current.get(id);
+        if (previous == null) return false;
+        Map<String, HotelConfig> next = new LinkedHashMap<>(current);
+        next.remove(id);
+        write(next);
+        events.publishEvent(new HotelConfigChangedEvent(HotelConfigChangedEvent.Change.DELETED, previous, null));
+        return true;
+    }
+
+    /**
+     * Problems with a config that is about to be saved; empty if it is acceptable
+     */
+    public List<String> validate(HotelConfig config) {
+        List<String> errors = new ArrayList<>(0);
+        if (config.getHotelName() == null || config.getHotelName().isBlank()) {
+            errors.add("hotelName is required");
+        }
+        double lat = config.latitude();
+        double lon = config.longitude();
+        if (Double.isNaN(lat) || Double.isNaN(lon) || lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            errors.add("hotelCoordinates must be \"lat,lon\"");
+        }
+        if (config.getDefaultSearchRadius() < 0) {
+            errors.add("defaultSearchRadius must not be negative");
+        }
+        if (config.getHighImpactThreshold() < 0 || config.getHighImpactThreshold() > 100
+                || config.getCriticalImpactThreshold() < 0 || config.getCriticalImpactThreshold() > 100) {
+            errors.add("impact thresholds must be between 0 and 100");
+        } else if (config.getHighImpactThreshold() > config.getCriticalImpactThreshold()) {
+            errors.add("highImpactThreshold must not exceed criticalImpactThreshold");
+        }
+        if (config.getSyncFrequencyHours() < 0) {
+            errors.add("syncFrequencyHours must not be negative");
+        }
+        return errors;
+    }
+
+    private Map<String, HotelConfig> configs() {
+        Map<String, HotelConfig> loaded = configs;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = configs;
+                if (loaded == null) {
+                    loaded = load();
+                    configs = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Map<String, HotelConfig> load() {
+        Map<String, HotelConfig> loaded = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            // Nothing saved yet: start from the sample hotel the dashboard has always shown
+            HotelConfig sample = sampleConfig();
+            loaded.put(sample.getId(), sample);
+            logger.info("No hotel config file at {}, starting with the sample config", file.toAbsolutePath());
+            return Collections.unmodifiableMap(loaded);
+        }
+        try {
+            List<HotelConfig> stored = objectMapper.readValue(file.toFile(), new TypeReference<List<HotelConfig>>() {});
+            for (HotelConfig config : stored) {
+                loaded.put(config.getId(), config);
+            }
+            logger.info("Loaded {} hotel configs from {}", loaded.size(), file.toAbsolutePath());
+            return Collections.unmodifiableMap(loaded);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read hotel configs from " + file.toAbsolutePath(), e);
+        }
+    }
+
+    private void write(Map<String, HotelConfig> next) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), new ArrayList<>(next.values()));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write hotel configs to " + file.toAbsolutePath(), e);
+        }
+        configs = Collections.unmodifiableMap(next);
+    }
+
+    private static String newId(Map<String, HotelConfig> current) {
+        long stamp = System.currentTimeMillis();
+        while (current.containsKey("config-" + stamp)) stamp++;
+        return "config-" + stamp;
+    }
+
+    private static HotelConfig sampleConfig() {
+        HotelConfig config = new HotelConfig();
+        config.setId("config-1");
+        config.setHotelName("Nashville Grand Hotel");
+        config.setHotelAddress("123 Broadway, Nashville, TN 37201");
+        config.setHotelCoordinates("36.1627,-86.7816");
+        config.setDefaultSearchRadius(10);
+        config.setNotificationEmail("manager@nashvillegrand.com");
+        config.setHighImpactThreshold(75);
+        config.setCriticalImpactThreshold(90);
+        config.setSyncFrequencyHours(6);
+        config.setPricingSystemConnected(false);
+        return config;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.FetchSummary;
+import com.example.eventsystem.model.HotelConfig;
+import com.example.eventsystem.model.UpstreamPriority;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically crawls the events around each configured hotel into the snapshot store, every
+ * {@code syncFrequencyHours} (0 disables a hotel's sync). Each crawl covers the next
+ * {@code hotel-sync.window-days} days, so the hotel's impact timeline is filled that far ahead.
+ * Crawls run at background priority so they only use upstream capacity that dashboard requests
+ * leave free. The schedule follows
+ * {@link HotelConfigChangedEvent}s, so a saved config takes effect without a restart.
+ */
+@Component
+public class HotelSyncScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(HotelSyncScheduler.class);
+
+    private final HotelConfigRepository configs;
+    private final TicketmasterService ticketmasterService;
+    private final EventQueryNormalizer queryNormalizer;
+    private final Clock clock;
+    private final Map<String, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hotel-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${hotel-sync.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hotel-sync.initial-delay-ms:60000}")
+    private long initialDelayMillis;
+
+    @Value("${hotel-sync.window-days:90}")
+    private int windowDays;
+
+    public HotelSyncScheduler(HotelConfigRepository configs, TicketmasterService ticketmasterService,
+                              EventQueryNormalizer queryNormalizer, Clock clock) {
+        this.configs = configs;
+        this.ticketmasterService = ticketmasterService;
+        this.queryNormalizer = queryNormalizer;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Hotel sync disabled");
+            return;
+        }
+        for (HotelConfig config : configs.findAll()) {
+            schedule(config, initialDelayMillis);
+        }
+    }
+
+    @EventListener
+    public void onConfigChanged(HotelConfigChangedEvent event) {
+        if (!enabled) return;
+        if (event.getCurrent() == null) {
+            cancel(event.getId());
+            return;
+        }
+        HotelConfig previous = event.getPrevious();
+        HotelConfig current = event.getCurrent();
+        if (previous != null
+                && previous.getSyncFrequencyHours() == current.getSyncFrequencyHours()
+                && previous.getDefaultSearchRadius() == current.getDefaultSearchRadius()
+                && Objects.equals(previous.getHotelCoordinates(), current.getHotelCoordinates())
+                && scheduled.containsKey(current.getId())) {
+            return;
+        }
+        // New or moved hotel: sync soon rather than a full period from now
+        schedule(current, 0);
+    }
+
+    private void schedule(HotelConfig config, long delayMillis) {
+        cancel(config.getId());
+        if (config.getSyncFrequencyHours() <= 0) return;
+        long periodMillis = TimeUnit.HOURS.toMillis(config.getSyncFrequencyHours());
+        String id = config.getId();
+        scheduled.put(id, timer.scheduleAtFixedRate(() -> sync(id), delayMillis, periodMillis, TimeUnit.MILLISECONDS));
+        logger.info("Hotel {} syncs every {}h", id, config.getSyncFrequencyHours());
+    }
+
+    private void cancel(String id) {
+        ScheduledFuture<?> previous = scheduled.remove(id);
+        if (previous != null) previous.cancel(false);
+    }
+
+    private void sync(String id) {
+        // Read the current config on every run so edits that don't reschedule still apply
+        HotelConfig config = configs.find(id);
+        if (config == null) return;
+        LocalDate today = LocalDate.now(clock);
+        EventQuery query = queryNormalizer.normalize(today.toString(), today.plusDays(Math.max(windowDays, 1) - 1).toString(),
+                null, 0, 20, "date", "asc",
+                config.latitude(), config.longitude(), config.getDefaultSearchRadius(), null);
+        if (!query.isValid()) {
+            logger.warn("Hotel {} not synced: {}", id, query.getErrors());
+            return;
+        }
+        long start = System.nanoTime();
+        ticketmasterService.fetchSnapshotAsync(query, false, UpstreamPriority.BACKGROUND, new FetchSummary())
+                .whenComplete((snapshot, error) -> {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error != null) {
+                        logger.warn("Hotel {} sync failed after {}ms: {}", id, millis, error.toString());
+                    } else {
+                        logger.info("Hotel {} synced {} events in {}ms", id, snapshot.getTotalElements(), millis);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
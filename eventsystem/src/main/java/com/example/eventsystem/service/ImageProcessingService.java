@@ -37,18 +37,27 @@ public class ImageProcessingService {
      * @return Map containing selected image data and metadata
      */
     public Map<String, Object> processEventImages(List<Map<String, Object>> images, String eventName) {
+        return processEventImages(images, eventName, false);
+    }
+
+    /**
+     * Process and select the best image, logging per-event detail only when {@code trace} is set.
+     * Callers pass the sampling decision of the current request so that unsampled requests
+     * never build log arguments on this path.
+     */
+    public Map<String, Object> processEventImages(List<Map<String, Object>> images, String eventName, boolean trace) {
         if (images == null || images.isEmpty()) {
-            logger.info("Event: {} - No images available", eventName);
+            if (trace) logger.debug("Event: {} - No images available", eventName);
             return createPlaceholderImage(eventName);
         }
 
-        logger.info("Event: {} - Found {} images", eventName, images.size());
+        if (trace) logger.debug("Event: {} - Found {} images", eventName, images.size());
 
         // Filter and validate images
         List<Map<String, Object>> validImages = filterValidImages(images);
         
         if (validImages.isEmpty()) {
-            logger.warn("Event: {} - No valid images found", eventName);
+            if (trace) logger.debug("Event: {} - No valid images found", eventName);
             return createPlaceholderImage(eventName);
         }
 
@@ -59,10 +68,9 @@ public class ImageProcessingService {
         Map<String, Object> bestImage = selectBestImage(sortedImages);
         
         // Log the selection
-        if (bestImage != null) {
-            String selectedUrl = (String) bestImage.get("url");
-            String dimensions = bestImage.get("width") + "x" + bestImage.get("height");
-            logger.info("Event: {} - Selected preferred image: {} - {}", eventName, dimensions, selectedUrl);
+        if (trace && bestImage != null) {
+            logger.debug("Event: {} - Selected preferred image: {}x{} - {}",
+                    eventName, bestImage.get("width"), bestImage.get("height"), bestImage.get("url"));
         }
 
         return bestImage;
@@ -0,0 +1,310 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.ImpactAlert;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raises {@link ImpactAlert}s for events near a hotel whose impact score reaches the hotel's
+ * high or critical threshold.
+ *
+ * <p>Evaluation is incremental. Each ingested crawl ({@link EventsIngestedEvent}) is handed to
+ * a single engine thread, which remembers the score and location of every event it has seen.
+ * Events that have not changed since they were last seen are skipped. A new or changed event is
+ * only checked against the hotels listed in its {@link HotelAreaIndex} cell. Alerts are
+ * de-duplicated per hotel, event and level, and go to a batched {@link AlertOutbox}. Config
+ * changes rebuild the index and re-check the tracked events against the changed hotel. Events
+ * are forgotten once their date has passed, or when more than
+ * {@code alerts.max-tracked-events} are tracked, least recently seen first.
+ *
+ * <p>The alerts already raised are kept apart from the tracked events, so an event that is
+ * forgotten and seen again does not alert twice. They are reloaded from the outbox file on
+ * startup, so a restart does not alert twice either, and dropped once the event's date has
+ * passed.
+ *
+ * <p>All state except {@link #recent} is confined to the engine thread, so it needs no locks.
+ */
+@Component
+public class ImpactAlertEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactAlertEngine.class);
+
+    private final HotelConfigRepository configs;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics metrics;
+    private final Clock clock;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "impact-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alerts.outbox.file:data/alert-outbox.jsonl}")
+    private Path outboxFile;
+
+    @Value("${alerts.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${alerts.outbox.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${alerts.outbox.flush-ms:5000}")
+    private long flushMillis;
+
+    @Value("${alerts.max-tracked-events:50000}")
+    private int maxTrackedEvents;
+
+    @Value("${alerts.recent:200}")
+    private int recentLimit;
+
+    // Engine thread only
+    private AlertOutbox outbox;
+    private HotelAreaIndex index;
+    // Access order: events still being crawled stay, the least recently seen are evicted
+    private final LinkedHashMap<String, Tracked> tracked = new LinkedHashMap<>(16, 0.75f, true);
+    // Highest level alerted per event and hotel, by event id
+    private final Map<String, Alerted> alerted = new HashMap<>();
+    private final ArrayDeque<ImpactAlert> recentAlerts = new ArrayDeque<>();
+    private String prunedFor;
+
+    // Newest first; replaced by the engine thread, read by request threads
+    private volatile List<ImpactAlert> recent = List.of();
+
+    public ImpactAlertEngine(HotelConfigRepository configs, ObjectMapper objectMapper, PipelineMetrics metrics,
+                             Clock clock) {
+        this.configs = configs;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        outbox = new AlertOutbox(outboxFile, objectMapper, batchSize, maxPending);
+        if (enabled) worker.execute(this::reloadAlerted);
+        worker.scheduleWithFixedDelay(outbox::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onIngest(EventsIngestedEvent event) {
+        if (enabled) worker.execute(() -> evaluate(event.getEvents()));
+    }
+
+    @EventListener
+    public void onConfigChanged(HotelConfigChangedEvent event) {
+        if (enabled) worker.execute(() -> {
+            index = HotelAreaIndex.of(configs.findAll());
+            if (event.getCurrent() != null) recheck(event.getId());
+        });
+    }
+
+    /**
+     * Most recent alerts, newest first
+     * @param hotelId Only this hotel's alerts, or null for all
+     */
+    public List<ImpactAlert> recent(String hotelId, int limit) {
+        List<ImpactAlert> result = new ArrayList<>(Math.min(limit, recentLimit));
+        for (ImpactAlert alert : recent) {
+            if (result.size() >= limit) break;
+            if (hotelId == null || hotelId.equals(alert.getHotelId())) result.add(alert);
+        }
+        return result;
+    }
+
+    private void evaluate(List<EventResponse> events) {
+        long start = System.nanoTime();
+        HotelAreaIndex areas = index();
+        forgetPastEvents();
+        List<ImpactAlert> raised = new ArrayList<>(0);
+        int evaluated = 0;
+        for (EventResponse event : events) {
+            if (event.getId() == null || event.getLatitude() == null || event.getLongitude() == null) continue;
+            Tracked seen = tracked.get(event.getId());
+            if (seen != null && seen.matches(event)) continue;
+            if (seen == null) {
+                seen = new Tracked(event.getId());
+                tracked.put(event.getId(), seen);
+            }
+            seen.update(event);
+            evaluated++;
+            for (HotelAreaIndex.Area area : areas.near(seen.lat, seen.lon)) {
+                check(area, seen, raised);
+            }
+        }
+        Iterator<Tracked> eldest = tracked.values().iterator();
+        while (tracked.size() > maxTrackedEvents) {
+            eldest.next();
+            eldest.remove();
+        }
+        publish(raised);
+        metrics.recordAlertEvaluation(events.size(), evaluated, System.nanoTime() - start);
+    }
+
+    /** Check every tracked event against one hotel, after its config changed */
+    private void recheck(String hotelId) {
+        HotelAreaIndex.Area area = index.get(hotelId);
+        if (area == null) return;
+        List<ImpactAlert> raised = new ArrayList<>(0);
+        for (Tracked seen : tracked.values()) {
+            check(area, seen, raised);
+        }
+        publish(raised);
+    }
+
+    private void check(HotelAreaIndex.Area area, Tracked seen, List<ImpactAlert> raised) {
+        ImpactAlert.Level level = level(seen.score, area);
+        if (level == null) return;
+        double distance = EventTransformer.haversine(area.lat(), area.lon(), seen.lat, seen.lon);
+        if (distance > area.radiusMiles()) return;
+        if (!markAlerted(seen.id, seen.date, area.config().getId(), level)) return;
+        raised.add(new ImpactAlert(area.config().getId(), area.config().getHotelName(),
+                area.config().getNotificationEmail(), seen.id, seen.name, seen.venue, seen.date, seen.time,
+                seen.score, level, distance, clock.millis()));
+    }
+
+    /**
+     * Record an alert for an event and hotel
+     * @return False if the same or a higher level was already alerted
+     */
+    private boolean markAlerted(String eventId, String date, String hotelId, ImpactAlert.Level level) {
+        Alerted sent = alerted.computeIfAbsent(eventId, id -> new Alerted());
+        sent.date = date;
+        ImpactAlert.Level already = sent.levels.get(hotelId);
+        if (already != null && already.compareTo(level) >= 0) return false;
+        sent.levels.put(hotelId, level);
+        return true;
+    }
+
+    /** Remember the alerts already in the outbox file for events that are not past */
+    private void reloadAlerted() {
+        String today = LocalDate.now(clock).toString();
+        int read = outbox.forEachWritten(alert -> {
+            String eventId = text(alert, "eventId");
+            String hotelId = text(alert, "hotelId");
+            String level = text(alert, "level");
+            String date = text(alert, "date");
+            if (eventId == null || hotelId == null || level == null || (date != null && date.compareTo(today) < 0)) return;
+            try {
+                markAlerted(eventId, date, hotelId, ImpactAlert.Level.valueOf(level));
+            } catch (IllegalArgumentException e) {
+                // Unknown level; not an alert this engine raised
+            }
+        });
+        if (read > 0) logger.info("Reloaded {} alerted events from {} outbox alerts", alerted.size(), read);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /** Level reached by a score; thresholds of 0 are treated as unset */
+    private static ImpactAlert.Level level(int score, HotelAreaIndex.Area area) {
+        int critical = area.config().getCriticalImpactThreshold();
+        int high = area.config().getHighImpactThreshold();
+        if (critical > 0 && score >= critical) return ImpactAlert.Level.CRITICAL;
+        if (high > 0 && score >= high) return ImpactAlert.Level.HIGH;
+        return null;
+    }
+
+    private void publish(List<ImpactAlert> raised) {
+        if (raised.isEmpty()) return;
+        boolean flush = false;
+        for (ImpactAlert alert : raised) {
+            flush |= outbox.add(alert);
+            metrics.recordAlertRaised(alert.getLevel().name());
+            recentAlerts.addFirst(alert);
+            if (recentAlerts.size() > recentLimit) recentAlerts.removeLast();
+        }
+        recent = List.copyOf(recentAlerts);
+        logger.info("Raised {} impact alerts", raised.size());
+        if (flush) outbox.flush();
+    }
+
+    private HotelAreaIndex index() {
+        if (index == null) index = HotelAreaIndex.of(configs.findAll());
+        return index;
+    }
+
+    /** Drop events dated before today, once a day */
+    private void forgetPastEvents() {
+        String today = LocalDate.now(clock).toString();
+        if (today.equals(prunedFor)) return;
+        // ISO dates compare correctly as strings
+        tracked.values().removeIf(seen -> seen.date != null && seen.date.compareTo(today) < 0);
+        alerted.values().removeIf(sent -> sent.date != null && sent.date.compareTo(today) < 0);
+        prunedFor = today;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.execute(outbox::flush);
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * What the engine last saw of an event. Only the fields an alert needs are kept, not the
+     * whole response with its image data.
+     */
+    private static final class Tracked {
+        final String id;
+        String name;
+        String venue;
+        String date;
+        String time;
+        int score;
+        double lat;
+        double lon;
+
+        Tracked(String id) {
+            this.id = id;
+        }
+
+        boolean matches(EventResponse event) {
+            return score == event.getImpactScore() && lat == event.getLatitude() && lon == event.getLongitude()
+                    && Objects.equals(date, event.getDate()) && Objects.equals(time, event.getTime());
+        }
+
+        void update(EventResponse event) {
+            name = event.getName();
+            venue = event.getVenue();
+            date = event.getDate();
+            time = event.getTime();
+            score = event.getImpactScore();
+            lat = event.getLatitude();
+            lon = event.getLongitude();
+        }
+    }
+
+    /** Alert levels raised for one event, by hotel, and the event's date for pruning */
+    private static final class Alerted {
+        String date;
+        final Map<String, ImpactAlert.Level> levels = new HashMap<>(2);
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.HotelConfig;
+import com.example.eventsystem.model.ImpactTimeline;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the daily impact of the events within each hotel's {@code defaultSearchRadius} over the
+ * next {@code timeline.days} days, for {@code /api/timeline}.
+ *
+ * <p>Maintenance is incremental. Each ingested crawl ({@link EventsIngestedEvent}) is handed to
+ * a single engine thread, which remembers the day, score and location of every event it placed.
+ * An event that has not changed is skipped. A new or changed event has its old placement taken
+ * out and is placed again on the hotels listed in its {@link HotelAreaIndex} cell that it is
+ * within reach of. Each hotel keeps, per day, how many events it has at each score, so adding or
+ * taking out an event is one increment and a changed threshold needs no re-placement. A complete
+ * crawl that covers a hotel's whole area also takes out the events it no longer returns on the
+ * days it fully covers. Hotels whose aggregates changed get a new {@link DailyImpact}, which
+ * turns the counts into prefix sums. Past days are dropped when the date changes.
+ *
+ * <p>All state except {@link #timelines} is confined to the engine thread, so it needs no locks.
+ */
+@Component
+public class ImpactTimelineEngine {
+    private final HotelConfigRepository configs;
+    private final PipelineMetrics metrics;
+    private final Clock clock;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "impact-timeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${timeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${timeline.days:90}")
+    private int days;
+
+    // Engine thread only
+    private HotelAreaIndex index;
+    private final Map<String, Placed> placed = new HashMap<>();
+    private final Map<String, Map<Long, int[]>> histograms = new HashMap<>();
+    private LocalDate publishedFor;
+
+    // Replaced by the engine thread, read by request threads
+    private volatile Map<String, DailyImpact> timelines = Map.of();
+
+    public ImpactTimelineEngine(HotelConfigRepository configs, PipelineMetrics metrics, Clock clock) {
+        this.configs = configs;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) worker.scheduleWithFixedDelay(this::rollOver, 0, 1, TimeUnit.MINUTES);
+    }
+
+    @EventListener
+    public void onIngest(EventsIngestedEvent event) {
+        if (enabled) worker.execute(() -> ingest(event.getEvents(), event.isComplete() ? event.getQuery() : null));
+    }
+
+    @EventListener
+    public void onConfigChanged(HotelConfigChangedEvent event) {
+        if (enabled) worker.execute(() -> {
+            index = HotelAreaIndex.of(configs.findAll());
+            replace(event.getId());
+        });
+    }
+
+    /**
+     * Daily impact around a hotel, cut to the days the timeline covers
+     * @param from First day, or null for today
+     * @param to Last day (inclusive), or null for the last day covered
+     * @param perDay Whether to list every day as well as the summary
+     * @return The timeline, or null when the hotel is unknown or timelines are disabled
+     */
+    public ImpactTimeline timeline(String hotelId, LocalDate from, LocalDate to, boolean perDay) {
+        HotelConfig config = configs.find(hotelId);
+        if (!enabled || config == null) return null;
+        DailyImpact daily = timelines.get(hotelId);
+        if (daily == null) {
+            daily = DailyImpact.of(LocalDate.now(clock), days, Map.of(), config.getHighImpactThreshold(),
+                    config.getCriticalImpactThreshold(), 0);
+        }
+        LocalDate first = from != null ? from : daily.first();
+        LocalDate last = to != null ? to : daily.last();
+        return new ImpactTimeline(hotelId, config.getHotelName(), daily.highThreshold(), daily.criticalThreshold(),
+                daily.updatedAt(), daily.summary(first, last), perDay ? daily.days(first, last) : List.of());
+    }
+
+    private void ingest(List<EventResponse> events, EventQuery completeQuery) {
+        long start = System.nanoTime();
+        HotelAreaIndex areas = index();
+        long today = LocalDate.now(clock).toEpochDay();
+        Set<String> changed = new HashSet<>();
+        int evaluated = 0;
+        for (EventResponse event : events) {
+            if (event.getId() == null || event.getLatitude() == null || event.getLongitude() == null) continue;
+            long day = epochDay(event.getDate());
+            int score = Math.max(0, Math.min(DailyImpact.MAX_SCORE, event.getImpactScore()));
+            double lat = event.getLatitude();
+            double lon = event.getLongitude();
+            Placed seen = placed.get(event.getId());
+            if (seen != null && seen.day == day && seen.score == score && seen.lat == lat && seen.lon == lon) continue;
+            evaluated++;
+            if (seen != null) takeOut(seen, changed);
+            if (day < today) continue;
+            Placed placing = new Placed(event.getId(), day, score, lat, lon);
+            for (HotelAreaIndex.Area area : areas.near(lat, lon)) {
+                if (reaches(area, placing)) {
+                    placing.hotels.add(area.config().getId());
+                    count(area.config().getId(), day, score, 1);
+                    changed.add(area.config().getId());
+                }
+            }
+            if (!placing.hotels.isEmpty()) placed.put(placing.id, placing);
+        }
+        int removed = completeQuery != null ? takeOutMissing(completeQuery, events, areas, changed) : 0;
+        publish(changed);
+        metrics.recordTimelineUpdate(events.size(), evaluated, removed, System.nanoTime() - start);
+    }
+
+    /**
+     * Take out placed events that a complete crawl did not return, on the days it fully covers
+     * and for the hotels whose whole area it covers
+     * @return How many events were taken out
+     */
+    private int takeOutMissing(EventQuery query, List<EventResponse> events, HotelAreaIndex areas, Set<String> changed) {
+        Set<String> covered = new HashSet<>();
+        for (HotelAreaIndex.Area area : areas.all()) {
+            double distance = EventTransformer.haversine(query.getLat(), query.getLon(), area.lat(), area.lon());
+            if (distance + area.radiusMiles() <= query.getRadius()) covered.add(area.config().getId());
+        }
+        if (covered.isEmpty() || placed.isEmpty()) return 0;
+        long firstDay;
+        long lastDay;
+        try {
+            ZonedDateTime start = Instant.parse(query.getStartDateTime()).atZone(clock.getZone());
+            ZonedDateTime end = Instant.parse(query.getEndDateTime()).atZone(clock.getZone());
+            firstDay = start.toLocalDate().toEpochDay() + (start.toLocalTime().toSecondOfDay() > 0 ? 1 : 0);
+            lastDay = end.toLocalDate().toEpochDay() - (end.toLocalTime().toSecondOfDay() < 86399 ? 1 : 0);
+        } catch (DateTimeException | NullPointerException e) {
+            return 0;
+        }
+        Set<String> present = new HashSet<>(events.size() * 2);
+        for (EventResponse event : events) present.add(event.getId());
+        List<Placed> missing = new ArrayList<>();
+        for (Placed seen : placed.values()) {
+            if (seen.day < firstDay || seen.day > lastDay || present.contains(seen.id)) continue;
+            for (String hotelId : seen.hotels) {
+                if (covered.contains(hotelId)) {
+                    missing.add(seen);
+                    break;
+                }
+            }
+        }
+        for (Placed gone : missing) takeOut(gone, changed);
+        return missing.size();
+    }
+
+    /** Re-place every tracked event on one hotel, after its config changed */
+    private void replace(String hotelId) {
+        histograms.remove(hotelId);
+        HotelAreaIndex.Area area = index.get(hotelId);
+        Iterator<Placed> all = placed.values().iterator();
+        while (all.hasNext()) {
+            Placed seen = all.next();
+            seen.hotels.remove(hotelId);
+            if (area != null && reaches(area, seen)) {
+                seen.hotels.add(hotelId);
+                count(hotelId, seen.day, seen.score, 1);
+            }
+            if (seen.hotels.isEmpty()) all.remove();
+        }
+        publish(Set.of(hotelId));
+    }
+
+    private static boolean reaches(HotelAreaIndex.Area area, Placed event) {
+        return EventTransformer.haversine(area.lat(), area.lon(), event.lat, event.lon) <= area.radiusMiles();
+    }
+
+    private void takeOut(Placed seen, Set<String> changed) {
+        for (String hotelId : seen.hotels) {
+            count(hotelId, seen.day, seen.score, -1);
+            changed.add(hotelId);
+        }
+        placed.remove(seen.id);
+    }
+
+    private void count(String hotelId, long day, int score, int delta) {
+        Map<Long, int[]> byDay = histograms.computeIfAbsent(hotelId, id -> new HashMap<>());
+        int[] scores = byDay.computeIfAbsent(day, d -> new int[DailyImpact.MAX_SCORE + 1]);
+        scores[score] += delta;
+    }
+
+    /** Rebuild the published aggregates of the given hotels from today */
+    private void publish(Set<String> hotelIds) {
+        if (hotelIds.isEmpty()) return;
+        LocalDate today = LocalDate.now(clock);
+        long now = clock.millis();
+        Map<String, DailyImpact> next = new HashMap<>(timelines);
+        for (String hotelId : hotelIds) {
+            HotelAreaIndex.Area area = index().get(hotelId);
+            if (area == null) {
+                next.remove(hotelId);
+                continue;
+            }
+            next.put(hotelId, DailyImpact.of(today, days, histograms.getOrDefault(hotelId, Map.of()),
+                    area.config().getHighImpactThreshold(), area.config().getCriticalImpactThreshold(), now));
+        }
+        timelines = Map.copyOf(next);
+    }
+
+    /** Once a day: drop past days and events, and start every hotel's timeline at today */
+    private void rollOver() {
+        LocalDate today = LocalDate.now(clock);
+        if (today.equals(publishedFor)) return;
+        long todayDay = today.toEpochDay();
+        placed.values().removeIf(seen -> seen.day < todayDay);
+        for (Map<Long, int[]> byDay : histograms.values()) {
+            byDay.keySet().removeIf(day -> day < todayDay);
+        }
+        Set<String> all = new HashSet<>();
+        for (HotelAreaIndex.Area area : index().all()) all.add(area.config().getId());
+        publish(all);
+        publishedFor = today;
+    }
+
+    private HotelAreaIndex index() {
+        if (index == null) index = HotelAreaIndex.of(configs.findAll());
+        return index;
+    }
+
+    /** Epoch day of an ISO date, or -1 when there is none or it cannot be read */
+    private static long epochDay(String date) {
+        if (date == null) return -1;
+        try {
+            return LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** Where an event was placed: its day, score and location, and the hotels it counts for */
+    private static final class Placed {
+        final String id;
+        final long day;
+        final int score;
+        final double lat;
+        final double lon;
+        final List<String> hotels = new ArrayList<>(2);
+
+        Placed(String id, long day, int score, double lat, double lon) {
+            this.id = id;
+            this.day = day;
+            this.score = score;
+            this.lat = lat;
+            this.lon = lon;
+        }
+    }
+}
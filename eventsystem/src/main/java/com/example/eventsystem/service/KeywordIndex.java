@@ -0,0 +1,197 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the name, venue, category and description of one set of events. Terms are
+ * kept sorted, so a query token matches every term it is a prefix of with one range lookup.
+ * Each posting is a document number with the field it came from packed into the low two bits.
+ *
+ * <p>Updates are incremental: an event whose text has not changed keeps its postings and only
+ * has its object replaced. A changed event is retired and indexed again under a new document
+ * number. Retired documents are skipped by queries and dropped when the index is rebuilt,
+ * which happens once they outnumber the live ones.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+final class KeywordIndex {
+    private static final int NAME = 0;
+    private static final int VENUE = 1;
+    private static final int CATEGORY = 2;
+    private static final int DESCRIPTION = 3;
+    /** Score of a token found in each field; an exact term match counts twice a prefix match */
+    private static final int[] WEIGHTS = {8, 4, 2, 1};
+    private static final int MIN_REBUILD = 256;
+    /** Query tokens beyond this many are ignored */
+    private static final int MAX_TOKENS = 16;
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docById = new HashMap<>();
+    private EventResponse[] docs = new EventResponse[64];
+    private int docCount;
+    private int retired;
+
+    /** Growable list of packed postings, in ascending document order */
+    private static final class Postings {
+        int[] items = new int[4];
+        int size;
+
+        void add(int posting) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = posting;
+        }
+    }
+
+    /** Counts from one {@link #replaceAll} */
+    record Update(int indexed, int unchanged, int removed) {}
+
+    /**
+     * Make the index hold exactly {@code events}: new and changed events are indexed, unchanged
+     * ones keep their postings, and events no longer present are retired
+     */
+    Update replaceAll(List<EventResponse> events) {
+        Set<String> present = new HashSet<>(events.size() * 2);
+        int indexed = 0;
+        int unchanged = 0;
+        for (EventResponse event : events) {
+            if (event.getId() == null || !present.add(event.getId())) continue;
+            Integer doc = docById.get(event.getId());
+            if (doc != null && sameText(docs[doc], event)) {
+                docs[doc] = event;
+                unchanged++;
+                continue;
+            }
+            if (doc != null) retire(doc);
+            add(event);
+            indexed++;
+        }
+        int removed = 0;
+        if (docById.size() > present.size()) {
+            List<Integer> gone = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : docById.entrySet()) {
+                if (!present.contains(entry.getKey())) gone.add(entry.getValue());
+            }
+            for (int doc : gone) retire(doc);
+            removed = gone.size();
+        }
+        if (retired > MIN_REBUILD && retired > docById.size()) rebuild();
+        return new Update(indexed, unchanged, removed);
+    }
+
+    int size() {
+        return docById.size();
+    }
+
+    /**
+     * Events that match every token of the query, best first. A token matches a term it is a
+     * prefix of; the score adds up the weight of each field a token was found in, doubled for
+     * whole-term matches. Ties go to the earlier event.
+     */
+    List<EventResponse> search(List<String> tokens) {
+        int count = Math.min(tokens.size(), MAX_TOKENS);
+        if (count == 0 || docById.isEmpty()) return List.of();
+        int[] scores = new int[docCount];
+        int[] matched = new int[docCount];
+        for (int t = 0; t < count; t++) {
+            String token = tokens.get(t);
+            SortedMap<String, Postings> range = terms.subMap(token, token + Character.MAX_VALUE);
+            for (Map.Entry<String, Postings> entry : range.entrySet()) {
+                int factor = entry.getKey().length() == token.length() ? 2 : 1;
+                Postings postings = entry.getValue();
+                for (int i = 0; i < postings.size; i++) {
+                    int posting = postings.items[i];
+                    int doc = posting >>> 2;
+                    if (docs[doc] == null) continue;
+                    matched[doc] |= 1 << t;
+                    scores[doc] += WEIGHTS[posting & 3] * factor;
+                }
+            }
+        }
+        int all = (1 << count) - 1;
+        List<Integer> hits = new ArrayList<>();
+        for (int doc = 0; doc < docCount; doc++) {
+            if (matched[doc] == all) hits.add(doc);
+        }
+        hits.sort((a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        List<EventResponse> result = new ArrayList<>(hits.size());
+        for (int doc : hits) result.add(docs[doc]);
+        return result;
+    }
+
+    /** Lower-cased runs of letters and digits */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void add(EventResponse event) {
+        if (docCount == docs.length) docs = Arrays.copyOf(docs, docCount * 2);
+        int doc = docCount++;
+        docs[doc] = event;
+        docById.put(event.getId(), doc);
+        index(doc, NAME, event.getName());
+        index(doc, VENUE, event.getVenue());
+        index(doc, CATEGORY, event.getCategory());
+        index(doc, DESCRIPTION, event.getDescription());
+    }
+
+    private void index(int doc, int field, String text) {
+        List<String> tokens = tokenize(text);
+        Set<String> seen = tokens.size() > 1 ? new HashSet<>(tokens.size() * 2) : null;
+        for (String token : tokens) {
+            if (seen != null && !seen.add(token)) continue;
+            terms.computeIfAbsent(token, key -> new Postings()).add(doc << 2 | field);
+        }
+    }
+
+    private void retire(int doc) {
+        docById.remove(docs[doc].getId());
+        docs[doc] = null;
+        retired++;
+    }
+
+    /** Re-index the live documents from scratch, dropping retired postings and unused terms */
+    private void rebuild() {
+        EventResponse[] live = new EventResponse[docById.size()];
+        int n = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docs[doc] != null) live[n++] = docs[doc];
+        }
+        terms.clear();
+        docById.clear();
+        docs = new EventResponse[Math.max(64, n)];
+        docCount = 0;
+        retired = 0;
+        for (int i = 0; i < n; i++) add(live[i]);
+    }
+
+    private static boolean sameText(EventResponse a, EventResponse b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getVenue(), b.getVenue())
+                && Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventsystem.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU of the last complete upstream result per query, served when Ticketmaster
+ * cannot be reached
+ */
+class LastGoodCache<V> {
+    private final Map<String, V> entries;
+
+    LastGoodCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized V get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, V value) {
+        entries.put(key, value);
+    }
+
+    synchronized V remove(String key) {
+        return entries.remove(key);
+    }
+}
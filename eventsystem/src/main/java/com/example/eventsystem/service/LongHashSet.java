@@ -0,0 +1,52 @@
+package com.example.eventsystem.service;
+
+/**
+ * Open-addressing set of {@code long}s in a single array: no boxing and no per-entry objects,
+ * so a set of a few thousand fingerprints costs a few tens of kilobytes. Not thread-safe.
+ */
+final class LongHashSet {
+    private long[] slots;
+    private int size;
+    // 0 marks a free slot, so a stored 0 is kept aside
+    private boolean hasZero;
+
+    LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        slots = new long[capacity];
+    }
+
+    /** Add a value; returns false if it was already present */
+    boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != 0) {
+            if (slots[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        if (++size * 2 > slots.length) grow();
+        return true;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value == 0) continue;
+            int i = mix(value) & mask;
+            while (slots[i] != 0) i = (i + 1) & mask;
+            slots[i] = value;
+        }
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
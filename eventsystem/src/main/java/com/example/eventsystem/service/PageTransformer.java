@@ -0,0 +1,95 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Transforms an upstream page of raw events on a dedicated fork-join pool. The page is split
+ * in halves down to {@value #LEAF_SIZE}-event chunks. Each chunk writes into its own slots of the
+ * result array, so the output keeps upstream order without any merging. The pool is separate
+ * from the common pool and from the HTTP client's threads, so a busy page cannot starve page
+ * fetching, and {@code events.transform.parallelism} bounds the CPU it takes (0 = one thread
+ * per core).
+ */
+@Component
+public class PageTransformer {
+    private static final int LEAF_SIZE = 8;
+
+    private final EventTransformer eventTransformer;
+    private final ForkJoinPool pool;
+
+    public PageTransformer(EventTransformer eventTransformer,
+                           @Value("${events.transform.parallelism:0}") int parallelism) {
+        this.eventTransformer = eventTransformer;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("event-transform-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Transform a page in the background; the future completes with the events in upstream
+     * order, or exceptionally if any event fails to transform
+     */
+    public CompletableFuture<List<EventResponse>> transformAsync(List<Map> rawEvents, EventTransformer.Origin origin,
+                                                                 FetchSummary summary) {
+        return CompletableFuture.supplyAsync(() -> {
+            EventResponse[] out = new EventResponse[rawEvents.size()];
+            new Chunk(rawEvents, out, 0, out.length, origin, summary).invoke();
+            return Arrays.asList(out);
+        }, pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private final List<Map> rawEvents;
+        private final EventResponse[] out;
+        private final int from;
+        private final int to;
+        private final EventTransformer.Origin origin;
+        private final FetchSummary summary;
+
+        Chunk(List<Map> rawEvents, EventResponse[] out, int from, int to, EventTransformer.Origin origin, FetchSummary summary) {
+            this.rawEvents = rawEvents;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.origin = origin;
+            this.summary = summary;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    out[i] = eventTransformer.transform(rawEvents.get(i), origin, summary);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(rawEvents, out, from, mid, origin, summary),
+                    new Chunk(rawEvents, out, mid, to, origin, summary));
+        }
+    }
+}
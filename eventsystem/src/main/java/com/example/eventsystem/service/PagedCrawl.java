@@ -0,0 +1,126 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.UpstreamPriority;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sequential page-by-page walk of one upstream endpoint that holds no thread between pages:
+ * each page is requested from the completion of the previous one. Cancelling {@link #result}
+ * cancels the page in flight and stops the walk; {@link #stop()} does the same but completes
+ * the result with the pages gathered so far.
+ * @param <T> What the crawl produces
+ */
+abstract class PagedCrawl<T> {
+    private final TicketmasterClient client;
+    private final String endpoint;
+    private final UpstreamPriority priority;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final AtomicBoolean finishing = new AtomicBoolean();
+    private volatile CompletableFuture<?> inFlight;
+    private volatile boolean stopped;
+    private volatile boolean cutShort;
+    protected int currentPage;
+
+    PagedCrawl(TicketmasterClient client, String endpoint) {
+        this(client, endpoint, UpstreamPriority.INTERACTIVE);
+    }
+
+    PagedCrawl(TicketmasterClient client, String endpoint, UpstreamPriority priority) {
+        this.client = client;
+        this.endpoint = endpoint;
+        this.priority = priority;
+        result.whenComplete((value, error) -> {
+            CompletableFuture<?> page = inFlight;
+            if (result.isCancelled() && page != null) page.cancel(true);
+        });
+    }
+
+    CompletableFuture<T> start() {
+        fetch();
+        return result;
+    }
+
+    /**
+     * Stop early, e.g. when a latency budget runs out: cancel the page in flight and complete
+     * with what earlier pages produced. A page that has already arrived is still consumed.
+     */
+    void stop() {
+        stopped = true;
+        CompletableFuture<?> page = inFlight;
+        if (page != null) page.cancel(true);
+    }
+
+    /** Whether {@link #stop()} ended the walk while pages were still wanted */
+    boolean isCutShort() {
+        return cutShort;
+    }
+
+    private void fetch() {
+        if (stopped) {
+            cutShort = true;
+            complete();
+            return;
+        }
+        CompletableFuture<Map<String, Object>> page = client.getPageAsync(endpoint, pageUrl(currentPage), priority);
+        inFlight = page;
+        if (result.isDone()) {
+            page.cancel(true);
+            return;
+        }
+        if (stopped) page.cancel(true);
+        page.whenComplete((response, error) -> {
+            if (result.isDone()) return;
+            if (error != null && stopped) {
+                cutShort = true;
+                complete();
+                return;
+            }
+            try {
+                boolean more = error == null ? onPage(response) : onPageFailed(TicketmasterClient.unwrap(error));
+                if (more) {
+                    currentPage++;
+                    fetch();
+                } else {
+                    complete();
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private void complete() {
+        if (!finishing.compareAndSet(false, true)) return;
+        try {
+            finishAsync().whenComplete((value, failure) -> {
+                if (failure != null) result.completeExceptionally(failure);
+                else result.complete(value);
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /** Upstream URL of the given page */
+    abstract String pageUrl(int page);
+
+    /** Consume a decoded page (null for an empty body); return whether to fetch the next one */
+    abstract boolean onPage(Map<String, Object> response);
+
+    /** Handle a failed page; return whether to go on, or throw to fail the crawl */
+    abstract boolean onPageFailed(RuntimeException e);
+
+    /** Result once no more pages are wanted */
+    abstract T finish();
+
+    /**
+     * {@link #finish()} for crawls that hand pages off for processing and so may still be
+     * working on them after the last page has arrived
+     */
+    CompletableFuture<T> finishAsync() {
+        return CompletableFuture.completedFuture(finish());
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.eventsystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the /api/events pipeline: upstream fetch, JSON decode, image processing,
+ * impact scoring, sort/paginate and response serialization. Meters are registered once and
+ * cached here so the hot path only records values. Exposed at /actuator/prometheus.
+ */
+@Component
+public class PipelineMetrics {
+    public static final String EVENTS_ENDPOINT = "events";
+    public static final String VENUES_ENDPOINT = "venues";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> upstreamLatency = new ConcurrentHashMap<>();
+    private final Map<String, Timer> decodeTime = new ConcurrentHashMap<>();
+    private final Map<String, Counter> pagesFetched = new ConcurrentHashMap<>();
+    private final Map<String, Timer> rateLimitWait = new ConcurrentHashMap<>();
+    private final Map<String, Timer> serialization = new ConcurrentHashMap<>();
+    private final Timer imageProcessing;
+    private final Timer impactScoring;
+    private final Timer sortPaginate;
+    private final DistributionSummary eventsPerRequest;
+    private final Counter venueHits;
+    private final Counter venueMisses;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.imageProcessing = Timer.builder("events.pipeline.images")
+                .description("Image selection per event")
+                .register(registry);
+        this.impactScoring = Timer.builder("events.pipeline.impact_score")
+                .description("Impact score calculation per event")
+                .register(registry);
+        this.sortPaginate = Timer.builder("events.pipeline.sort_paginate")
+                .description("Sorting and pagination of the crawled events")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.eventsPerRequest = DistributionSummary.builder("events.per_request")
+                .description("Events crawled from upstream per request")
+                .register(registry);
+        this.venueHits = registry.counter("events.cache.requests", "cache", "venue", "result", "hit");
+        this.venueMisses = registry.counter("events.cache.requests", "cache", "venue", "result", "miss");
+    }
+
+    public void recordUpstreamLatency(String endpoint, long nanos) {
+        upstreamLatency.computeIfAbsent(endpoint, e -> Timer.builder("ticketmaster.upstream.latency")
+                .description("Ticketmaster page round trip")
+                .tag("endpoint", e)
+                .publishPercentileHistogram()
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecode(String endpoint, long nanos) {
+        decodeTime.computeIfAbsent(endpoint, e -> Timer.builder("ticketmaster.response.decode")
+                .description("JSON decode of a Ticketmaster page")
+                .tag("endpoint", e)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPageFetched(String endpoint) {
+        pagesFetched.computeIfAbsent(endpoint, e -> Counter.builder("ticketmaster.pages.fetched")
+                .tag("endpoint", e)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Count an upstream failure; {@code status} is the HTTP status code or "io" for transport errors
+     */
+    public void recordUpstreamError(String endpoint, String status) {
+        registry.counter("ticketmaster.upstream.errors", "endpoint", endpoint, "status", status).increment();
+    }
+
+    public void recordRateLimitWait(String priority, long nanos) {
+        rateLimitWait.computeIfAbsent(priority, p -> Timer.builder("ticketmaster.ratelimit.wait")
+                .description("Time spent queued for an upstream permit")
+                .tag("priority", p)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRateLimitRejected(String priority) {
+        registry.counter("ticketmaster.ratelimit.rejected", "priority", priority).increment();
+    }
+
+    public void recordRetry(String endpoint) {
+        registry.counter("ticketmaster.upstream.retries", "endpoint", endpoint).increment();
+    }
+
+    public void recordHedge(String endpoint) {
+        registry.counter("ticketmaster.upstream.hedges", "endpoint", endpoint).increment();
+    }
+
+    public void recordCircuitRejected(String endpoint) {
+        registry.counter("ticketmaster.circuit.rejected", "endpoint", endpoint).increment();
+    }
+
+    /**
+     * Expose a breaker's state as a gauge: 0 closed, 1 open, 2 half-open
+     */
+    public void registerCircuitBreaker(String endpoint, CircuitBreaker breaker) {
+        Gauge.builder("ticketmaster.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+
+    public void recordCacheHit(String cache) {
+        registry.counter("events.cache.requests", "cache", cache, "result", "hit").increment();
+    }
+
+    public void recordCacheMiss(String cache) {
+        registry.counter("events.cache.requests", "cache", cache, "result", "miss").increment();
+    }
+
+    /** One event's venue fields, taken from the transform's venue cache or derived again */
+    public void recordVenueLookup(boolean hit) {
+        (hit ? venueHits : venueMisses).increment();
+    }
+
+    public void recordImageProcessing(long nanos) {
+        imageProcessing.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordImpactScoring(long nanos) {
+        impactScoring.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSortPaginate(long nanos) {
+        sortPaginate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time spent writing a response body; {@code format} is the wire format ("json", "cbor", "smile")
+     */
+    public void recordSerialization(String format, long nanos) {
+        serialization.computeIfAbsent(format, f -> Timer.builder("events.response.serialize")
+                .description("Serialization of API responses")
+                .tag("format", f)
+                .publishPercentileHistogram()
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDuplicatesRemoved(int count) {
+        registry.counter("events.duplicates.removed").increment(count);
+    }
+
+    public void recordEventsPerRequest(int events) {
+        eventsPerRequest.record(events);
+    }
+
+    /**
+     * One alert evaluation pass: {@code ingested} events received, of which {@code evaluated}
+     * were new or changed and checked against nearby hotels
+     */
+    public void recordAlertEvaluation(int ingested, int evaluated, long nanos) {
+        registry.counter("alerts.events", "result", "evaluated").increment(evaluated);
+        registry.counter("alerts.events", "result", "unchanged").increment(ingested - evaluated);
+        registry.timer("alerts.evaluate").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One timeline update: {@code ingested} events received, of which {@code placed} were new or
+     * changed and placed again, and {@code removed} placed events a complete crawl no longer had
+     */
+    public void recordTimelineUpdate(int ingested, int placed, int removed, long nanos) {
+        registry.counter("timeline.events", "result", "placed").increment(placed);
+        registry.counter("timeline.events", "result", "unchanged").increment(ingested - placed);
+        registry.counter("timeline.events", "result", "removed").increment(removed);
+        registry.timer("timeline.update").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSearch(long nanos) {
+        registry.timer("events.search").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRangeQuery(long nanos) {
+        registry.timer("events.range").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSearchIndexUpdate(int indexed, int unchanged, int removed, long nanos) {
+        registry.counter("events.search.index.events", "result", "indexed").increment(indexed);
+        registry.counter("events.search.index.events", "result", "unchanged").increment(unchanged);
+        registry.counter("events.search.index.events", "result", "removed").increment(removed);
+        registry.timer("events.search.index.update").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAlertRaised(String level) {
+        registry.counter("alerts.raised", "level", level).increment();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.FetchSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request-path diagnostics. Each request gets a {@link FetchSummary} that is logged once
+ * at INFO when the request completes. Per-event detail is only logged at DEBUG, and only
+ * for the sampled fraction of requests configured by {@code diagnostics.sample-rate}.
+ */
+@Component
+public class RequestDiagnostics {
+    private static final Logger logger = LoggerFactory.getLogger(RequestDiagnostics.class);
+
+    @Value("${diagnostics.sample-rate:0.0}")
+    private double sampleRate;
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    /**
+     * Start diagnostics for a new request, deciding up front whether it is sampled
+     */
+    public FetchSummary begin() {
+        boolean sampled = sampleRate > 0 && logger.isDebugEnabled()
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        return new FetchSummary(requestIds.incrementAndGet(), sampled);
+    }
+
+    /**
+     * Emit the single per-request summary line
+     */
+    public void complete(FetchSummary summary, String query) {
+        if (!logger.isInfoEnabled()) return;
+        String source = summary.isFallback() ? " (fallback)" : summary.isPartial() ? " (partial)" : "";
+        logger.info("Events request #{} [{}]: pages={} upstreamEvents={} duplicates={} returned={} withImages={} placeholders={} quality={} in {} ms{}",
+                summary.getRequestId(), query, summary.getPagesFetched(), summary.getUpstreamEvents(), summary.getDuplicatesRemoved(),
+                summary.getEventsReturned(), summary.getEventsWithImages(), summary.getPlaceholderImages(),
+                summary.getQualityDistribution(), summary.getElapsedMillis(), source);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.eventsystem.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache for hot, read-mostly lookups shared by many threads. Reads are a
+ * {@link ConcurrentHashMap} lookup and take no lock; a hit only sets the entry's used flag.
+ * When a put takes the cache over its limit, one thread sweeps the entries: used ones lose their
+ * flag and stay, unused ones are evicted until the cache is back at its limit. An entry is
+ * therefore evicted only if it has not been read since it was added or since the previous
+ * sweep, an approximation of least-recently-used order that keeps the lock off the read path.
+ */
+final class SecondChanceCache<V> {
+    private final int maxEntries;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    SecondChanceCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        // Only write when the flag changes, so hot entries do not bounce between cores
+        if (!entry.used) entry.used = true;
+        return entry.value;
+    }
+
+    void put(String key, V value) {
+        Entry<V> added = new Entry<>(value);
+        entries.put(key, added);
+        if (entries.size() > maxEntries) evict(added);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Sweep the entries down to the limit, sparing the one whose put started the sweep */
+    private synchronized void evict(Entry<V> added) {
+        // Two passes at most: the first clears every used flag it passes
+        for (int pass = 0; pass < 2 && entries.size() > maxEntries; pass++) {
+            Iterator<Entry<V>> all = entries.values().iterator();
+            while (all.hasNext() && entries.size() > maxEntries) {
+                Entry<V> entry = all.next();
+                if (entry.used) entry.used = false;
+                else if (entry != added) all.remove();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        volatile boolean used;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
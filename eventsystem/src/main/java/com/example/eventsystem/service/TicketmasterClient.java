@@ -0,0 +1,449 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.UpstreamPriority;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Low-level access to the Ticketmaster Discovery API. Fetches a single page and decodes it,
+ * timing the round trip and the JSON decode separately. Every call first takes a permit from
+ * the shared {@link UpstreamRateLimiter}.
+ *
+ * <p>Each endpoint has its own {@link CircuitBreaker}; while it is open, calls fail at once with
+ * {@link UpstreamUnavailableException}. 5xx, 429 and I/O failures are retried with jittered
+ * exponential backoff (never sooner than Retry-After), as long as the retry budget and the
+ * page deadline allow. A page that has not answered within {@code hedge-after-ms} gets a second,
+ * hedged request if a rate-limit permit is free right now; the first success wins.
+ *
+ * <p>The client is non-blocking: {@link #getPageAsync} never parks a thread while waiting for
+ * a permit, a backoff or the network. Cancelling the returned future (or reaching the page
+ * deadline) aborts whatever is still in flight for that page, including a losing hedge.
+ * {@link #getPage} is a blocking wrapper for callers that want one.
+ */
+@Component
+public class TicketmasterClient {
+    private static final TypeReference<Map<String, Object>> PAGE_TYPE = new TypeReference<>() {};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @Autowired
+    private UpstreamRateLimiter rateLimiter;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${api.ticketmaster.resilience.connect-timeout-ms:2000}")
+    private int connectTimeoutMillis;
+
+    @Value("${api.ticketmaster.resilience.read-timeout-ms:10000}")
+    private int readTimeoutMillis;
+
+    @Value("${api.ticketmaster.resilience.page-deadline-ms:15000}")
+    private long pageDeadlineMillis;
+
+    @Value("${api.ticketmaster.resilience.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${api.ticketmaster.resilience.backoff-base-ms:200}")
+    private long backoffBaseMillis;
+
+    @Value("${api.ticketmaster.resilience.backoff-max-ms:5000}")
+    private long backoffMaxMillis;
+
+    @Value("${api.ticketmaster.resilience.retry-budget-ratio:0.2}")
+    private double retryBudgetRatio;
+
+    @Value("${api.ticketmaster.resilience.hedge-after-ms:1500}")
+    private long hedgeAfterMillis;
+
+    @Value("${api.ticketmaster.resilience.breaker.window:20}")
+    private int breakerWindow;
+
+    @Value("${api.ticketmaster.resilience.breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${api.ticketmaster.resilience.breaker.failure-rate:0.5}")
+    private double breakerFailureRate;
+
+    @Value("${api.ticketmaster.resilience.breaker.open-ms:30000}")
+    private long breakerOpenMillis;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    // Completes HTTP exchanges and decodes pages; callers' continuations run here too
+    private final ExecutorService ioPool = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ticketmaster-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Page deadlines, hedge delays and retry backoff; tasks hand their work to ioPool
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "ticketmaster-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private HttpClient httpClient;
+    private double retryTokens;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(ioPool)
+                .build();
+        retryTokens = maxRetryTokens();
+        // Most deadlines are cancelled long before they are due; drop them from the queue at once
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        ioPool.shutdownNow();
+    }
+
+    /**
+     * Fetch and decode one page as an interactive call within the configured page deadline
+     */
+    public Map<String, Object> getPage(String endpoint, String url) {
+        return await(getPageAsync(endpoint, url));
+    }
+
+    /**
+     * Blocking form of {@link #getPageAsync(String, String, UpstreamPriority, long)}
+     */
+    public Map<String, Object> getPage(String endpoint, String url, UpstreamPriority priority, long deadlineNanos) {
+        return await(getPageAsync(endpoint, url, priority, deadlineNanos));
+    }
+
+    /**
+     * Fetch one page as an interactive call within the configured page deadline
+     */
+    public CompletableFuture<Map<String, Object>> getPageAsync(String endpoint, String url) {
+        return getPageAsync(endpoint, url, UpstreamPriority.INTERACTIVE);
+    }
+
+    /**
+     * Fetch one page with the given priority within the configured page deadline
+     */
+    public CompletableFuture<Map<String, Object>> getPageAsync(String endpoint, String url, UpstreamPriority priority) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pageDeadlineMillis);
+        return getPageAsync(endpoint, url, priority, deadline);
+    }
+
+    /**
+     * Fetch and decode one page, retrying transient failures
+     * @param endpoint Metrics tag for the upstream endpoint ("events" or "venues")
+     * @param url Fully built request URL
+     * @param priority Scheduling class for the rate limiter
+     * @param deadlineNanos Latest {@link System#nanoTime()} by which the page is still useful
+     * @return Decoded page (null if the upstream returned an empty body). Fails with
+     *         {@link UpstreamThrottledException} if no permit could be had before the deadline,
+     *         or {@link UpstreamUnavailableException} if the endpoint's circuit is open.
+     */
+    public CompletableFuture<Map<String, Object>> getPageAsync(String endpoint, String url, UpstreamPriority priority, long deadlineNanos) {
+        depositRetryToken();
+        PageFetch fetch = new PageFetch(endpoint, url, priority, deadlineNanos);
+        // Cancelled as soon as the page completes, so finished pages leave no timer task behind
+        ScheduledFuture<?> deadline = schedule(() -> fetch.result.completeExceptionally(
+                new ResourceAccessException("Ticketmaster " + endpoint + " page did not answer before its deadline")),
+                Math.max(0, deadlineNanos - System.nanoTime()));
+        fetch.result.whenComplete((page, error) -> deadline.cancel(false));
+        fetch.attempt(1);
+        return fetch.result;
+    }
+
+    /**
+     * Run {@code task} on the I/O pool after {@code delayNanos}; the timer thread only hands it over
+     */
+    private ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        return timer.schedule(() -> ioPool.execute(task), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * State of one logical page fetch across its attempts and hedges
+     */
+    private final class PageFetch {
+        final String endpoint;
+        final String url;
+        final UpstreamPriority priority;
+        final long deadlineNanos;
+        final CircuitBreaker breaker;
+        final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        // Permits and exchanges still running on behalf of this page; cancelled once it completes
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+        PageFetch(String endpoint, String url, UpstreamPriority priority, long deadlineNanos) {
+            this.endpoint = endpoint;
+            this.url = url;
+            this.priority = priority;
+            this.deadlineNanos = deadlineNanos;
+            this.breaker = breaker(endpoint);
+            result.whenComplete((page, error) -> inFlight.forEach(future -> future.cancel(true)));
+        }
+
+        <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+            inFlight.add(future);
+            future.whenComplete((value, error) -> inFlight.remove(future));
+            if (result.isDone()) future.cancel(true);
+            return future;
+        }
+
+        /**
+         * One logical attempt: breaker check, permit, then the request with an optional hedge
+         */
+        void attempt(int attempt) {
+            if (result.isDone()) return;
+            if (!breaker.tryAcquire()) {
+                metrics.recordCircuitRejected(endpoint);
+                retryOrFail(attempt, new UpstreamUnavailableException("Ticketmaster " + endpoint + " circuit is open"));
+                return;
+            }
+            long permitDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(rateLimiter.getDefaultMaxWaitMillis());
+            track(rateLimiter.acquireAsync(priority, Math.min(deadlineNanos, permitDeadline))).whenComplete((granted, permitError) -> {
+                if (permitError != null || result.isDone()) {
+                    breaker.onIgnored();
+                    if (permitError != null) retryOrFail(attempt, unwrap(permitError));
+                    return;
+                }
+                CompletableFuture<Map<String, Object>> primary = send();
+                CompletableFuture<Map<String, Object>> outcome = hedgeAfterMillis > 0 ? withHedge(primary) : primary;
+                outcome.whenComplete((page, error) -> {
+                    if (error == null) {
+                        result.complete(page);
+                    } else {
+                        retryOrFail(attempt, unwrap(error));
+                    }
+                });
+            });
+        }
+
+        /**
+         * Race a second request against {@code primary} if it is still running after the hedge delay
+         */
+        private CompletableFuture<Map<String, Object>> withHedge(CompletableFuture<Map<String, Object>> primary) {
+            CompletableFuture<Map<String, Object>> first = new CompletableFuture<>();
+            AtomicInteger launched = new AtomicInteger(1);
+            AtomicInteger failures = new AtomicInteger();
+            ScheduledFuture<?> hedge = schedule(() -> {
+                if (primary.isDone() || result.isDone() || !breaker.tryAcquire()) return;
+                if (!rateLimiter.tryAcquire(priority)) {
+                    breaker.onIgnored();
+                    return;
+                }
+                launched.incrementAndGet();
+                metrics.recordHedge(endpoint);
+                send().whenComplete((page, error) -> settle(first, launched, failures, page, error));
+            }, TimeUnit.MILLISECONDS.toNanos(hedgeAfterMillis));
+            primary.whenComplete((page, error) -> {
+                hedge.cancel(false);
+                settle(first, launched, failures, page, error);
+            });
+            return first;
+        }
+
+        private void settle(CompletableFuture<Map<String, Object>> first, AtomicInteger launched, AtomicInteger failures,
+                            Map<String, Object> page, Throwable error) {
+            if (error == null) {
+                first.complete(page);
+            } else if (failures.incrementAndGet() >= launched.get()) {
+                first.completeExceptionally(error);
+            }
+        }
+
+        private void retryOrFail(int attempt, RuntimeException e) {
+            if (result.isDone()) return;
+            if (attempt >= maxAttempts || !isRetryable(e)) {
+                result.completeExceptionally(e);
+                return;
+            }
+            long retryAfter = e instanceof HttpStatusCodeException status ? retryAfterMillis(status.getResponseHeaders()) : 0;
+            long backoff = Math.max(retryAfter, backoffMillis(attempt));
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadlineNanos || !takeRetryToken()) {
+                result.completeExceptionally(e);
+                return;
+            }
+            metrics.recordRetry(endpoint);
+            schedule(() -> attempt(attempt + 1), TimeUnit.MILLISECONDS.toNanos(backoff));
+        }
+
+        /**
+         * Send one request and decode it, reporting the outcome to the breaker
+         */
+        private CompletableFuture<Map<String, Object>> send() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(readTimeoutMillis))
+                    .header(HttpHeaders.ACCEPT, "application/json")
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            return track(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+                    .handle((response, error) -> decode(response, error, start));
+        }
+
+        private Map<String, Object> decode(HttpResponse<byte[]> response, Throwable error, long start) {
+            metrics.recordUpstreamLatency(endpoint, System.nanoTime() - start);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof CancellationException cancelled) {
+                    breaker.onIgnored();
+                    throw cancelled;
+                }
+                metrics.recordUpstreamError(endpoint, "io");
+                breaker.onFailure();
+                throw new ResourceAccessException("I/O error on Ticketmaster " + endpoint + " request: " + cause.getMessage(),
+                        cause instanceof IOException io ? io : new IOException(cause));
+            }
+
+            int status = response.statusCode();
+            if (status >= 400) {
+                metrics.recordUpstreamError(endpoint, String.valueOf(status));
+                HttpHeaders headers = new HttpHeaders();
+                response.headers().map().forEach(headers::addAll);
+                if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    rateLimiter.onThrottled(retryAfterMillis(headers));
+                }
+                if (status >= 500) {
+                    breaker.onFailure();
+                    throw HttpServerErrorException.create(HttpStatusCode.valueOf(status), "", headers, response.body(), StandardCharsets.UTF_8);
+                }
+                breaker.onIgnored();
+                throw HttpClientErrorException.create(HttpStatusCode.valueOf(status), "", headers, response.body(), StandardCharsets.UTF_8);
+            }
+            metrics.recordPageFetched(endpoint);
+            byte[] body = response.body();
+            if (body == null || body.length == 0) {
+                breaker.onSuccess();
+                return null;
+            }
+
+            long decodeStart = System.nanoTime();
+            try {
+                Map<String, Object> page = objectMapper.readValue(body, PAGE_TYPE);
+                breaker.onSuccess();
+                return page;
+            } catch (IOException e) {
+                metrics.recordUpstreamError(endpoint, "decode");
+                breaker.onFailure();
+                throw new UncheckedIOException("Could not decode Ticketmaster " + endpoint + " page", e);
+            } finally {
+                metrics.recordDecode(endpoint, System.nanoTime() - decodeStart);
+            }
+        }
+    }
+
+    private CircuitBreaker breaker(String endpoint) {
+        return breakers.computeIfAbsent(endpoint, e -> {
+            CircuitBreaker breaker = new CircuitBreaker(breakerWindow, breakerMinimumCalls, breakerFailureRate, breakerOpenMillis, clock);
+            metrics.registerCircuitBreaker(e, breaker);
+            return breaker;
+        });
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof HttpStatusCodeException status) {
+            return status.getStatusCode().is5xxServerError() || status.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return e instanceof ResourceAccessException;
+    }
+
+    /**
+     * Full-jitter exponential backoff: uniform in [0, min(max, base * 2^(attempt-1))]
+     */
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    // Retry budget: each page request earns retry-budget-ratio of a token and each retry
+    // spends one, so retries stay a bounded fraction of traffic when upstream is struggling
+    private double maxRetryTokens() {
+        return Math.max(1, 10 * retryBudgetRatio * maxAttempts);
+    }
+
+    private synchronized void depositRetryToken() {
+        retryTokens = Math.min(maxRetryTokens(), retryTokens + retryBudgetRatio);
+    }
+
+    private synchronized boolean takeRetryToken() {
+        if (retryTokens < 1) return false;
+        retryTokens -= 1;
+        return true;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted waiting for Ticketmaster page");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * The failure behind a future's {@link CompletionException}/{@link ExecutionException} wrapping
+     */
+    public static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    /**
+     * Retry-After in milliseconds (delta-seconds form), 0 if absent or unparseable
+     */
+    static long retryAfterMillis(HttpHeaders headers) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null) return 0;
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
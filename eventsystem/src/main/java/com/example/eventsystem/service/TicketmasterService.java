@@ -1,349 +1,787 @@
 package com.example.eventsystem.service;
 
+import com.example.eventsystem.model.EventFilter;
+import com.example.eventsystem.model.EventQuery;
 import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
+import com.example.eventsystem.model.UpstreamPriority;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
 
 @Service
 public class TicketmasterService {
     private static final Logger logger = LoggerFactory.getLogger(TicketmasterService.class);
 
+    // Ticketmaster rejects page * size at or above this, so no query can page further
+    private static final int DEEP_PAGING_LIMIT = 1000;
+    // Events a crawl window is sized for, leaving room for uneven spread within the window
+    private static final int WINDOW_TARGET = 800;
+    private static final Duration MIN_WINDOW = Duration.ofHours(1);
+    // Pages past the requested one that the first crawl of a date-ordered query fetches
+    private static final int LEAD_PAGES = 4;
+    private static final DateTimeFormatter WINDOW_FORMAT = EventQueryNormalizer.UPSTREAM_FORMAT.withZone(ZoneOffset.UTC);
+
     @Value("${api.ticketmaster.key}")
     private String apiKey;
 
     @Value("${api.ticketmaster.base-url}")
     private String baseUrl;
 
+    @Value("${api.ticketmaster.venues-url:https://app.ticketmaster.com/discovery/v2/venues.json}")
+    private String venuesUrl;
+
+    @Autowired
+    private PageTransformer pageTransformer;
+
+    @Autowired
+    private TicketmasterClient ticketmasterClient;
+
+    @Autowired
+    private PipelineMetrics metrics;
+
+    @Autowired
+    private EventSnapshotStore snapshotStore;
+
+    @Autowired
+    private EventQueryNormalizer queryNormalizer;
+
+    @Autowired
+    private EventSearchIndex searchIndex;
+
     @Autowired
-    private ImageProcessingService imageProcessingService;
-
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    // Venue metadata mapping
-    private static final Map<String, String[]> VENUE_METADATA = new HashMap<>();
-    static {
-        VENUE_METADATA.put("Nissan Stadium", new String[]{"Mega Venue (50,000+)", "Sports Venue"});
-        VENUE_METADATA.put("Bridgestone Arena", new String[]{"Major Arena (15,000-25,000)", "Sports Venue"});
-        VENUE_METADATA.put("Grand Ole Opry House", new String[]{"Large Theater (2,000-5,000)", "Country Music Heritage"});
-        VENUE_METADATA.put("Tennessee Performing Arts Center", new String[]{"Large Theater (2,000-5,000)", "Classical/Symphony"});
-        VENUE_METADATA.put("Ryman Auditorium", new String[]{"Medium Theater (1,000-2,500)", "Country Music Heritage"});
-        VENUE_METADATA.put("Schermerhorn Symphony Center", new String[]{"Medium Theater (1,000-2,500)", "Classical/Symphony"});
-        VENUE_METADATA.put("Marathon Music Works", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
-        VENUE_METADATA.put("Cannery Hall", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
-        VENUE_METADATA.put("Brooklyn Bowl", new String[]{"Large Music Venue (1,000-2,000)", "Contemporary Music"});
-        VENUE_METADATA.put("CMA Theater", new String[]{"Medium Music Venue (500-1,000)", "Contemporary Music"});
-        VENUE_METADATA.put("City Winery", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
-        VENUE_METADATA.put("The Country", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
-        VENUE_METADATA.put("Listening Room Cafe", new String[]{"Small Music Venue (100-500)", "Songwriter Venue"});
-        VENUE_METADATA.put("Tin Roof", new String[]{"Small Music Venue (100-500)", "Contemporary Music"});
-        VENUE_METADATA.put("The Bluebird Cafe", new String[]{"Intimate Venue (Under 200)", "Country Music Heritage"});
-        VENUE_METADATA.put("The Cobra", new String[]{"Intimate Venue (Under 200)", "Contemporary Music"});
-        VENUE_METADATA.put("Ascend Amphitheater", new String[]{"Amphitheater", "Outdoor"});
-        VENUE_METADATA.put("Nashville Municipal Auditorium", new String[]{"Multi-Purpose Venue", "Multi-Purpose/Historic"});
-        VENUE_METADATA.put("War Memorial Auditorium", new String[]{"Multi-Purpose Venue", "Multi-Purpose/Historic"});
+    private ApplicationEventPublisher events;
+
+    @Value("${events.snapshot.max-events:3000}")
+    private int snapshotMaxEvents;
+
+    @Value("${events.crawl.max-windows:16}")
+    private int maxWindows;
+
+    @Value("${events.snapshot.ttl-ms:300000}")
+    private long continuationTtlMillis;
+
+    // Last complete crawl per upstream query, served when Ticketmaster is unavailable
+    private final LastGoodCache<List<EventResponse>> lastGoodEvents;
+    private final LastGoodCache<List<Map<String, Object>>> lastGoodVenues;
+    // Crawls cut short by their latency budget, by continuation token
+    private final LastGoodCache<CrawlBudget> continuations;
+    // Background crawls filling snapshots that hold only their leading pages, by query key
+    private final Map<String, CompletableFuture<EventSnapshot>> fills = new ConcurrentHashMap<>();
+    // Latency budget deadlines; cancelled when their crawl completes
+    private final ScheduledThreadPoolExecutor budgetTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "crawl-budget-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TicketmasterService(@Value("${api.ticketmaster.resilience.fallback-entries:32}") int fallbackEntries) {
+        this.lastGoodEvents = new LastGoodCache<>(fallbackEntries);
+        this.lastGoodVenues = new LastGoodCache<>(fallbackEntries);
+        this.continuations = new LastGoodCache<>(fallbackEntries);
+        // Most crawls finish within their budget; drop their deadlines instead of keeping them queued
+        budgetTimer.setRemoveOnCancelPolicy(true);
     }
 
-        public List<EventResponse> fetchEvents(String startDate, String endDate, String keyword, int page, int size, String sortBy, String sortDir, double lat, double lon, int radius, String period) {
-        // If period is provided and startDate/endDate are not, calculate date range
-        if (period != null && (startDate == null || endDate == null)) {
-            LocalDate today = LocalDate.now();
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
-            if (period.equalsIgnoreCase("today")) {
-                LocalDateTime start = today.atStartOfDay();
-                LocalDateTime end = today.atTime(23, 59, 59);
-                startDate = start.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-                endDate = end.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-            } else if (period.equalsIgnoreCase("week")) {
-                LocalDateTime start = today.atStartOfDay();
-                LocalDateTime end = today.plusDays(6).atTime(23, 59, 59);
-                startDate = start.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-                endDate = end.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-            } else if (period.equalsIgnoreCase("month")) {
-                LocalDateTime start = today.atStartOfDay();
-                LocalDate lastDay = today.withDayOfMonth(today.lengthOfMonth());
-                LocalDateTime end = lastDay.atTime(23, 59, 59);
-                startDate = start.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-                endDate = end.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-            }
-        }
-        
-        // If no dates are provided at all, set default date range (next 30 days)
-        if (startDate == null && endDate == null) {
-            LocalDate today = LocalDate.now();
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
-            LocalDateTime start = today.atStartOfDay();
-            LocalDateTime end = today.plusDays(30).atTime(23, 59, 59);
-            startDate = start.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-            endDate = end.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
+    @PreDestroy
+    public void shutdown() {
+        budgetTimer.shutdownNow();
+    }
+
+    public List<EventResponse> fetchEvents(String startDate, String endDate, String keyword, int page, int size, String sortBy, String sortDir, double lat, double lon, int radius, String period) {
+        return fetchEvents(startDate, endDate, keyword, page, size, sortBy, sortDir, lat, lon, radius, period, new FetchSummary());
+    }
+
+    /**
+     * Fetch events, recording page and image counters into the given per-request summary.
+     * Parameters that fail validation yield an empty list.
+     */
+    public List<EventResponse> fetchEvents(String startDate, String endDate, String keyword, int page, int size, String sortBy, String sortDir, double lat, double lon, int radius, String period, FetchSummary summary) {
+        EventQuery query = queryNormalizer.normalize(startDate, endDate, keyword, page, size, sortBy, sortDir, lat, lon, radius, period);
+        if (!query.isValid()) {
+            logger.warn("Invalid events query: {}", query.getErrors());
+            return Collections.emptyList();
         }
-        
-        // Enforce correct date format for startDate and endDate
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
-        startDate = ensureDateTimeFormat(startDate, true, dtf);
-        endDate = ensureDateTimeFormat(endDate, false, dtf);
-
-        // Fetch all events by making multiple API calls if needed
-        List<EventResponse> allEvents = new ArrayList<>();
-        int currentPage = 0;
-        int maxPages = 10; // Limit to prevent infinite loops
-        int pageSize = 200; // Ticketmaster's max per page
-        
-        try {
-            while (currentPage < maxPages) {
-                UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl)
-                    .queryParam("apikey", apiKey)
-                    .queryParam("size", pageSize)
-                    .queryParam("page", currentPage)
-                    .queryParam("latlong", lat + "," + lon)
-                    .queryParam("radius", radius)
-                    .queryParam("unit", "miles");
-                if (startDate != null) builder.queryParam("startDateTime", startDate);
-                if (endDate != null) builder.queryParam("endDateTime", endDate);
-                if (keyword != null) builder.queryParam("keyword", keyword);
-                
-                String url = builder.toUriString();
-                logger.info("Fetching events page {} from Ticketmaster API: {}", currentPage, url);
-                
-                Map response = restTemplate.getForObject(url, Map.class);
-                if (response == null || !response.containsKey("_embedded")) {
-                    break;
-                }
-                
-                Map embedded = (Map) response.get("_embedded");
-                List<Map> rawEvents = (List<Map>) embedded.get("events");
-                if (rawEvents == null || rawEvents.isEmpty()) {
-                    break;
-                }
-                
-                // Process events from this page
-                for (Map event : rawEvents) {
-                    EventResponse er = new EventResponse();
-                    er.setId((String) event.get("id"));
-                    er.setName((String) event.get("name"));
-                    
-                    // Process images using the new ImageProcessingService
-                    processEventImages(er, event);
-                    
-                    Map dates = (Map) event.get("dates");
-                    if (dates != null && dates.containsKey("start")) {
-                        Map start = (Map) dates.get("start");
-                        er.setDate((String) start.get("localDate"));
-                        er.setTime((String) start.get("localTime"));
-                    }
-                    Map venue = null;
-                    Double venueLat = null, venueLon = null;
-                    if (event.containsKey("_embedded")) {
-                        Map embedded2 = (Map) event.get("_embedded");
-                        List<Map> venues = (List<Map>) embedded2.get("venues");
-                        if (venues != null && !venues.isEmpty()) {
-                            venue = venues.get(0);
-                            Map location = (Map) venue.get("location");
-                            if (location != null) {
-                                try {
-                                    venueLat = location.get("latitude") != null ? Double.parseDouble(location.get("latitude").toString()) : null;
-                                    venueLon = location.get("longitude") != null ? Double.parseDouble(location.get("longitude").toString()) : null;
-                                } catch (Exception ignore) {}
-                            }
-                        }
-                    }
-                    if (venue != null) {
-                        String venueName = (String) venue.get("name");
-                        er.setVenue(venueName);
-                        StringBuilder address = new StringBuilder();
-                        Map addr = (Map) venue.get("address");
-                        if (addr != null && addr.get("line1") != null) address.append(addr.get("line1")).append(", ");
-                        Map city = (Map) venue.get("city");
-                        if (city != null && city.get("name") != null) address.append(city.get("name")).append(", ");
-                        Map state = (Map) venue.get("state");
-                        if (state != null && state.get("stateCode") != null) address.append(state.get("stateCode")).append(", ");
-                        if (venue.get("postalCode") != null) address.append(venue.get("postalCode"));
-                        er.setAddress(address.toString());
-                        // Venue tier/type
-                        String[] meta = VENUE_METADATA.getOrDefault(venueName, new String[]{"Other Venue","Other"});
-                        er.setVenueTier(meta[0]);
-                        er.setVenueType(meta[1]);
-                    } else {
-                        er.setVenueTier("Other Venue");
-                        er.setVenueType("Other");
-                    }
-                    // Distance calculation
-                    if (venueLat != null && venueLon != null) {
-                        er.setDistance(haversine(lat, lon, venueLat, venueLon));
-                    } else {
-                        er.setDistance(-1);
-                    }
-                    // Category
-                    List<Map> classifications = (List<Map>) event.get("classifications");
-                    if (classifications != null && !classifications.isEmpty()) {
-                        Map segment = (Map) classifications.get(0).get("segment");
-                        if (segment != null && segment.get("name") != null) {
-                            er.setCategory((String) segment.get("name"));
-                        }
-                    }
-                    // Price
-                    List<Map> priceRanges = (List<Map>) event.get("priceRanges");
-                    if (priceRanges != null && !priceRanges.isEmpty()) {
-                        Map price = priceRanges.get(0);
-                        String currency = (String) price.getOrDefault("currency", "USD");
-                        Object min = price.get("min");
-                        Object max = price.get("max");
-                        er.setPrice(currency + " " + min + (max != null ? (" - " + max) : ""));
-                    } else {
-                        er.setPrice("Price not available");
-                    }
-                    er.setTicketUrl((String) event.get("url"));
-                    Map dates2 = (Map) event.get("dates");
-                    if (dates2 != null && dates2.get("status") != null) {
-                        Map status = (Map) dates2.get("status");
-                        er.setStatus((String) status.get("code"));
-                    }
-                    er.setDescription((String) event.getOrDefault("info", ""));
-                    // Impact score/level calculation
-                    int impactScore = calculateImpactScore(er);
-                    er.setImpactScore(impactScore);
-                    er.setImpactLevel(getImpactLevel(impactScore));
-                    allEvents.add(er);
-                }
-                
-                // Check if we've reached the requested size or if there are no more events
-                if (allEvents.size() >= size || rawEvents.size() < pageSize) {
-                    break;
-                }
-                
-                currentPage++;
+        return fetchEventsAsync(query, summary).join();
+    }
+
+    /**
+     * Non-blocking form of {@link #fetchEvents} for a validated query. No thread is held while
+     * upstream pages are in flight. Cancelling the returned future stops the crawl and cancels
+     * the page being fetched. Upstream failures complete it with an empty list, as
+     * {@link #fetchEvents} does.
+     */
+    public CompletableFuture<List<EventResponse>> fetchEventsAsync(EventQuery query, FetchSummary summary) {
+        int page = query.getPage();
+        int size = query.getSize();
+        CompletableFuture<List<EventResponse>> crawl = new EventCrawl(UpstreamQueryPlanner.combined(query), size, UpstreamPriority.INTERACTIVE, summary, batch -> {}).start();
+        CompletableFuture<List<EventResponse>> result = crawl.handle((allEvents, error) -> {
+            if (error != null) {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof CancellationException) throw cause;
+                logger.error("Error fetching events: {}", cause.getMessage());
+                return Collections.<EventResponse>emptyList();
             }
             
-            logger.info("Total events fetched: {}", allEvents.size());
-            
-            // Sorting
-            Comparator<EventResponse> comparator;
-            switch (sortBy) {
-                case "name":
-                    comparator = Comparator.comparing(EventResponse::getName, Comparator.nullsLast(String::compareToIgnoreCase));
-                    break;
-                case "venue":
-                    comparator = Comparator.comparing(EventResponse::getVenue, Comparator.nullsLast(String::compareToIgnoreCase));
-                    break;
-                case "date":
-                default:
-                    comparator = Comparator.comparing(EventResponse::getDate, Comparator.nullsLast(String::compareTo));
-            }
-            if (sortDir.equalsIgnoreCase("desc")) {
-                comparator = comparator.reversed();
-            }
-            allEvents = allEvents.stream().sorted(comparator).collect(Collectors.toList());
+            // Filtering, then sorting what is left
+            long sortStart = System.nanoTime();
+            allEvents = EventOrdering.filterAndSort(allEvents, query.getFilter(), query.getSortBy(), query.getSortDir());
             
             // Pagination
             int fromIndex = Math.min(page * size, allEvents.size());
             int toIndex = Math.min(fromIndex + size, allEvents.size());
-            return allEvents.subList(fromIndex, toIndex);
-            
-        } catch (Exception e) {
-            logger.error("Error fetching events: {}", e.getMessage());
-            return Collections.emptyList();
+            List<EventResponse> pageOfEvents = allEvents.subList(fromIndex, toIndex);
+            metrics.recordSortPaginate(System.nanoTime() - sortStart);
+            return pageOfEvents;
+        });
+        return cancelling(result, crawl);
+    }
+
+    /**
+     * Crawl, sort and store the full result for a validated query (up to
+     * {@code events.snapshot.max-events} events, or enough to cover its page) so that further
+     * pages are slices of one snapshot. With {@code reuse}, a live snapshot of the same query
+     * and order that covers the requested page is returned without touching upstream; one that
+     * holds only the leading pages of a result still being filled is waited on when the page
+     * lies beyond them. Keyword and narrower date-range queries
+     * are answered from the {@link EventSearchIndex} when it covers them, and only crawled on a
+     * miss. A failed crawl
+     * yields an empty snapshot that is not stored (null id). Stored crawls are announced as an
+     * {@link EventsIngestedEvent}.
+     */
+    public CompletableFuture<EventSnapshot> fetchSnapshotAsync(EventQuery query, boolean reuse, FetchSummary summary) {
+        return fetchSnapshotAsync(query, reuse, UpstreamPriority.INTERACTIVE, summary);
+    }
+
+    /**
+     * {@link #fetchSnapshotAsync(EventQuery, boolean, FetchSummary)} with an explicit upstream
+     * priority, e.g. {@link UpstreamPriority#BACKGROUND} for scheduled syncs
+     */
+    public CompletableFuture<EventSnapshot> fetchSnapshotAsync(EventQuery query, boolean reuse, UpstreamPriority priority, FetchSummary summary) {
+        return fetchSnapshotAsync(query, reuse, priority, summary, 0);
+    }
+
+    /**
+     * {@link #fetchSnapshotAsync(EventQuery, boolean, UpstreamPriority, FetchSummary)} within a
+     * latency budget. When {@code budgetMillis} (0 = none) runs out, pages in flight are
+     * cancelled and the snapshot is built from the pages that arrived. The summary is then
+     * marked partial and given a {@link FetchSummary#getContinuation() continuation} token for
+     * {@link #resumeSnapshotAsync}.
+     */
+    public CompletableFuture<EventSnapshot> fetchSnapshotAsync(EventQuery query, boolean reuse, UpstreamPriority priority, FetchSummary summary,
+                                                               long budgetMillis) {
+        if (reuse) {
+            EventSnapshot cached = snapshotStore.find(query.cacheKey());
+            if (cached != null && (cached.isComplete() || (long) (query.getPage() + 1) * query.getSize() <= cached.getEvents().size())) {
+                metrics.recordCacheHit("snapshot");
+                return CompletableFuture.completedFuture(cached);
+            }
+            metrics.recordCacheMiss("snapshot");
+            if (cached != null) return fill(cached.getPendingQuery());
         }
+        List<EventResponse> local = query.getKeyword() != null ? searchIndex.search(query) : searchIndex.range(query);
+        if (local != null) {
+            long sortStart = System.nanoTime();
+            List<EventResponse> sorted = EventOrdering.filterAndSort(local, query.getFilter(), query.getSortBy(), query.getSortDir());
+            EventSnapshot snapshot = snapshotStore.put(query.cacheKey(), sorted, true);
+            metrics.recordSortPaginate(System.nanoTime() - sortStart);
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        return crawlSnapshot(query, crawlLimit(query, priority), priority, summary, budgetMillis > 0 ? new CrawlBudget(query) : null, budgetMillis);
     }
 
     /**
-     * Process images for an event using the ImageProcessingService
+     * The whole result of a snapshot that may hold only its leading pages; completes at once
+     * when it is already whole
      */
-    private void processEventImages(EventResponse event, Map<String, Object> rawEvent) {
-        try {
-            List<Map<String, Object>> images = (List<Map<String, Object>>) rawEvent.get("images");
-            
-            // Store all images for reference
-            event.setAllImages(images);
-            
-            // Process images to get the best one
-            Map<String, Object> processedImage = imageProcessingService.processEventImages(images, event.getName());
-            
-            if (processedImage != null) {
-                // Set the selected image URL
-                event.setEventImage((String) processedImage.get("url"));
-                event.setImageUrl((String) processedImage.get("url"));
-                
-                // Set image dimensions
-                Object width = processedImage.get("width");
-                Object height = processedImage.get("height");
-                if (width instanceof Integer) event.setImageWidth((Integer) width);
-                if (height instanceof Integer) event.setImageHeight((Integer) height);
-                
-                // Set other image properties
-                event.setImageRatio((String) processedImage.get("ratio"));
-                event.setImageSize((String) processedImage.get("size"));
-                event.setImageQuality((String) processedImage.get("quality"));
-                event.setImageFileSize((String) processedImage.get("fileSize"));
-                
-                // Set numeric values
-                Object aspectRatio = processedImage.get("aspectRatio");
-                Object priority = processedImage.get("priority");
-                if (aspectRatio instanceof Double) event.setImageAspectRatio((Double) aspectRatio);
-                if (priority instanceof Integer) event.setImagePriority((Integer) priority);
-                
-                // Set metadata
-                Map<String, Object> metadata = (Map<String, Object>) processedImage.get("metadata");
-                event.setImageMetadata(metadata);
-                
-                logger.debug("Processed images for event '{}': selected image with quality {}", 
-                    event.getName(), event.getImageQuality());
+    public CompletableFuture<EventSnapshot> completeSnapshotAsync(EventSnapshot snapshot) {
+        return snapshot.isComplete() ? CompletableFuture.completedFuture(snapshot) : fill(snapshot.getPendingQuery());
+    }
+
+    /**
+     * Crawl the whole result of a query whose snapshot holds only its leading pages, at
+     * background priority and once however many requests wait for it. Cancelling the returned
+     * future does not stop the crawl.
+     */
+    private CompletableFuture<EventSnapshot> fill(EventQuery query) {
+        String key = query.cacheKey();
+        EventSnapshot stored = snapshotStore.find(key);
+        if (stored != null && stored.isComplete()) return CompletableFuture.completedFuture(stored);
+        CompletableFuture<EventSnapshot> fill = new CompletableFuture<>();
+        CompletableFuture<EventSnapshot> running = fills.putIfAbsent(key, fill);
+        if (running != null) return running.copy();
+        crawlSnapshot(query, fullLimit(query), UpstreamPriority.BACKGROUND, new FetchSummary(), null, 0).whenComplete((snapshot, error) -> {
+            fills.remove(key, fill);
+            if (error != null) fill.completeExceptionally(error);
+            else fill.complete(snapshot);
+        });
+        return fill.copy();
+    }
+
+    /**
+     * Events a snapshot holds at most: {@code events.snapshot.max-events}, or enough to cover the
+     * page. {@link EventQueryNormalizer} keeps pages within those events, so this is at most one
+     * page more.
+     */
+    private int fullLimit(EventQuery query) {
+        long cover = (long) (query.getPage() + 1) * query.getSize();
+        return (int) Math.max(snapshotMaxEvents, Math.min(cover, (long) snapshotMaxEvents + EventQueryNormalizer.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Events the first crawl of a query fetches. An interactive query in upstream order (date
+     * ascending, unfiltered) fetches only the requested page and {@value #LEAD_PAGES} more, which
+     * are exactly the leading pages of the full result; the rest is filled in the background.
+     * Any other query needs its whole result before it can be sorted.
+     */
+    private int crawlLimit(EventQuery query, UpstreamPriority priority) {
+        int full = fullLimit(query);
+        if (priority != UpstreamPriority.INTERACTIVE || !"date".equals(query.getSortBy()) || !"asc".equals(query.getSortDir())
+                || !query.getFilter().isEmpty()) {
+            return full;
+        }
+        long lead = (long) (query.getPage() + 1 + LEAD_PAGES) * query.getSize();
+        return lead < Math.min(full, DEEP_PAGING_LIMIT) ? (int) lead : full;
+    }
+
+    /**
+     * Query that a continuation token resumes, or null if the token is unknown or has expired
+     */
+    public EventQuery continuationQuery(String token) {
+        CrawlBudget budget = continuations.get(token);
+        return budget == null || System.currentTimeMillis() - budget.getCreatedAtMillis() > continuationTtlMillis ? null : budget.getQuery();
+    }
+
+    /**
+     * Continue a crawl that ran out of budget, with a fresh budget. Parts of the crawl that
+     * finished earlier are not fetched again; interrupted ones resume at the page where they
+     * stopped. The token is used up; a continuation that runs out of budget again hands out a
+     * new one.
+     * @throws NoSuchElementException (in the future) if the token is unknown or has expired
+     */
+    public CompletableFuture<EventSnapshot> resumeSnapshotAsync(String token, long budgetMillis, FetchSummary summary) {
+        CrawlBudget budget = continuations.remove(token);
+        if (budget == null || System.currentTimeMillis() - budget.getCreatedAtMillis() > continuationTtlMillis) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("Unknown or expired continuation"));
+        }
+        return crawlSnapshot(budget.getQuery(), crawlLimit(budget.getQuery(), UpstreamPriority.INTERACTIVE), UpstreamPriority.INTERACTIVE,
+                summary, budget, budgetMillis);
+    }
+
+    /**
+     * Crawl up to {@code limit} events into a snapshot. A crawl below the snapshot's full size
+     * that left events out stores the leading pages it has and starts filling the rest.
+     */
+    private CompletableFuture<EventSnapshot> crawlSnapshot(EventQuery query, int limit, UpstreamPriority priority, FetchSummary summary,
+                                                           CrawlBudget budget, long budgetMillis) {
+        int full = fullLimit(query);
+        if (budget != null) budget.start(budgetMillis, budgetTimer);
+        EventDeduplicator deduplicator = budget != null ? budget.getDeduplicator() : new EventDeduplicator();
+        List<EventQuery> parts = UpstreamQueryPlanner.subQueries(query);
+        CompletableFuture<List<EventResponse>> crawl = parts.size() == 1
+                ? crawlEvents(parts.get(0), limit, priority, summary, false, budget, deduplicator)
+                : crawlSubQueries(parts, limit, priority, summary, budget, deduplicator);
+        if (budget != null) crawl.whenComplete((allEvents, error) -> budget.finish());
+        CompletableFuture<EventSnapshot> result = crawl.handle((allEvents, error) -> {
+            if (error != null) {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof CancellationException) throw cause;
+                logger.error("Error fetching events: {}", cause.getMessage());
+                return new EventSnapshot(null, Collections.emptyList(), 0);
+            }
+            long sortStart = System.nanoTime();
+            List<EventResponse> sorted = EventOrdering.filterAndSort(allEvents, query.getFilter(), query.getSortBy(), query.getSortDir());
+            boolean leading = limit < full && summary.isTruncated() && !summary.isPartial() && !summary.isFallback();
+            EventSnapshot snapshot = leading
+                    ? snapshotStore.put(query.cacheKey(), sorted, true, Math.min(full, summary.getUpstreamTotal()), query)
+                    : snapshotStore.put(query.cacheKey(), sorted, !summary.isPartial() && !summary.isFallback());
+            metrics.recordSortPaginate(System.nanoTime() - sortStart);
+            if (leading) fill(query);
+            if (budget != null && budget.isExpired() && budget.hasUnfinished()) {
+                String token = UUID.randomUUID().toString();
+                continuations.put(token, budget);
+                summary.setContinuation(token);
+            }
+            // Listeners see every crawled event, not only those that passed the request's filters
+            boolean complete = query.getKeyword() == null && query.getFilter().isEmpty() && !summary.isPartial() && !summary.isFallback()
+                    && !summary.isTruncated();
+            events.publishEvent(new EventsIngestedEvent(query.getFilter().isEmpty() ? snapshot.getEvents() : List.copyOf(allEvents), query, complete));
+            return snapshot;
+        });
+        return cancelling(result, crawl);
+    }
+
+    /**
+     * Crawl up to {@code limit} events. Ticketmaster pages through at most
+     * {@value #DEEP_PAGING_LIMIT} results of one query. When more are wanted and the first page
+     * reports more than that in total, the date range is cut into windows sized from the total,
+     * at about {@value #WINDOW_TARGET} events each. The windows are crawled in parallel, each
+     * split again the same way if it is still too large, and merged in date order without
+     * duplicates. When the total exceeds the limit, only the leading part of the range is
+     * planned, so the result holds the earliest events rather than an arbitrary upstream page
+     * set.
+     * @param window Whether this is one window of a split crawl; windows are not kept as
+     *               last-good results, only the merged crawl is
+     * @param budget Latency budget to register with and record progress in, or null
+     * @param deduplicator Repeats filter shared by the whole crawl, windows included
+     */
+    private CompletableFuture<List<EventResponse>> crawlEvents(EventQuery query, int limit, UpstreamPriority priority, FetchSummary summary,
+                                                               boolean window, CrawlBudget budget, EventDeduplicator deduplicator) {
+        CrawlBudget.Progress saved = budget != null ? budget.progress(query.upstreamKey()) : null;
+        if (saved != null && saved.done()) {
+            // Continuation: this part finished in an earlier run
+            if (!saved.split() && saved.events().size() < saved.totalElements()) summary.markTruncated();
+            return saved.split()
+                    ? crawlWindows(query, saved.totalElements(), limit, priority, summary, saved.events(), budget, deduplicator)
+                    : CompletableFuture.completedFuture(new ArrayList<>(saved.events()));
+        }
+        boolean splittable = limit > DEEP_PAGING_LIMIT && query.getStartDateTime() != null && query.getEndDateTime() != null
+                && Duration.between(Instant.parse(query.getStartDateTime()), Instant.parse(query.getEndDateTime())).compareTo(MIN_WINDOW.multipliedBy(2)) >= 0;
+        EventCrawl crawl = new EventCrawl(query, limit, priority, summary, batch -> {}, splittable);
+        crawl.window = window;
+        crawl.budget = budget;
+        crawl.deduplicator = deduplicator;
+        if (saved != null) crawl.resumeFrom(saved);
+        if (budget != null) budget.register(crawl);
+        CompletableFuture<List<EventResponse>> first = crawl.start();
+        CompletableFuture<List<EventResponse>> result = new CompletableFuture<>();
+        first.whenComplete((events, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (!crawl.isSplit()) {
+                result.complete(events);
             } else {
-                logger.warn("No valid images found for event: {}", event.getName());
+                CompletableFuture<List<EventResponse>> windows = crawlWindows(query, crawl.getTotalElements(), limit, priority, summary, events, budget, deduplicator);
+                result.whenComplete((merged, failure) -> {
+                    if (result.isCancelled()) windows.cancel(true);
+                });
+                windows.whenComplete((merged, failure) -> {
+                    if (failure != null) result.completeExceptionally(failure);
+                    else result.complete(merged);
+                });
             }
-        } catch (Exception e) {
-            logger.error("Error processing images for event {}: {}", event.getName(), e.getMessage());
+        });
+        return cancelling(result, first);
+    }
+
+    /**
+     * Crawl the upstream sub-queries of a filtered query in parallel, each up to {@code limit}
+     * events and split into windows as needed. Like windows, a failed sub-query leaves the
+     * result partial rather than failing it. Merged without duplicate ids; beyond the limit, the
+     * earliest events are kept.
+     */
+    private CompletableFuture<List<EventResponse>> crawlSubQueries(List<EventQuery> queries, int limit, UpstreamPriority priority,
+                                                                   FetchSummary summary, CrawlBudget budget, EventDeduplicator deduplicator) {
+        List<CompletableFuture<List<EventResponse>>> parts = new ArrayList<>(queries.size());
+        for (EventQuery part : queries) {
+            parts.add(crawlEvents(part, limit, priority, summary, false, budget, deduplicator).exceptionally(error -> {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof CancellationException) throw cause;
+                logger.warn("Events sub-query {} failed, serving the others: {}", part, cause.getMessage());
+                summary.markPartial();
+                return Collections.emptyList();
+            }));
         }
+        CompletableFuture<List<EventResponse>> merged = CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(done -> {
+            Set<String> seen = new HashSet<>();
+            List<EventResponse> events = new ArrayList<>();
+            for (CompletableFuture<List<EventResponse>> part : parts) {
+                addNew(part.join(), seen, events, Integer.MAX_VALUE);
+            }
+            if (events.size() > limit) {
+                summary.markTruncated();
+                events.sort(eventOrder("date", "asc"));
+                return new ArrayList<>(events.subList(0, limit));
+            }
+            return events;
+        });
+        merged.whenComplete((events, error) -> {
+            if (merged.isCancelled()) parts.forEach(part -> part.cancel(true));
+        });
+        return merged;
     }
 
-    // Helper to ensure date string is in the correct format
-    private String ensureDateTimeFormat(String dateStr, boolean isStart, DateTimeFormatter dtf) {
-        if (dateStr == null) return null;
-        try {
-            // If already in correct format, return as is
-            LocalDateTime.parse(dateStr, dtf);
-            return dateStr;
-        } catch (DateTimeParseException e) {
-            // Try parsing as yyyy-MM-dd
-            try {
-                LocalDate d = LocalDate.parse(dateStr);
-                LocalDateTime dt = isStart ? d.atStartOfDay() : d.atTime(23, 59, 59);
-                return dt.atZone(ZoneOffset.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(dtf);
-            } catch (DateTimeParseException ex) {
-                // Invalid format, return as is
-                return dateStr;
+    private CompletableFuture<List<EventResponse>> crawlWindows(EventQuery query, int totalElements, int limit, UpstreamPriority priority,
+                                                                FetchSummary summary, List<EventResponse> firstPage, CrawlBudget budget,
+                                                                EventDeduplicator deduplicator) {
+        Instant start = Instant.parse(query.getStartDateTime());
+        Instant end = Instant.parse(query.getEndDateTime());
+        // Assume events are spread evenly: cover as much of the range as should hold the limit
+        double covered = Math.min(1.0, (double) limit / totalElements);
+        long coveredSeconds = (long) Math.ceil(Duration.between(start, end).getSeconds() * covered);
+        int windows = Math.max(2, Math.min(maxWindows, (Math.min(totalElements, limit) + WINDOW_TARGET - 1) / WINDOW_TARGET));
+        long windowSeconds = Math.max(MIN_WINDOW.getSeconds(), (coveredSeconds + windows - 1) / windows);
+        Instant coveredEnd = covered < 1.0 ? start.plusSeconds(coveredSeconds) : end;
+        if (covered < 1.0) summary.markTruncated();
+        logger.debug("Splitting {} ({} events upstream) into windows of {}s", query, totalElements, windowSeconds);
+
+        List<CompletableFuture<List<EventResponse>>> parts = new ArrayList<>();
+        for (Instant from = start; from.isBefore(coveredEnd); from = from.plusSeconds(windowSeconds)) {
+            // Windows end one second before the next begins; the range end stays inclusive
+            Instant to = from.plusSeconds(windowSeconds - 1);
+            if (to.isAfter(end)) to = end;
+            EventQuery window = query.withWindow(WINDOW_FORMAT.format(from), WINDOW_FORMAT.format(to));
+            parts.add(crawlEvents(window, limit, priority, summary, true, budget, deduplicator).exceptionally(error -> {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof CancellationException) throw cause;
+                logger.warn("Events window {} failed, serving the other windows: {}", window, cause.getMessage());
+                summary.markPartial();
+                return Collections.emptyList();
+            }));
+        }
+        CompletableFuture<List<EventResponse>> merged = CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(done -> {
+            Set<String> seen = new HashSet<>();
+            List<EventResponse> events = new ArrayList<>();
+            boolean all = true;
+            for (CompletableFuture<List<EventResponse>> part : parts) {
+                all &= addNew(part.join(), seen, events, limit);
             }
+            // The probe page last: it holds nothing new unless upstream left events out of every window
+            all &= addNew(firstPage, seen, events, limit);
+            if (!all) summary.markTruncated();
+            if (!summary.isPartial() && !summary.isFallback()) {
+                lastGoodEvents.put(query.upstreamKey(), List.copyOf(events));
+            }
+            return events;
+        });
+        merged.whenComplete((events, error) -> {
+            if (merged.isCancelled()) parts.forEach(part -> part.cancel(true));
+        });
+        return merged;
+    }
+
+    /**
+     * Append the events whose ids were not seen yet, up to {@code limit} in all
+     * @return False if a new event was left out for lack of room
+     */
+    private static boolean addNew(List<EventResponse> from, Set<String> seen, List<EventResponse> into, int limit) {
+        for (EventResponse event : from) {
+            if (event.getId() != null && seen.contains(event.getId())) continue;
+            if (into.size() >= limit) return false;
+            if (event.getId() != null) seen.add(event.getId());
+            into.add(event);
+        }
+        return true;
+    }
+
+    /**
+     * Streaming variant of {@link #fetchEventsAsync}: each upstream page is handed to {@code batchSink}
+     * as soon as it is transformed, in upstream order, up to the query's {@code size} events. Ordering by
+     * {@code sortBy}/{@code sortDir} is left to the client. Exceptions from the sink (e.g. the
+     * client went away) stop the crawl and fail the returned future.
+     * @return All events streamed, in the order they were sent
+     */
+    public CompletableFuture<List<EventResponse>> streamEvents(EventQuery query, FetchSummary summary, Consumer<List<EventResponse>> batchSink) {
+        int size = query.getSize();
+        EventFilter filter = query.getFilter();
+        List<EventResponse> streamed = new ArrayList<>();
+        EventCrawl[] walk = new EventCrawl[1];
+        // A filtered stream cannot tell from the upstream count when it has enough, so it pages
+        // until enough events pass and then stops the crawl
+        walk[0] = new EventCrawl(UpstreamQueryPlanner.combined(query), filter.isEmpty() ? size : Integer.MAX_VALUE, UpstreamPriority.INTERACTIVE, summary, batch -> {
+            int room = size - streamed.size();
+            if (room <= 0) return;
+            List<EventResponse> part = new ArrayList<>(Math.min(batch.size(), room));
+            for (EventResponse event : batch) {
+                if (part.size() == room) break;
+                if (filter.matches(event)) part.add(event);
+            }
+            streamed.addAll(part);
+            if (!part.isEmpty()) batchSink.accept(part);
+            if (streamed.size() >= size) walk[0].stopSatisfied();
+        });
+        CompletableFuture<List<EventResponse>> crawl = walk[0].start();
+        return cancelling(crawl.thenApply(crawled -> streamed), crawl);
+    }
+
+    /**
+     * Cancelling {@code derived} also cancels {@code source}; plain CompletableFuture
+     * composition does not propagate cancellation upstream
+     */
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<T> derived, CompletableFuture<?> source) {
+        derived.whenComplete((value, error) -> {
+            if (derived.isCancelled()) source.cancel(true);
+        });
+        return derived;
+    }
+
+    /**
+     * Comparator for the {@code sortBy}/{@code sortDir} request parameters
+     */
+    public static Comparator<EventResponse> eventOrder(String sortBy, String sortDir) {
+        // Relevance is the order the events came in: local ranking, or upstream's own
+        if ("relevance".equals(sortBy)) return (a, b) -> 0;
+        if (EventOrdering.isNumeric(sortBy)) return EventOrdering.comparator(sortBy, sortDir.equalsIgnoreCase("desc"));
+        Comparator<EventResponse> comparator;
+        switch (sortBy) {
+            case "name":
+                comparator = Comparator.comparing(EventResponse::getName, Comparator.nullsLast(String::compareToIgnoreCase));
+                break;
+            case "venue":
+                comparator = Comparator.comparing(EventResponse::getVenue, Comparator.nullsLast(String::compareToIgnoreCase));
+                break;
+            case "date":
+            default:
+                comparator = Comparator.comparing(EventResponse::getDate, Comparator.nullsLast(String::compareTo));
         }
+        if (sortDir.equalsIgnoreCase("desc")) {
+            comparator = comparator.reversed();
+        }
+        return comparator;
     }
 
-    // Haversine formula for distance in miles
-    private double haversine(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 3959; // Radius of the earth in miles
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return Math.round(R * c * 10.0) / 10.0; // round to 1 decimal
+    /**
+     * Walks upstream pages until {@code size} events are collected or the results run out,
+     * handing each transformed page to {@code batchSink}. Pages are transformed on the
+     * {@link PageTransformer} pool while the next page is fetched, and are appended and handed
+     * on in page order. A failure on a later page keeps the earlier pages; a failure on the first
+     * page falls back to the last complete crawl.
+     */
+    private final class EventCrawl extends PagedCrawl<List<EventResponse>> {
+        private static final int PAGE_SIZE = 200; // Ticketmaster's max per page
+        private static final int MAX_PAGES = DEEP_PAGING_LIMIT / PAGE_SIZE;
+
+        private final EventQuery query;
+        private final int size;
+        private final FetchSummary summary;
+        private final Consumer<List<EventResponse>> batchSink;
+        // Venue distances from this crawl's origin, shared by its pages
+        private final EventTransformer.Origin origin;
+        private final List<EventResponse> allEvents = new ArrayList<>();
+        // Completes once every page so far has been transformed, appended and handed on
+        private CompletableFuture<Void> transformed = CompletableFuture.completedFuture(null);
+        private final boolean splittable;
+        private int fetched;
+        private int totalElements;
+        private boolean split;
+        private boolean complete = true;
+        private boolean fromFallback;
+        private volatile boolean satisfied;
+        boolean window;
+        CrawlBudget budget;
+        // Shared by all windows of a split crawl; a standalone crawl has its own
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        EventCrawl(EventQuery query, int size, UpstreamPriority priority, FetchSummary summary, Consumer<List<EventResponse>> batchSink) {
+            this(query, size, priority, summary, batchSink, false);
+        }
+
+        /**
+         * @param splittable Stop after the first page when it shows that the query holds more
+         *                   events than can be paged through, leaving the split to the caller
+         */
+        EventCrawl(EventQuery query, int size, UpstreamPriority priority, FetchSummary summary, Consumer<List<EventResponse>> batchSink,
+                   boolean splittable) {
+            super(ticketmasterClient, PipelineMetrics.EVENTS_ENDPOINT, priority);
+            this.query = query;
+            this.size = size;
+            this.summary = summary;
+            this.batchSink = batchSink;
+            this.splittable = splittable;
+            this.origin = new EventTransformer.Origin(query.getLat(), query.getLon());
+        }
+
+        /** Continue where an interrupted crawl of the same query stopped */
+        void resumeFrom(CrawlBudget.Progress saved) {
+            currentPage = saved.nextPage();
+            allEvents.addAll(saved.events());
+            fetched = saved.events().size();
+            totalElements = saved.totalElements();
+        }
+
+        /** Stop because the caller has all it needs; unlike a budget stop, the result is not partial */
+        void stopSatisfied() {
+            satisfied = true;
+            stop();
+        }
+
+        /** Whether the crawl stopped after its first page so the query can be split */
+        boolean isSplit() { return split; }
+
+        /** Upstream's {@code page.totalElements} from the first page */
+        int getTotalElements() { return totalElements; }
+
+        @Override
+        String pageUrl(int page) {
+            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("apikey", apiKey)
+                .queryParam("size", PAGE_SIZE)
+                .queryParam("page", page)
+                .queryParam("latlong", query.getLat() + "," + query.getLon())
+                .queryParam("radius", query.getRadius())
+                .queryParam("unit", "miles");
+            if (query.getStartDateTime() != null) builder.queryParam("startDateTime", query.getStartDateTime());
+            if (query.getEndDateTime() != null) builder.queryParam("endDateTime", query.getEndDateTime());
+            if (query.getKeyword() != null) builder.queryParam("keyword", query.getKeyword());
+            if (query.getSegmentId() != null) builder.queryParam("segmentId", query.getSegmentId());
+            if (query.getClassificationName() != null) builder.queryParam("classificationName", query.getClassificationName());
+            // Date order makes any leading pages of the crawl the leading pages of a date-sorted result;
+            // relevance keeps upstream's own order
+            if (!"relevance".equals(query.getSortBy())) builder.queryParam("sort", "date,asc");
+            return builder.toUriString();
+        }
+
+        @Override
+        boolean onPage(Map<String, Object> response) {
+            if (response == null || !response.containsKey("_embedded")) {
+                return false;
+            }
+            
+            Map embedded = (Map) response.get("_embedded");
+            List<Map> rawEvents = (List<Map>) embedded.get("events");
+            if (rawEvents == null || rawEvents.isEmpty()) {
+                return false;
+            }
+            summary.recordPage(rawEvents.size());
+            if (summary.isSampled()) {
+                logger.debug("Request #{} - events page {} returned {} events", summary.getRequestId(), currentPage, rawEvents.size());
+            }
+            
+            if (currentPage == 0) {
+                Map pageInfo = (Map) response.get("page");
+                totalElements = pageInfo != null && pageInfo.get("totalElements") instanceof Number total ? total.intValue() : rawEvents.size();
+                summary.recordUpstreamTotal(totalElements);
+                // The windows fetch these events again, so they are left out of the repeats filter
+                split = splittable && totalElements > DEEP_PAGING_LIMIT;
+            }
+
+            // Drop repeats before they cost image processing and scoring
+            List<Map> fresh = split ? rawEvents : deduplicator.filter(rawEvents);
+            if (fresh.size() < rawEvents.size()) {
+                summary.recordDuplicates(rawEvents.size() - fresh.size());
+                metrics.recordDuplicatesRemoved(rawEvents.size() - fresh.size());
+            }
+
+            // Transform this page in the background; the next page is fetched meanwhile
+            CompletableFuture<List<EventResponse>> batch = pageTransformer.transformAsync(fresh, origin, summary);
+            transformed = transformed.thenCombine(batch, (done, events) -> {
+                allEvents.addAll(events);
+                batchSink.accept(events);
+                return null;
+            });
+            fetched += fresh.size();
+            if (split) return false;
+
+            // Stop on a failed transform or sink (e.g. the client went away), at the requested size,
+            // or when there are no more events
+            boolean more = rawEvents.size() >= PAGE_SIZE && (currentPage + 1) * PAGE_SIZE < totalElements;
+            if (more && (fetched >= size || currentPage + 1 >= MAX_PAGES)) summary.markTruncated();
+            return !transformed.isCompletedExceptionally()
+                    && fetched < size && rawEvents.size() >= PAGE_SIZE && currentPage + 1 < MAX_PAGES;
+        }
+
+        @Override
+        boolean onPageFailed(RuntimeException e) {
+            complete = false;
+            if (currentPage > 0) {
+                // Keep what the earlier pages returned rather than failing the whole crawl
+                logger.warn("Events page {} failed, serving {} events from earlier pages: {}", currentPage, fetched, e.getMessage());
+                summary.markPartial();
+                return false;
+            }
+            List<EventResponse> cached = lastGoodEvents.get(query.upstreamKey());
+            if (cached == null) {
+                metrics.recordCacheMiss("fallback");
+                throw e;
+            }
+            metrics.recordCacheHit("fallback");
+            logger.warn("Ticketmaster unavailable, serving last good result: {}", e.getMessage());
+            summary.markFallback();
+            fromFallback = true;
+            transformed = transformed.thenRun(() -> {
+                allEvents.addAll(cached);
+                batchSink.accept(cached);
+            });
+            return false;
+        }
+
+        @Override
+        List<EventResponse> finish() {
+            if (isCutShort() && !satisfied) {
+                complete = false;
+                summary.markPartial();
+            }
+            if (budget != null) {
+                // Fallback events are not upstream progress; a continuation starts over
+                List<EventResponse> progress = fromFallback ? List.of() : List.copyOf(allEvents);
+                budget.record(query.upstreamKey(), new CrawlBudget.Progress(progress, fromFallback ? 0 : currentPage, totalElements, split, complete));
+            }
+            if (complete && !split && !window && !satisfied) {
+                lastGoodEvents.put(query.upstreamKey(), List.copyOf(allEvents));
+            }
+            metrics.recordEventsPerRequest(allEvents.size());
+            return allEvents;
+        }
+
+        @Override
+        CompletableFuture<List<EventResponse>> finishAsync() {
+            return transformed.thenApply(done -> finish());
+        }
     }
 
+    /**
+     * Venue ordering: upcoming events count (descending), then completeness score (descending),
+     * then distance from the search origin (ascending)
+     */
+    public static final Comparator<Map<String, Object>> VENUE_ORDER = (v1, v2) -> {
+        // First, compare by upcoming events count (descending)
+        int upcoming1 = getUpcomingEventsCount(v1.get("upcoming_events_count"));
+        int upcoming2 = getUpcomingEventsCount(v2.get("upcoming_events_count"));
+        
+        if (upcoming1 != upcoming2) {
+            return Integer.compare(upcoming2, upcoming1); // Descending - more events first
+        }
+        
+        // If upcoming events are equal, sort by completeness score (descending)
+        int score1 = 0;
+        int score2 = 0;
+        if (v1.get("capacity") != null) score1++;
+        if (v1.get("image_url") != null) score1++;
+        if (v1.get("address") != null && !v1.get("address").toString().isBlank()) score1++;
+        if (v1.get("contact_phone") != null) score1++;
+        if (v1.get("box_office_hours") != null) score1++;
+        if (v1.get("parking_info") != null) score1++;
+        if (v1.get("accessibility_info") != null) score1++;
+        if (v1.get("general_rules") != null) score1++;
+
+        if (v2.get("capacity") != null) score2++;
+        if (v2.get("image_url") != null) score2++;
+        if (v2.get("address") != null && !v2.get("address").toString().isBlank()) score2++;
+        if (v2.get("contact_phone") != null) score2++;
+        if (v2.get("box_office_hours") != null) score2++;
+        if (v2.get("parking_info") != null) score2++;
+        if (v2.get("accessibility_info") != null) score2++;
+        if (v2.get("general_rules") != null) score2++;
+
+        if (score1 != score2) {
+            return Integer.compare(score2, score1); // Descending
+        }
+        
+        // If scores are equal, sort by distance (ascending)
+        double d1 = v1.get("distance_from_search") instanceof Number ? ((Number)v1.get("distance_from_search")).doubleValue() : Double.MAX_VALUE;
+        double d2 = v2.get("distance_from_search") instanceof Number ? ((Number)v2.get("distance_from_search")).doubleValue() : Double.MAX_VALUE;
+        return Double.compare(d1, d2);
+    };
+
     /**
      * Helper method to extract upcoming events count from the venue data
      */
-    private int getUpcomingEventsCount(Object upcoming) {
+    private static int getUpcomingEventsCount(Object upcoming) {
         if (upcoming instanceof Map) {
             Map upcomingMap = (Map) upcoming;
             Object total = upcomingMap.get("_total");
@@ -357,54 +795,6 @@ public class TicketmasterService {
         return 0;
     }
 
-    // Simple impact score calculation
-    private int calculateImpactScore(EventResponse er) {
-        int score = 0;
-        // Venue tier
-        if (er.getVenueTier() != null) {
-            if (er.getVenueTier().contains("Mega Venue")) score += 40;
-            else if (er.getVenueTier().contains("Major Arena")) score += 30;
-            else if (er.getVenueTier().contains("Large")) score += 20;
-            else if (er.getVenueTier().contains("Medium")) score += 15;
-            else if (er.getVenueTier().contains("Small")) score += 10;
-            else if (er.getVenueTier().contains("Intimate")) score += 5;
-        }
-        // Category
-        if (er.getCategory() != null) {
-            if (er.getCategory().equalsIgnoreCase("Music")) score += 15;
-            else if (er.getCategory().equalsIgnoreCase("Sports")) score += 12;
-            else if (er.getCategory().equalsIgnoreCase("Arts & Theatre")) score += 10;
-        }
-        // Date proximity (today = highest)
-        if (er.getDate() != null) {
-            try {
-                LocalDate eventDate = LocalDate.parse(er.getDate());
-                LocalDate today = LocalDate.now();
-                long days = Math.abs(today.until(eventDate).getDays());
-                if (days == 0) score += 15;
-                else if (days <= 2) score += 10;
-                else if (days <= 7) score += 5;
-            } catch (Exception ignore) {}
-        }
-        // Price (higher price = higher impact)
-        if (er.getPrice() != null && er.getPrice().matches(".*\\d+.*")) {
-            try {
-                String[] parts = er.getPrice().split(" ");
-                double price = Double.parseDouble(parts[1]);
-                if (price > 100) score += 10;
-                else if (price > 50) score += 5;
-            } catch (Exception ignore) {}
-        }
-        return score;
-    }
-
-    private String getImpactLevel(int score) {
-        if (score >= 60) return "Critical";
-        if (score >= 40) return "High";
-        if (score >= 25) return "Medium";
-        return "Low";
-    }
-
     /**
      * Fetch venues from Ticketmaster API based on coordinates, radius, and unit.
      * @param lat Latitude in decimal degrees
@@ -415,227 +805,254 @@ public class TicketmasterService {
      * @return List of venue maps with required fields
      */
     public List<Map<String, Object>> fetchVenues(double lat, double lon, int radius, String unit, int size) {
-        List<Map<String, Object>> allVenues = new ArrayList<>();
-        int currentPage = 0;
-        int pageSize = Math.min(size, 200); // Ticketmaster max per page
-        boolean morePages = true;
-        String venuesUrl = "https://app.ticketmaster.com/discovery/v2/venues.json";
-
-        try {
-            while (morePages) {
-                UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(venuesUrl)
-                    .queryParam("apikey", apiKey)
-                    .queryParam("latlong", lat + "," + lon)
-                    .queryParam("radius", radius)
-                    .queryParam("unit", unit)
-                    .queryParam("size", pageSize)
-                    .queryParam("page", currentPage);
-
-                String url = builder.toUriString();
-                logger.info("Fetching venues page {} from Ticketmaster API: {}", currentPage, url);
-
-                Map response = restTemplate.getForObject(url, Map.class);
-                if (response == null || !response.containsKey("_embedded")) {
-                    break;
-                }
-                Map embedded = (Map) response.get("_embedded");
-                List<Map> venues = (List<Map>) embedded.get("venues");
-                if (venues == null || venues.isEmpty()) {
+        return fetchVenuesAsync(lat, lon, radius, unit, size).join();
+    }
+
+    /**
+     * Non-blocking form of {@link #fetchVenues}. Cancelling the returned future stops the crawl.
+     */
+    public CompletableFuture<List<Map<String, Object>>> fetchVenuesAsync(double lat, double lon, int radius, String unit, int size) {
+        CompletableFuture<List<Map<String, Object>>> crawl = new VenueCrawl(lat, lon, radius, unit, size).start();
+        CompletableFuture<List<Map<String, Object>>> result = crawl.handle((allVenues, error) -> {
+            if (error != null) {
+                RuntimeException cause = TicketmasterClient.unwrap(error);
+                if (cause instanceof CancellationException) throw cause;
+                logger.error("Error fetching venues from Ticketmaster API: {}", cause.getMessage());
+                return Collections.<Map<String, Object>>emptyList();
+            }
+            allVenues.sort(VENUE_ORDER);
+            // Return only up to the requested size
+            return allVenues.size() > size ? allVenues.subList(0, size) : allVenues;
+        });
+        return cancelling(result, crawl);
+    }
+
+    /**
+     * Walks venue pages until {@code size} venues are collected or the last page is reached.
+     * Failures keep the venues fetched so far, or fall back to the last complete result when
+     * nothing was fetched.
+     */
+    private final class VenueCrawl extends PagedCrawl<List<Map<String, Object>>> {
+        private final double lat;
+        private final double lon;
+        private final int radius;
+        private final String unit;
+        private final int size;
+        private final int pageSize;
+        private final List<Map<String, Object>> allVenues = new ArrayList<>();
+        private boolean complete = true;
+
+        VenueCrawl(double lat, double lon, int radius, String unit, int size) {
+            super(ticketmasterClient, PipelineMetrics.VENUES_ENDPOINT);
+            this.lat = lat;
+            this.lon = lon;
+            this.radius = radius;
+            this.unit = unit;
+            this.size = size;
+            this.pageSize = Math.min(size, 200); // Ticketmaster max per page
+        }
+
+        private String fallbackKey() {
+            return lat + "," + lon + "|" + radius + "|" + unit + "|" + size;
+        }
+
+        @Override
+        String pageUrl(int page) {
+            logger.debug("Fetching venues page {} from Ticketmaster API", page);
+            return UriComponentsBuilder.fromHttpUrl(venuesUrl)
+                .queryParam("apikey", apiKey)
+                .queryParam("latlong", lat + "," + lon)
+                .queryParam("radius", radius)
+                .queryParam("unit", unit)
+                .queryParam("size", pageSize)
+                .queryParam("page", page)
+                .toUriString();
+        }
+
+        @Override
+        boolean onPage(Map<String, Object> response) {
+            if (response == null || !response.containsKey("_embedded")) {
+                return false;
+            }
+            Map embedded = (Map) response.get("_embedded");
+            List<Map> venues = (List<Map>) embedded.get("venues");
+            if (venues == null || venues.isEmpty()) {
+                return false;
+            }
+            for (Map venue : venues) {
+                allVenues.add(toVenueMap(venue, lat, lon));
+            }
+
+            // Pagination
+            Map pageInfo = (Map) response.get("page");
+            int totalPages = (pageInfo != null && pageInfo.get("totalPages") != null) ? ((Number) pageInfo.get("totalPages")).intValue() : 1;
+            // Only stop if we've collected enough venues or reached the last page
+            return currentPage + 1 < totalPages && allVenues.size() < size;
+        }
+
+        @Override
+        boolean onPageFailed(RuntimeException e) {
+            complete = false;
+            List<Map<String, Object>> cached = allVenues.isEmpty() ? lastGoodVenues.get(fallbackKey()) : null;
+            if (cached != null) {
+                metrics.recordCacheHit("fallback");
+                logger.warn("Ticketmaster unavailable, serving last good venues: {}", e.getMessage());
+                allVenues.addAll(cached);
+            } else {
+                if (allVenues.isEmpty()) metrics.recordCacheMiss("fallback");
+                logger.error("Error fetching venues from Ticketmaster API: {}", e.getMessage());
+            }
+            return false;
+        }
+
+        @Override
+        List<Map<String, Object>> finish() {
+            if (complete) {
+                lastGoodVenues.put(fallbackKey(), List.copyOf(allVenues));
+            }
+            return allVenues;
+        }
+    }
+
+    /**
+     * Map one Discovery API venue to the /api/venues shape, with distance from the search origin
+     */
+    private Map<String, Object> toVenueMap(Map venue, double lat, double lon) {
+        Map<String, Object> venueMap = new HashMap<>();
+        venueMap.put("id", venue.get("id"));
+        venueMap.put("name", venue.get("name"));
+        venueMap.put("url", venue.get("url")); // Website URL
+
+        // Images - get the best image
+        List<Map> images = (List<Map>) venue.get("images");
+        if (images != null && !images.isEmpty()) {
+            // Find the best image (prefer 16:9 ratio, then 4:3, then any)
+            Map bestImage = null;
+            for (Map img : images) {
+                String ratio = (String) img.get("ratio");
+                if ("16_9".equals(ratio)) {
+                    bestImage = img;
                     break;
+                } else if ("4_3".equals(ratio) && bestImage == null) {
+                    bestImage = img;
+                } else if (bestImage == null) {
+                    bestImage = img;
                 }
+            }
+            if (bestImage != null) {
+                venueMap.put("image_url", bestImage.get("url"));
+                venueMap.put("image_width", bestImage.get("width"));
+                venueMap.put("image_height", bestImage.get("height"));
+                venueMap.put("image_ratio", bestImage.get("ratio"));
+            }
+        }
 
-                for (Map venue : venues) {
-                    Map<String, Object> venueMap = new HashMap<>();
-                    venueMap.put("id", venue.get("id"));
-                    venueMap.put("name", venue.get("name"));
-                    venueMap.put("url", venue.get("url")); // Website URL
-
-                    // Images - get the best image
-                    List<Map> images = (List<Map>) venue.get("images");
-                    if (images != null && !images.isEmpty()) {
-                        // Find the best image (prefer 16:9 ratio, then 4:3, then any)
-                        Map bestImage = null;
-                        for (Map img : images) {
-                            String ratio = (String) img.get("ratio");
-                            if ("16_9".equals(ratio)) {
-                                bestImage = img;
-                                break;
-                            } else if ("4_3".equals(ratio) && bestImage == null) {
-                                bestImage = img;
-                            } else if (bestImage == null) {
-                                bestImage = img;
-                            }
-                        }
-                        if (bestImage != null) {
-                            venueMap.put("image_url", bestImage.get("url"));
-                            venueMap.put("image_width", bestImage.get("width"));
-                            venueMap.put("image_height", bestImage.get("height"));
-                            venueMap.put("image_ratio", bestImage.get("ratio"));
-                        }
-                    }
-
-                    // Address
-                    StringBuilder address = new StringBuilder();
-                    Map addr = (Map) venue.get("address");
-                    if (addr != null && addr.get("line1") != null) address.append(addr.get("line1")).append(", ");
-                    Map city = (Map) venue.get("city");
-                    if (city != null && city.get("name") != null) address.append(city.get("name")).append(", ");
-                    Map state = (Map) venue.get("state");
-                    if (state != null && state.get("stateCode") != null) address.append(state.get("stateCode")).append(", ");
-                    if (venue.get("postalCode") != null) address.append(venue.get("postalCode"));
-                    venueMap.put("address", address.toString());
-
-                    // Coordinates
-                    Map location = (Map) venue.get("location");
-                    Double venueLat = null, venueLon = null;
-                    if (location != null) {
-                        try {
-                            venueLat = location.get("latitude") != null ? Double.parseDouble(location.get("latitude").toString()) : null;
-                            venueLon = location.get("longitude") != null ? Double.parseDouble(location.get("longitude").toString()) : null;
-                        } catch (Exception ignore) {}
-                    }
-                    venueMap.put("latitude", venueLat);
-                    venueMap.put("longitude", venueLon);
-                    venueMap.put("coordinates", (venueLat != null && venueLon != null) ? (venueLat + "," + venueLon) : "");
-
-                    // Distance calculation
-                    if (venueLat != null && venueLon != null) {
-                        venueMap.put("distance_from_search", haversine(lat, lon, venueLat, venueLon));
-                    } else {
-                        venueMap.put("distance_from_search", null);
-                    }
-
-                    // Box Office Info
-                    Map boxOffice = (Map) venue.get("boxOfficeInfo");
-                    if (boxOffice != null) {
-                        venueMap.put("contact_phone", boxOffice.get("phoneNumberDetail"));
-                        venueMap.put("box_office_hours", boxOffice.get("openHoursDetail"));
-                        venueMap.put("accepted_payment", boxOffice.get("acceptedPaymentDetail"));
-                        venueMap.put("will_call_info", boxOffice.get("willCallDetail"));
-                    } else {
-                        venueMap.put("contact_phone", null);
-                        venueMap.put("box_office_hours", null);
-                        venueMap.put("accepted_payment", null);
-                        venueMap.put("will_call_info", null);
-                    }
-
-                    // Parking and Accessibility
-                    venueMap.put("parking_info", venue.get("parkingDetail"));
-                    venueMap.put("accessibility_info", venue.get("accessibleSeatingDetail"));
-
-                    // General Info
-                    Map generalInfo = (Map) venue.get("generalInfo");
-                    if (generalInfo != null) {
-                        venueMap.put("general_rules", generalInfo.get("generalRule"));
-                        venueMap.put("child_policy", generalInfo.get("childRule"));
-                    } else {
-                        venueMap.put("general_rules", null);
-                        venueMap.put("child_policy", null);
-                    }
-
-                    // Social Media
-                    Map social = (Map) venue.get("social");
-                    if (social != null) {
-                        Map twitter = (Map) social.get("twitter");
-                        if (twitter != null) {
-                            venueMap.put("twitter_handle", twitter.get("handle"));
-                        }
-                    }
-
-                    // Venue type/category
-                    List<Map> classifications = (List<Map>) venue.get("classifications");
-                    if (classifications != null && !classifications.isEmpty()) {
-                        Map segment = (Map) classifications.get(0).get("segment");
-                        if (segment != null && segment.get("name") != null) {
-                            venueMap.put("venue_type", segment.get("name"));
-                        }
-                    } else {
-                        venueMap.put("venue_type", "Other");
-                    }
-
-                    // Capacity (if available)
-                    Object rawCapacity = venue.get("capacity");
-                    if (rawCapacity != null) {
-                        try {
-                            int capacity = Integer.parseInt(rawCapacity.toString());
-                            venueMap.put("capacity", capacity);
-                        } catch (Exception e) {
-                            venueMap.put("capacity", null);
-                        }
-                    } else {
-                        venueMap.put("capacity", null);
-                    }
-
-                    // Timezone and other details
-                    venueMap.put("timezone", venue.get("timezone"));
-                    venueMap.put("postal_code", venue.get("postalCode"));
-
-                    // Upcoming events
-                    venueMap.put("upcoming_events_count", venue.get("upcomingEvents"));
-
-                    // Legacy fields for compatibility
-                    venueMap.put("seating_capacity", null);
-                    venueMap.put("standing_capacity", null);
-                    venueMap.put("tier", "");
-                    venueMap.put("activity_level", "");
-                    venueMap.put("data_quality_score", "");
-
-                    allVenues.add(venueMap);
-                }
+        // Address
+        StringBuilder address = new StringBuilder();
+        Map addr = (Map) venue.get("address");
+        if (addr != null && addr.get("line1") != null) address.append(addr.get("line1")).append(", ");
+        Map city = (Map) venue.get("city");
+        if (city != null && city.get("name") != null) address.append(city.get("name")).append(", ");
+        Map state = (Map) venue.get("state");
+        if (state != null && state.get("stateCode") != null) address.append(state.get("stateCode")).append(", ");
+        if (venue.get("postalCode") != null) address.append(venue.get("postalCode"));
+        venueMap.put("address", address.toString());
 
-                // Pagination
-                Map pageInfo = (Map) response.get("page");
-                int totalPages = (pageInfo != null && pageInfo.get("totalPages") != null) ? ((Number) pageInfo.get("totalPages")).intValue() : 1;
-                currentPage++;
-                // Only stop if we've collected enough venues or reached the last page
-                if (currentPage >= totalPages || allVenues.size() >= size) {
-                    morePages = false;
-                }
+        // Coordinates
+        Map location = (Map) venue.get("location");
+        Double venueLat = null, venueLon = null;
+        if (location != null) {
+            try {
+                venueLat = location.get("latitude") != null ? Double.parseDouble(location.get("latitude").toString()) : null;
+                venueLon = location.get("longitude") != null ? Double.parseDouble(location.get("longitude").toString()) : null;
+            } catch (Exception ignore) {}
+        }
+        venueMap.put("latitude", venueLat);
+        venueMap.put("longitude", venueLon);
+        venueMap.put("coordinates", (venueLat != null && venueLon != null) ? (venueLat + "," + venueLon) : "");
+
+        // Distance calculation
+        if (venueLat != null && venueLon != null) {
+            venueMap.put("distance_from_search", EventTransformer.haversine(lat, lon, venueLat, venueLon));
+        } else {
+            venueMap.put("distance_from_search", null);
+        }
+
+        // Box Office Info
+        Map boxOffice = (Map) venue.get("boxOfficeInfo");
+        if (boxOffice != null) {
+            venueMap.put("contact_phone", boxOffice.get("phoneNumberDetail"));
+            venueMap.put("box_office_hours", boxOffice.get("openHoursDetail"));
+            venueMap.put("accepted_payment", boxOffice.get("acceptedPaymentDetail"));
+            venueMap.put("will_call_info", boxOffice.get("willCallDetail"));
+        } else {
+            venueMap.put("contact_phone", null);
+            venueMap.put("box_office_hours", null);
+            venueMap.put("accepted_payment", null);
+            venueMap.put("will_call_info", null);
+        }
+
+        // Parking and Accessibility
+        venueMap.put("parking_info", venue.get("parkingDetail"));
+        venueMap.put("accessibility_info", venue.get("accessibleSeatingDetail"));
+
+        // General Info
+        Map generalInfo = (Map) venue.get("generalInfo");
+        if (generalInfo != null) {
+            venueMap.put("general_rules", generalInfo.get("generalRule"));
+            venueMap.put("child_policy", generalInfo.get("childRule"));
+        } else {
+            venueMap.put("general_rules", null);
+            venueMap.put("child_policy", null);
+        }
+
+        // Social Media
+        Map social = (Map) venue.get("social");
+        if (social != null) {
+            Map twitter = (Map) social.get("twitter");
+            if (twitter != null) {
+                venueMap.put("twitter_handle", twitter.get("handle"));
             }
-        } catch (Exception e) {
-            logger.error("Error fetching venues from Ticketmaster API: {}", e.getMessage());
         }
-        // Sort by upcoming events count (descending), then by completeness score (descending), then by distance (ascending)
-        allVenues.sort((v1, v2) -> {
-            // First, compare by upcoming events count (descending)
-            int upcoming1 = getUpcomingEventsCount(v1.get("upcoming_events_count"));
-            int upcoming2 = getUpcomingEventsCount(v2.get("upcoming_events_count"));
-            
-            if (upcoming1 != upcoming2) {
-                return Integer.compare(upcoming2, upcoming1); // Descending - more events first
+
+        // Venue type/category
+        List<Map> classifications = (List<Map>) venue.get("classifications");
+        if (classifications != null && !classifications.isEmpty()) {
+            Map segment = (Map) classifications.get(0).get("segment");
+            if (segment != null && segment.get("name") != null) {
+                venueMap.put("venue_type", segment.get("name"));
             }
-            
-            // If upcoming events are equal, sort by completeness score (descending)
-            int score1 = 0;
-            int score2 = 0;
-            if (v1.get("capacity") != null) score1++;
-            if (v1.get("image_url") != null) score1++;
-            if (v1.get("address") != null && !v1.get("address").toString().isBlank()) score1++;
-            if (v1.get("contact_phone") != null) score1++;
-            if (v1.get("box_office_hours") != null) score1++;
-            if (v1.get("parking_info") != null) score1++;
-            if (v1.get("accessibility_info") != null) score1++;
-            if (v1.get("general_rules") != null) score1++;
-
-            if (v2.get("capacity") != null) score2++;
-            if (v2.get("image_url") != null) score2++;
-            if (v2.get("address") != null && !v2.get("address").toString().isBlank()) score2++;
-            if (v2.get("contact_phone") != null) score2++;
-            if (v2.get("box_office_hours") != null) score2++;
-            if (v2.get("parking_info") != null) score2++;
-            if (v2.get("accessibility_info") != null) score2++;
-            if (v2.get("general_rules") != null) score2++;
-
-            if (score1 != score2) {
-                return Integer.compare(score2, score1); // Descending
+        } else {
+            venueMap.put("venue_type", "Other");
+        }
+
+        // Capacity (if available)
+        Object rawCapacity = venue.get("capacity");
+        if (rawCapacity != null) {
+            try {
+                int capacity = Integer.parseInt(rawCapacity.toString());
+                venueMap.put("capacity", capacity);
+            } catch (Exception e) {
+                venueMap.put("capacity", null);
             }
-            
-            // If scores are equal, sort by distance (ascending)
-            double d1 = v1.get("distance_from_search") instanceof Number ? ((Number)v1.get("distance_from_search")).doubleValue() : Double.MAX_VALUE;
-            double d2 = v2.get("distance_from_search") instanceof Number ? ((Number)v2.get("distance_from_search")).doubleValue() : Double.MAX_VALUE;
-            return Double.compare(d1, d2);
-        });
-        // Return only up to the requested size
-        return allVenues.size() > size ? allVenues.subList(0, size) : allVenues;
+        } else {
+            venueMap.put("capacity", null);
+        }
+
+        // Timezone and other details
+        venueMap.put("timezone", venue.get("timezone"));
+        venueMap.put("postal_code", venue.get("postalCode"));
+
+        // Upcoming events
+        venueMap.put("upcoming_events_count", venue.get("upcomingEvents"));
+
+        // Legacy fields for compatibility
+        venueMap.put("seating_capacity", null);
+        venueMap.put("standing_capacity", null);
+        venueMap.put("tier", "");
+        venueMap.put("activity_level", "");
+        venueMap.put("data_quality_score", "");
+
+        return venueMap;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventFilter;
+import com.example.eventsystem.model.EventQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes the category and genre filters of a query down to Ticketmaster, so upstream only
+ * returns events that can pass them. Categories that name a Ticketmaster segment become
+ * {@code segmentId}; other categories and genres become {@code classificationName}, which
+ * upstream matches against segment, genre and sub-genre names. Upstream combines different
+ * parameters with AND and comma-separated values with OR, so genres are only pushed down
+ * alongside segment ids, never next to category names in the same parameter. The local
+ * {@link EventFilter} still runs on what comes back, so pushdown may be loose but never drops a
+ * match.
+ */
+final class UpstreamQueryPlanner {
+    /** Ticketmaster's segment ids by lower-cased segment name */
+    private static final Map<String, String> SEGMENT_IDS = Map.of(
+            "music", "KZFzniwnSyZfZ7v7nJ",
+            "sports", "KZFzniwnSyZfZ7v7nE",
+            "arts & theatre", "KZFzniwnSyZfZ7v7na",
+            "film", "KZFzniwnSyZfZ7v7nn",
+            "miscellaneous", "KZFzniwnSyZfZ7v7n1");
+
+    private UpstreamQueryPlanner() {}
+
+    /**
+     * Upstream queries that together cover the filtered result: one per segment, plus one for
+     * categories that are not segments. Each has its own deep-paging limit and can be crawled
+     * in parallel. An unfiltered query is returned as is.
+     */
+    static List<EventQuery> subQueries(EventQuery query) {
+        EventFilter filter = query.getFilter();
+        List<String> segmentIds = new ArrayList<>();
+        List<String> otherCategories = new ArrayList<>();
+        split(filter.getCategories(), segmentIds, otherCategories);
+        String genres = joined(filter.getGenres());
+        if (segmentIds.isEmpty() && otherCategories.isEmpty()) {
+            return List.of(genres == null ? query : query.withClassification(null, genres));
+        }
+        List<EventQuery> parts = new ArrayList<>(segmentIds.size() + 1);
+        for (String segmentId : segmentIds) {
+            parts.add(query.withClassification(segmentId, genres));
+        }
+        if (!otherCategories.isEmpty()) {
+            parts.add(query.withClassification(null, joined(otherCategories)));
+        }
+        return parts;
+    }
+
+    /**
+     * A single upstream query covering the filtered result, for crawls that must keep upstream
+     * order (streaming). Segments are combined into one comma-separated {@code segmentId}.
+     */
+    static EventQuery combined(EventQuery query) {
+        EventFilter filter = query.getFilter();
+        List<String> segmentIds = new ArrayList<>();
+        List<String> otherCategories = new ArrayList<>();
+        split(filter.getCategories(), segmentIds, otherCategories);
+        String genres = joined(filter.getGenres());
+        if (!otherCategories.isEmpty()) {
+            // A segmentId would exclude the other categories; name every category instead
+            return query.withClassification(null, joined(filter.getCategories()));
+        }
+        if (segmentIds.isEmpty() && genres == null) return query;
+        return query.withClassification(joined(segmentIds), genres);
+    }
+
+    private static void split(List<String> categories, List<String> segmentIds, List<String> otherCategories) {
+        for (String category : categories) {
+            String segmentId = SEGMENT_IDS.get(category);
+            if (segmentId != null) segmentIds.add(segmentId);
+            else otherCategories.add(category);
+        }
+    }
+
+    private static String joined(List<String> values) {
+        return values.isEmpty() ? null : String.join(",", values);
+    }
+}
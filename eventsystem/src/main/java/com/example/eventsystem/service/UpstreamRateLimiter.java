@@ -0,0 +1,327 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.UpstreamPriority;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket shared by every Ticketmaster call, with a fair queue in front of it.
+ *
+ * <p>Callers that find a token take it without waiting. Otherwise they queue by
+ * {@link UpstreamPriority}, and a single dispatcher thread hands out tokens as they refill.
+ * Interactive waiters go first, but every {@code background-share}-th grant goes to a waiting
+ * background caller so sync traffic is never starved. Admission is deadline-aware: a caller
+ * whose estimated wait would overrun its deadline is rejected at once instead of queueing for
+ * a permit it cannot use, and queued callers are dropped when their deadline passes.
+ * The daily quota keeps a reserve that only interactive calls may spend. Queued callers hold
+ * their share of it, which is given back if they expire or are cancelled before a grant.
+ * A non-positive {@code requests-per-second} turns the limiter off.
+ */
+@Component
+public class UpstreamRateLimiter {
+
+    @Value("${api.ticketmaster.rate-limit.requests-per-second:5}")
+    private double requestsPerSecond;
+
+    @Value("${api.ticketmaster.rate-limit.burst:5}")
+    private int burst;
+
+    @Value("${api.ticketmaster.rate-limit.max-wait-ms:3000}")
+    private long defaultMaxWaitMillis;
+
+    @Value("${api.ticketmaster.rate-limit.daily-quota:5000}")
+    private int dailyQuota;
+
+    @Value("${api.ticketmaster.rate-limit.background-reserve:0.2}")
+    private double backgroundReserve;
+
+    @Value("${api.ticketmaster.rate-limit.background-share:4}")
+    private int backgroundShare;
+
+    private final PipelineMetrics metrics;
+    // In UTC, the zone the daily quota resets in
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> interactive = new ArrayDeque<>();
+    private final ArrayDeque<Waiter> background = new ArrayDeque<>();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "upstream-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private boolean dispatchScheduled;
+    private int interactiveStreak;
+    private LocalDate quotaDay;
+    private int quotaUsed;
+
+    /**
+     * @param clock Time source for the daily quota, which resets at midnight UTC
+     */
+    public UpstreamRateLimiter(PipelineMetrics metrics, Clock clock) {
+        this.metrics = metrics;
+        this.clock = clock.withZone(ZoneOffset.UTC);
+        this.quotaDay = LocalDate.now(this.clock);
+    }
+
+    @PostConstruct
+    public void init() {
+        tokens = burst;
+        lastRefillNanos = System.nanoTime();
+        pausedUntilNanos = lastRefillNanos;
+    }
+
+    public long getDefaultMaxWaitMillis() { return defaultMaxWaitMillis; }
+
+    /**
+     * Block until a permit is granted or the deadline passes
+     * @param deadlineNanos Absolute {@link System#nanoTime()} deadline
+     * @throws UpstreamThrottledException if no permit can be had in time
+     */
+    public void acquire(UpstreamPriority priority, long deadlineNanos) {
+        CompletableFuture<Void> permit = acquireAsync(priority, deadlineNanos);
+        try {
+            permit.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            permit.cancel(false);
+            throw new UpstreamThrottledException("No upstream permit before deadline");
+        } catch (InterruptedException e) {
+            permit.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new UpstreamThrottledException("Interrupted waiting for upstream permit");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Request a permit; the future completes when it is granted, or exceptionally with
+     * {@link UpstreamThrottledException}. Cancelling the future gives up the place in the queue.
+     */
+    public CompletableFuture<Void> acquireAsync(UpstreamPriority priority, long deadlineNanos) {
+        if (requestsPerSecond <= 0) return CompletableFuture.completedFuture(null);
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            refill(now);
+            String quotaProblem = takeQuota(priority);
+            if (quotaProblem != null) {
+                metrics.recordRateLimitRejected(priority.name());
+                return CompletableFuture.failedFuture(new UpstreamThrottledException(quotaProblem));
+            }
+            if (interactive.isEmpty() && background.isEmpty() && tokens >= 1 && now >= pausedUntilNanos) {
+                tokens -= 1;
+                metrics.recordRateLimitWait(priority.name(), 0);
+                return CompletableFuture.completedFuture(null);
+            }
+            // Interactive callers only wait behind other interactive callers
+            int ahead = interactive.size() + (priority == UpstreamPriority.BACKGROUND ? background.size() : 0);
+            long estimatedWait = Math.max(0, pausedUntilNanos - now)
+                    + (long) (Math.max(0, ahead + 1 - tokens) / requestsPerSecond * 1e9);
+            if (now + estimatedWait > deadlineNanos) {
+                refundQuota(quotaDay);
+                metrics.recordRateLimitRejected(priority.name());
+                return CompletableFuture.failedFuture(new UpstreamThrottledException(
+                        "Upstream rate limit: estimated wait " + estimatedWait / 1_000_000 + " ms exceeds deadline"));
+            }
+            Waiter waiter = new Waiter(priority, now, deadlineNanos, quotaDay);
+            (priority == UpstreamPriority.INTERACTIVE ? interactive : background).addLast(waiter);
+            waiter.permit.whenComplete((granted, error) -> {
+                if (waiter.permit.isCancelled()) withdraw(waiter);
+            });
+            scheduleDispatch(0);
+            return waiter.permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a permit only if one is free right now and nobody is queued; never waits.
+     * Used for optional calls such as hedged requests.
+     */
+    public boolean tryAcquire(UpstreamPriority priority) {
+        if (requestsPerSecond <= 0) return true;
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            refill(now);
+            if (!interactive.isEmpty() || !background.isEmpty() || tokens < 1 || now < pausedUntilNanos) {
+                return false;
+            }
+            if (takeQuota(priority) != null) return false;
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Upstream answered 429; hold all grants until its Retry-After has elapsed
+     */
+    public void onThrottled(long retryAfterMillis) {
+        lock.lock();
+        try {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(retryAfterMillis, 1000));
+            pausedUntilNanos = Math.max(pausedUntilNanos, until);
+            tokens = Math.min(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Take a cancelled waiter out of its queue and give back its quota */
+    private void withdraw(Waiter waiter) {
+        lock.lock();
+        try {
+            if ((waiter.priority == UpstreamPriority.INTERACTIVE ? interactive : background).remove(waiter)) {
+                refundQuota(waiter.quotaDay);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        List<Waiter> granted = new ArrayList<>();
+        List<Waiter> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            dispatchScheduled = false;
+            long now = System.nanoTime();
+            refill(now);
+            dropDone(interactive, expired, now);
+            dropDone(background, expired, now);
+            while (tokens >= 1 && now >= pausedUntilNanos && (!interactive.isEmpty() || !background.isEmpty())) {
+                boolean backgroundTurn = !background.isEmpty()
+                        && (interactive.isEmpty() || interactiveStreak >= backgroundShare);
+                Waiter next = backgroundTurn ? background.pollFirst() : interactive.pollFirst();
+                interactiveStreak = backgroundTurn ? 0 : interactiveStreak + 1;
+                tokens -= 1;
+                granted.add(next);
+            }
+            if (!interactive.isEmpty() || !background.isEmpty()) {
+                long untilToken = (long) (Math.max(0, 1 - tokens) / requestsPerSecond * 1e9);
+                scheduleDispatch(Math.max(untilToken, pausedUntilNanos - now));
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Waiter waiter : expired) {
+            metrics.recordRateLimitRejected(waiter.priority.name());
+            waiter.permit.completeExceptionally(new UpstreamThrottledException("Deadline passed waiting for upstream permit"));
+        }
+        for (Waiter waiter : granted) {
+            if (!waiter.permit.complete(null)) {
+                // Cancelled between the queue scan and the grant; return its token and quota
+                lock.lock();
+                try {
+                    tokens = Math.min(burst, tokens + 1);
+                    refundQuota(waiter.quotaDay);
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                metrics.recordRateLimitWait(waiter.priority.name(), System.nanoTime() - waiter.enqueuedNanos);
+            }
+        }
+    }
+
+    /**
+     * Remove cancelled and expired waiters, giving back the quota they were charged when they
+     * queued
+     */
+    private void dropDone(ArrayDeque<Waiter> queue, List<Waiter> expired, long now) {
+        for (Iterator<Waiter> it = queue.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (waiter.permit.isDone()) {
+                it.remove();
+                refundQuota(waiter.quotaDay);
+            } else if (now > waiter.deadlineNanos) {
+                it.remove();
+                refundQuota(waiter.quotaDay);
+                expired.add(waiter);
+            }
+        }
+    }
+
+    private void refill(long now) {
+        double added = (now - lastRefillNanos) / 1e9 * requestsPerSecond;
+        tokens = Math.min(burst, tokens + added);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Count the call against the daily quota, or explain why it may not proceed
+     */
+    private String takeQuota(UpstreamPriority priority) {
+        if (dailyQuota <= 0) return null;
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            quotaUsed = 0;
+        }
+        int limit = priority == UpstreamPriority.INTERACTIVE ? dailyQuota : (int) (dailyQuota * (1 - backgroundReserve));
+        if (quotaUsed >= limit) {
+            return "Daily upstream quota exhausted for " + priority.name().toLowerCase() + " calls";
+        }
+        quotaUsed++;
+        return null;
+    }
+
+    /**
+     * Give back a call charged on {@code chargedOn} that never reached upstream; a charge from
+     * an earlier day was already cleared when the quota reset
+     */
+    private void refundQuota(LocalDate chargedOn) {
+        if (dailyQuota > 0 && chargedOn.equals(quotaDay) && quotaUsed > 0) quotaUsed--;
+    }
+
+    private void scheduleDispatch(long delayNanos) {
+        if (dispatchScheduled) return;
+        dispatchScheduled = true;
+        dispatcher.schedule(this::dispatch, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private static final class Waiter {
+        final UpstreamPriority priority;
+        final long enqueuedNanos;
+        final long deadlineNanos;
+        // Quota day the waiter was charged against
+        final LocalDate quotaDay;
+        final CompletableFuture<Void> permit = new CompletableFuture<>();
+
+        Waiter(UpstreamPriority priority, long enqueuedNanos, long deadlineNanos, LocalDate quotaDay) {
+            this.priority = priority;
+            this.enqueuedNanos = enqueuedNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.quotaDay = quotaDay;
+        }
+    }
+}
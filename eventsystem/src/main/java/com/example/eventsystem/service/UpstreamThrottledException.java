@@ -0,0 +1,11 @@
+package com.example.eventsystem.service;
+
+/**
+ * Thrown when an upstream call cannot get a rate-limit permit before its deadline,
+ * or when the daily quota is exhausted
+ */
+public class UpstreamThrottledException extends RuntimeException {
+    public UpstreamThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.eventsystem.service;
+
+/**
+ * Thrown without calling upstream when the circuit breaker for an endpoint is open
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
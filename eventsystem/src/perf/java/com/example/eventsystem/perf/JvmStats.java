@@ -0,0 +1,89 @@
+package com.example.eventsystem.perf;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * GC and heap allocation accounting for a measurement window.
+ * Allocation is derived from GC notifications: everything the heap grew by between the end
+ * of one collection and the start of the next was allocated, plus the growth since the last one.
+ */
+public final class JvmStats implements NotificationListener {
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+    private final Map<String, long[]> startCounts = new LinkedHashMap<>();
+    private long allocatedBytes;
+    private long usedAfterLastGc;
+    private boolean running;
+
+    public synchronized void start() {
+        startCounts.clear();
+        for (GarbageCollectorMXBean gc : collectors) {
+            startCounts.put(gc.getName(), new long[]{gc.getCollectionCount(), gc.getCollectionTime()});
+            if (!running && gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+        allocatedBytes = 0;
+        usedAfterLastGc = heapUsed();
+        running = true;
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (!running || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long before = sum(info.getGcInfo().getMemoryUsageBeforeGc());
+        long after = sum(info.getGcInfo().getMemoryUsageAfterGc());
+        allocatedBytes += Math.max(0, before - usedAfterLastGc);
+        usedAfterLastGc = after;
+    }
+
+    /**
+     * Stop accounting and summarize the window
+     */
+    public synchronized Map<String, Object> stop() {
+        allocatedBytes += Math.max(0, heapUsed() - usedAfterLastGc);
+        running = false;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("allocatedBytes", allocatedBytes);
+        for (GarbageCollectorMXBean gc : collectors) {
+            long[] start = startCounts.getOrDefault(gc.getName(), new long[2]);
+            stats.put(gc.getName(), Map.of(
+                    "collections", gc.getCollectionCount() - start[0],
+                    "timeMillis", gc.getCollectionTime() - start[1]));
+        }
+        return stats;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long sum(Map<String, MemoryUsage> usage) {
+        long total = 0;
+        for (Map.Entry<String, MemoryUsage> pool : usage.entrySet()) {
+            if (heapPools.contains(pool.getKey())) total += pool.getValue().getUsed();
+        }
+        return total;
+    }
+}
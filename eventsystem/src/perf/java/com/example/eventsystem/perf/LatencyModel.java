@@ -0,0 +1,56 @@
+package com.example.eventsystem.perf;
+
+import java.util.SplittableRandom;
+
+/**
+ * Response latency distribution for the stand-in server.
+ * Parsed from specs such as {@code fixed:50}, {@code uniform:20:200} or {@code lognormal:80:400}
+ * (median and p99 in milliseconds).
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    long sampleMillis(SplittableRandom random);
+
+    static LatencyModel none() {
+        return random -> 0;
+    }
+
+    static LatencyModel fixed(long millis) {
+        return random -> millis;
+    }
+
+    static LatencyModel uniform(long minMillis, long maxMillis) {
+        return random -> minMillis + random.nextLong(Math.max(1, maxMillis - minMillis + 1));
+    }
+
+    /**
+     * Log-normal latency with the given median and 99th percentile, the usual shape of upstream API latency
+     */
+    static LatencyModel logNormal(double medianMillis, double p99Millis) {
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis / medianMillis) / 2.326;
+        return random -> {
+            // Box-Muller on the splittable stream keeps sampling deterministic per seed
+            double u1 = 1.0 - random.nextDouble();
+            double u2 = random.nextDouble();
+            double gaussian = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+            return Math.round(Math.exp(mu + sigma * gaussian));
+        };
+    }
+
+    static LatencyModel parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.equals("none")) return none();
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Long.parseLong(parts[1]));
+            case "uniform":
+                return uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            case "lognormal":
+                return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+            default:
+                throw new IllegalArgumentException("Unknown latency model: " + spec);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eventsystem.perf;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe latency sample recorder with exact percentiles over the recorded samples
+ */
+public final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long bytes;
+
+    public synchronized void record(long micros, boolean error, long responseBytes) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = micros;
+        if (error) errors++;
+        bytes += responseBytes;
+    }
+
+    public synchronized Snapshot snapshot(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(count, errors, bytes, seconds > 0 ? count / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Summary of one endpoint; latencies in microseconds
+     */
+    public record Snapshot(int requests, long errors, long bytes, double throughput,
+                           long p50, long p95, long p99, long max) {
+        public double errorRate() {
+            return requests > 0 ? (double) errors / requests : 0;
+        }
+    }
+}
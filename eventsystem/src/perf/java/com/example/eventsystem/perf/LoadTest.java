@@ -0,0 +1,175 @@
+package com.example.eventsystem.perf;
+
+import com.example.eventsystem.EventsystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop load test of /api/events and /api/venues against the in-process application,
+ * with the Ticketmaster stand-in as upstream. Requests are issued at a fixed rate regardless of
+ * how fast responses come back, and latency is measured from each request's scheduled start,
+ * so queueing delay is included rather than hidden (no coordinated omission).
+ *
+ * <p>Run with {@code mvn -Pperf compile exec:exec@loadtest -Dload.opts="-Dload.rps=50 -Dload.duration=60"}.
+ * The report is printed and written to {@code target/loadtest-report.json}. GC and allocation
+ * figures cover the whole JVM, load generator included.
+ */
+public final class LoadTest {
+    private static final String[] PERIODS = {"today", "week", "week", "month", null};
+    private static final int[] RADII = {5, 10, 10, 25};
+    private static final String[] SORTS = {"date", "date", "name", "venue"};
+    private static final int[] PAGE_SIZES = {20, 20, 50, 100};
+
+    private final int rps = Integer.getInteger("load.rps", 20);
+    private final int durationSeconds = Integer.getInteger("load.duration", 60);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 10);
+    private final int maxInFlight = Integer.getInteger("load.maxInFlight", 256);
+    private final double venuesShare = Double.parseDouble(System.getProperty("load.venuesShare", "0.2"));
+    private final long seed = Long.getLong("load.seed", 1L);
+
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean measuring;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        try (TicketmasterStubServer stub = TicketmasterStubServer.builder()
+                .fixtures(TicketmasterFixtures.fromSystemProperties())
+                .latency(LatencyModel.parse(System.getProperty("load.upstreamLatency", "lognormal:80:400")))
+                .errorRate(Double.parseDouble(System.getProperty("load.upstreamErrorRate", "0")))
+                .throttleRate(Double.parseDouble(System.getProperty("load.upstreamThrottleRate", "0")))
+                .seed(seed)
+                .threads(16)
+                .start(0)) {
+
+            ConfigurableApplicationContext app = SpringApplication.run(EventsystemApplication.class,
+                    "--server.port=0",
+                    "--api.ticketmaster.base-url=" + stub.eventsUrl(),
+                    "--api.ticketmaster.venues-url=" + stub.venuesUrl(),
+                    "--api.ticketmaster.rate-limit.requests-per-second=" + System.getProperty("load.upstreamRps", "0"),
+                    "--api.ticketmaster.rate-limit.daily-quota=0",
+                    "--logging.level.root=WARN");
+            String base = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            recorders.put("events", new LatencyRecorder());
+            recorders.put("venues", new LatencyRecorder());
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(16))
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            SplittableRandom random = new SplittableRandom(seed);
+            long periodNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rps);
+
+            System.out.printf("Load test: %d rps, %ds warmup + %ds measured, upstream %s%n",
+                    rps, warmupSeconds, durationSeconds, stub.eventsUrl());
+            ticker.scheduleAtFixedRate(() -> fire(client, base, random, inFlight),
+                    0, periodNanos, TimeUnit.NANOSECONDS);
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+            JvmStats jvm = new JvmStats();
+            jvm.start();
+            measuring = true;
+            long start = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+            measuring = false;
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            Map<String, Object> gc = jvm.stop();
+            ticker.shutdownNow();
+            inFlight.acquire(maxInFlight);
+
+            report(elapsed, gc, stub);
+            app.close();
+        }
+    }
+
+    private void fire(HttpClient client, String base, SplittableRandom random, Semaphore inFlight) {
+        long scheduled = System.nanoTime();
+        if (!inFlight.tryAcquire()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        String endpoint;
+        String uri;
+        synchronized (random) {
+            if (random.nextDouble() < venuesShare) {
+                endpoint = "venues";
+                uri = base + "/api/venues?radius=" + RADII[random.nextInt(RADII.length)] + "&size=" + (random.nextBoolean() ? 50 : 100);
+            } else {
+                endpoint = "events";
+                String period = PERIODS[random.nextInt(PERIODS.length)];
+                uri = base + "/api/events?radius=" + RADII[random.nextInt(RADII.length)]
+                        + "&sortBy=" + SORTS[random.nextInt(SORTS.length)]
+                        + "&sortDir=" + (random.nextInt(4) == 0 ? "desc" : "asc")
+                        + "&page=" + (random.nextInt(3) == 0 ? random.nextInt(5) : 0)
+                        + "&size=" + PAGE_SIZES[random.nextInt(PAGE_SIZES.length)]
+                        + (period != null ? "&period=" + period : "");
+            }
+        }
+        boolean measured = measuring;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET().build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            inFlight.release();
+            if (!measured) return;
+            long micros = (System.nanoTime() - scheduled) / 1_000;
+            boolean failed = error != null || response.statusCode() >= 400;
+            recorders.get(endpoint).record(micros, failed, response != null ? response.body().length : 0);
+        });
+    }
+
+    private void report(double elapsedSeconds, Map<String, Object> gc, TicketmasterStubServer stub) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRps", rps);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("droppedRequests", dropped.get());
+        System.out.printf("%n%-8s %8s %9s %8s %9s %9s %9s %9s %11s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "KB/resp");
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot s = entry.getValue().snapshot(elapsedSeconds);
+            System.out.printf("%-8s %8d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %11.1f%n", entry.getKey(), s.requests(), s.throughput(),
+                    s.errorRate() * 100, s.p50() / 1000.0, s.p95() / 1000.0, s.p99() / 1000.0, s.max() / 1000.0,
+                    s.requests() > 0 ? s.bytes() / 1024.0 / s.requests() : 0);
+            report.put(entry.getKey(), s);
+        }
+        long allocated = (Long) gc.get("allocatedBytes");
+        System.out.printf("%nHeap allocated: %.1f MB (%.1f MB/s)%n", allocated / 1e6, allocated / 1e6 / elapsedSeconds);
+        gc.forEach((name, value) -> {
+            if (value instanceof Map<?, ?> collector) {
+                System.out.printf("GC %-22s %5s collections, %6s ms%n", name, collector.get("collections"), collector.get("timeMillis"));
+            }
+        });
+        System.out.printf("Upstream: %d requests, %d throttled, %d errors; %d requests dropped at the in-flight cap%n",
+                stub.requestCount(), stub.throttledCount(), stub.errorCount(), dropped.get());
+        report.put("jvm", gc);
+        report.put("upstream", Map.of("requests", stub.requestCount(), "throttled", stub.throttledCount(), "errors", stub.errorCount()));
+
+        Path out = Path.of(System.getProperty("load.report", "target/loadtest-report.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+        System.out.println("Report written to " + out);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.eventsystem.perf;
+
+import com.example.eventsystem.EventsystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes on the wire for dashboards polling /api/events, /api/venues and /api/config, against
+ * the in-process application with the Ticketmaster stand-in as upstream. The same polling
+ * schedule runs twice: once as a plain client (no compression, no validators), and once as a
+ * browser would poll, with {@code Accept-Encoding: gzip} and {@code If-None-Match} set to the
+ * last ETag it saw for the URL.
+ *
+ * <p>Run with {@code mvn -Pperf compile exec:exec@polling -Dpoll.opts="-Dpoll.clients=20 -Dpoll.rounds=30"}.
+ * The report is printed and written to {@code target/polling-report.json}. Byte counts are
+ * response bodies as transferred; headers are not included.
+ */
+public final class PollingTest {
+    private static final String[] URLS = {
+            "/api/events?period=week&size=50",
+            "/api/events?period=month&size=20&sortBy=name",
+            "/api/venues?radius=10&size=50",
+            "/api/config"
+    };
+
+    private final int clients = Integer.getInteger("poll.clients", 20);
+    private final int rounds = Integer.getInteger("poll.rounds", 30);
+    private final long intervalMillis = Long.getLong("poll.intervalMs", 200L);
+
+    public static void main(String[] args) throws Exception {
+        new PollingTest().run();
+        System.exit(0);
+    }
+
+    /** Per-URL tallies for one phase */
+    private static final class Tally {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong notModified = new AtomicLong();
+        final AtomicLong gzipped = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong bytes = new AtomicLong();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", requests.get());
+            map.put("notModified", notModified.get());
+            map.put("gzipped", gzipped.get());
+            map.put("errors", errors.get());
+            map.put("bytes", bytes.get());
+            return map;
+        }
+    }
+
+    private void run() throws Exception {
+        try (TicketmasterStubServer stub = TicketmasterStubServer.builder()
+                .fixtures(TicketmasterFixtures.fromSystemProperties())
+                .latency(LatencyModel.parse(System.getProperty("poll.upstreamLatency", "fixed:20")))
+                .threads(16)
+                .start(0)) {
+
+            ConfigurableApplicationContext app = SpringApplication.run(EventsystemApplication.class,
+                    "--server.port=0",
+                    "--api.ticketmaster.base-url=" + stub.eventsUrl(),
+                    "--api.ticketmaster.venues-url=" + stub.venuesUrl(),
+                    "--api.ticketmaster.rate-limit.requests-per-second=0",
+                    "--api.ticketmaster.rate-limit.daily-quota=0",
+                    "--logging.level.root=WARN");
+            String base = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Polling test: %d clients x %d rounds x %d URLs, %d ms between rounds%n",
+                    clients, rounds, URLS.length, intervalMillis);
+            Map<String, Tally> plain = poll(client, base, false);
+            Map<String, Tally> conditional = poll(client, base, true);
+            report(plain, conditional);
+            app.close();
+        }
+    }
+
+    private Map<String, Tally> poll(HttpClient client, String base, boolean conditional) throws Exception {
+        Map<String, Tally> tallies = new LinkedHashMap<>();
+        for (String url : URLS) tallies.put(url, new Tally());
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<?>> dashboards = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            dashboards.add(pool.submit(() -> {
+                Map<String, String> etags = new HashMap<>();
+                for (int round = 0; round < rounds; round++) {
+                    for (String url : URLS) {
+                        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + url))
+                                .timeout(Duration.ofSeconds(30)).GET();
+                        String etag = etags.get(url);
+                        if (conditional) {
+                            request.header("Accept-Encoding", "gzip");
+                            if (etag != null) request.header("If-None-Match", etag);
+                        }
+                        Tally tally = tallies.get(url);
+                        tally.requests.incrementAndGet();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                            tally.bytes.addAndGet(response.body().length);
+                            if (response.statusCode() == 304) tally.notModified.incrementAndGet();
+                            else if (response.statusCode() >= 400) tally.errors.incrementAndGet();
+                            if (response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent()) {
+                                tally.gzipped.incrementAndGet();
+                            }
+                            response.headers().firstValue("ETag").ifPresent(value -> etags.put(url, value));
+                        } catch (Exception e) {
+                            tally.errors.incrementAndGet();
+                        }
+                    }
+                    Thread.sleep(intervalMillis);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> dashboard : dashboards) dashboard.get();
+        pool.shutdown();
+        return tallies;
+    }
+
+    private void report(Map<String, Tally> plain, Map<String, Tally> conditional) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", clients);
+        report.put("rounds", rounds);
+        System.out.printf("%n%-46s %12s %12s %8s %8s %8s%n", "url", "plain KB", "cond KB", "saved", "304s", "gzipped");
+        long plainTotal = 0;
+        long conditionalTotal = 0;
+        for (String url : URLS) {
+            Tally p = plain.get(url);
+            Tally c = conditional.get(url);
+            plainTotal += p.bytes.get();
+            conditionalTotal += c.bytes.get();
+            System.out.printf("%-46s %12.1f %12.1f %7.1f%% %8d %8d%n", url, p.bytes.get() / 1024.0, c.bytes.get() / 1024.0,
+                    saved(p.bytes.get(), c.bytes.get()), c.notModified.get(), c.gzipped.get());
+            report.put(url, Map.of("plain", p.toMap(), "conditional", c.toMap()));
+        }
+        System.out.printf("%-46s %12.1f %12.1f %7.1f%%%n", "total", plainTotal / 1024.0, conditionalTotal / 1024.0,
+                saved(plainTotal, conditionalTotal));
+        report.put("totalPlainBytes", plainTotal);
+        report.put("totalConditionalBytes", conditionalTotal);
+
+        Path out = Path.of(System.getProperty("poll.report", "target/polling-report.json"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+        System.out.println("Report written to " + out);
+    }
+
+    private static double saved(long before, long after) {
+        return before > 0 ? (1 - (double) after / before) * 100 : 0;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.eventsystem.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Ticketmaster Discovery API fixtures for benchmarks and the stand-in server.
+ * Either generated deterministically from a seed in the shape of recorded responses
+ * (ten image renditions per event, embedded venue, classification and price range),
+ * or loaded from recorded {@code events*.json} pages in a directory.
+ */
+public final class TicketmasterFixtures {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> PAGE_TYPE = new TypeReference<>() {};
+
+    public static final double ORIGIN_LAT = 36.1656;
+    public static final double ORIGIN_LON = -86.7781;
+
+    private static final String[] NAMED_VENUES = {
+            "Nissan Stadium", "Bridgestone Arena", "Grand Ole Opry House", "Tennessee Performing Arts Center",
+            "Ryman Auditorium", "Schermerhorn Symphony Center", "Marathon Music Works", "Cannery Hall",
+            "Brooklyn Bowl", "CMA Theater", "City Winery", "The Country", "Listening Room Cafe", "Tin Roof",
+            "The Bluebird Cafe", "The Cobra", "Ascend Amphitheater", "Nashville Municipal Auditorium",
+            "War Memorial Auditorium"
+    };
+    private static final String[][] SEGMENTS = {
+            {"KZFzniwnSyZfZ7v7nJ", "Music", "Country", "Rock", "Pop", "Jazz"},
+            {"KZFzniwnSyZfZ7v7nE", "Sports", "Football", "Hockey", "Basketball", "Soccer"},
+            {"KZFzniwnSyZfZ7v7na", "Arts & Theatre", "Theatre", "Comedy", "Classical", "Dance"},
+            {"KZFzniwnSyZfZ7v7n1", "Miscellaneous", "Family", "Fairs & Festivals", "Community", "Lecture"}
+    };
+    private static final String[] STATUSES = {"onsale", "onsale", "onsale", "offsale", "rescheduled", "cancelled"};
+    private static final String[] WORDS = {
+            "Live", "Tour", "Night", "Nashville", "Symphony", "Festival", "Band", "Acoustic", "Legends",
+            "Country", "Classic", "Rock", "Comedy", "Showcase", "Orchestra", "Revival", "Jam", "Stars"
+    };
+    private static final Object[][] IMAGE_RENDITIONS = {
+            {"16_9", 2048, 1152}, {"16_9", 1024, 576}, {"16_9", 640, 360}, {"16_9", 1136, 639},
+            {"16_9", 205, 115}, {"3_2", 1024, 683}, {"3_2", 640, 427}, {"3_2", 305, 203},
+            {"4_3", 305, 225}, {"16_9", 100, 56}
+    };
+
+    private final List<Map<String, Object>> events;
+    private final List<Map<String, Object>> venues;
+
+    private TicketmasterFixtures(List<Map<String, Object>> events, List<Map<String, Object>> venues) {
+        this.events = events;
+        this.venues = venues;
+    }
+
+    /**
+     * Generate {@code eventCount} events spread over {@code days} days starting at {@code firstDay}
+     */
+    public static TicketmasterFixtures generate(long seed, int eventCount, int venueCount, LocalDate firstDay, int days) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> venues = new ArrayList<>(venueCount);
+        for (int i = 0; i < venueCount; i++) {
+            venues.add(venue(random, i));
+        }
+        List<Map<String, Object>> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            // A handful of venues host most events, as in real markets
+            int venueIndex = (int) Math.min(venueCount - 1, Math.abs(random.nextGaussian()) * venueCount / 3);
+            events.add(event(random, i, venues.get(venueIndex), firstDay.plusDays(random.nextInt(Math.max(1, days)))));
+        }
+        events.sort(Comparator.comparing(TicketmasterFixtures::startKey));
+        return new TicketmasterFixtures(events, venues);
+    }
+
+    /**
+     * The default fixture: one month of a busy market around the Nashville origin
+     */
+    public static TicketmasterFixtures nashville(long seed) {
+        return generate(seed, 2_000, 150, LocalDate.now(ZoneOffset.UTC), 30);
+    }
+
+    /**
+     * Load recorded Discovery API pages ({@code events*.json}) from a directory
+     */
+    public static TicketmasterFixtures load(Path directory) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        Map<Object, Map<String, Object>> venues = new LinkedHashMap<>();
+        try (DirectoryStream<Path> pages = Files.newDirectoryStream(directory, "events*.json")) {
+            for (Path page : pages) {
+                Map<String, Object> response = MAPPER.readValue(page.toFile(), PAGE_TYPE);
+                Map<String, Object> embedded = (Map<String, Object>) response.get("_embedded");
+                if (embedded == null || embedded.get("events") == null) continue;
+                for (Map<String, Object> event : (List<Map<String, Object>>) embedded.get("events")) {
+                    events.add(event);
+                    Map<String, Object> eventEmbedded = (Map<String, Object>) event.get("_embedded");
+                    if (eventEmbedded != null && eventEmbedded.get("venues") instanceof List<?> list && !list.isEmpty()) {
+                        Map<String, Object> venue = (Map<String, Object>) list.get(0);
+                        venues.putIfAbsent(venue.get("id"), venue);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load fixtures from " + directory, e);
+        }
+        events.sort(Comparator.comparing(TicketmasterFixtures::startKey));
+        return new TicketmasterFixtures(events, new ArrayList<>(venues.values()));
+    }
+
+    /**
+     * Recorded fixtures if {@code fixtures.dir} is set, otherwise the generated Nashville market
+     */
+    public static TicketmasterFixtures fromSystemProperties() {
+        String dir = System.getProperty("fixtures.dir");
+        return dir != null ? load(Path.of(dir)) : nashville(Long.getLong("fixtures.seed", 42L));
+    }
+
+    public List<Map<String, Object>> events() { return events; }
+    public List<Map<String, Object>> venues() { return venues; }
+
+    /**
+     * One page of {@code events} in the Discovery API response envelope
+     */
+    public Map<String, Object> eventsPage(List<Map<String, Object>> matching, int page, int size) {
+        return envelope("events", matching, page, size);
+    }
+
+    public Map<String, Object> venuesPage(List<Map<String, Object>> matching, int page, int size) {
+        return envelope("venues", matching, page, size);
+    }
+
+    /**
+     * The raw events of one page, as the service sees them after decoding
+     */
+    public List<Map<String, Object>> eventPageContent(int page, int size) {
+        int from = Math.min(page * size, events.size());
+        return events.subList(from, Math.min(from + size, events.size()));
+    }
+
+    public static byte[] toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Object> envelope(String key, List<Map<String, Object>> matching, int page, int size) {
+        int from = Math.min(page * size, matching.size());
+        int to = Math.min(from + size, matching.size());
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (from < to) {
+            response.put("_embedded", Map.of(key, matching.subList(from, to)));
+        }
+        Map<String, Object> pageInfo = new LinkedHashMap<>();
+        pageInfo.put("size", size);
+        pageInfo.put("totalElements", matching.size());
+        pageInfo.put("totalPages", size > 0 ? (matching.size() + size - 1) / size : 0);
+        pageInfo.put("number", page);
+        response.put("page", pageInfo);
+        return response;
+    }
+
+    private static String startKey(Map<String, Object> event) {
+        Map<String, Object> start = (Map<String, Object>) ((Map<String, Object>) event.getOrDefault("dates", Map.of())).get("start");
+        if (start == null) return "";
+        return start.getOrDefault("localDate", "") + "T" + start.getOrDefault("localTime", "");
+    }
+
+    private static Map<String, Object> venue(Random random, int index) {
+        String name = index < NAMED_VENUES.length ? NAMED_VENUES[index] : "The " + WORDS[random.nextInt(WORDS.length)] + " Room " + index;
+        Map<String, Object> venue = new LinkedHashMap<>();
+        venue.put("name", name);
+        venue.put("type", "venue");
+        venue.put("id", String.format("KovZpZA%06dA", index));
+        venue.put("url", "https://www.ticketmaster.com/venue/" + (100000 + index));
+        venue.put("locale", "en-us");
+        if (random.nextInt(4) > 0) {
+            venue.put("images", List.of(image(random, "venue-" + index, IMAGE_RENDITIONS[random.nextInt(3)])));
+        }
+        venue.put("postalCode", String.valueOf(37201 + random.nextInt(30)));
+        venue.put("timezone", "America/Chicago");
+        venue.put("city", Map.of("name", "Nashville"));
+        venue.put("state", Map.of("name", "Tennessee", "stateCode", "TN"));
+        venue.put("country", Map.of("name", "United States Of America", "countryCode", "US"));
+        venue.put("address", Map.of("line1", (100 + random.nextInt(4000)) + " " + WORDS[random.nextInt(WORDS.length)] + " Ave"));
+        // Within roughly 15 miles of the origin
+        venue.put("location", Map.of(
+                "longitude", String.format("%.8f", ORIGIN_LON + (random.nextDouble() - 0.5) * 0.5),
+                "latitude", String.format("%.8f", ORIGIN_LAT + (random.nextDouble() - 0.5) * 0.4)));
+        if (random.nextBoolean()) {
+            venue.put("boxOfficeInfo", Map.of(
+                    "phoneNumberDetail", "Box office: 615-555-" + (1000 + random.nextInt(9000)),
+                    "openHoursDetail", "Mon-Fri 10am-5pm",
+                    "acceptedPaymentDetail", "Visa, MasterCard, American Express",
+                    "willCallDetail", "Will call opens two hours before the show"));
+        }
+        if (random.nextBoolean()) venue.put("parkingDetail", "Paid parking available in nearby garages.");
+        if (random.nextBoolean()) venue.put("accessibleSeatingDetail", "Accessible seating available on all levels.");
+        if (random.nextBoolean()) venue.put("generalInfo", Map.of("generalRule", "No outside food or drink.", "childRule", "Ages 2 and up need a ticket."));
+        if (random.nextInt(3) == 0) venue.put("capacity", String.valueOf(200 + random.nextInt(40_000)));
+        venue.put("upcomingEvents", Map.of("_total", random.nextInt(120), "ticketmaster", random.nextInt(100)));
+        return venue;
+    }
+
+    private static Map<String, Object> event(Random random, int index, Map<String, Object> venue, LocalDate date) {
+        String[] segment = SEGMENTS[random.nextInt(SEGMENTS.length)];
+        String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)] + (random.nextInt(4) == 0 ? " - Late Show" : "");
+        String id = String.format("vvG1%sZ%07d", Integer.toString(index % 36, 36).toUpperCase(), index);
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("type", "event");
+        event.put("id", id);
+        event.put("test", false);
+        event.put("url", "https://www.ticketmaster.com/event/" + id);
+        event.put("locale", "en-us");
+
+        List<Map<String, Object>> images = new ArrayList<>(IMAGE_RENDITIONS.length);
+        for (Object[] rendition : IMAGE_RENDITIONS) {
+            images.add(image(random, id, rendition));
+        }
+        event.put("images", images);
+
+        LocalTime time = LocalTime.of(11 + random.nextInt(11), random.nextBoolean() ? 0 : 30);
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("localDate", date.toString());
+        start.put("localTime", time + ":00");
+        start.put("dateTime", date.atTime(time).plusHours(5) + ":00Z");
+        start.put("dateTBD", false);
+        start.put("timeTBA", false);
+        event.put("dates", Map.of(
+                "start", start,
+                "timezone", "America/Chicago",
+                "status", Map.of("code", STATUSES[random.nextInt(STATUSES.length)]),
+                "spanMultipleDays", false));
+
+        event.put("classifications", List.of(Map.of(
+                "primary", true,
+                "segment", Map.of("id", segment[0], "name", segment[1]),
+                "genre", Map.of("id", "KnvZfZ7vAv" + segment[1].charAt(0), "name", segment[2 + random.nextInt(4)]),
+                "family", false)));
+        if (random.nextInt(5) > 0) {
+            double min = 15 + random.nextInt(150);
+            event.put("priceRanges", List.of(Map.of(
+                    "type", "standard", "currency", "USD", "min", min, "max", min + random.nextInt(300))));
+        }
+        if (random.nextInt(3) == 0) {
+            event.put("info", "Doors open one hour before showtime. All ages welcome. " + name + " returns to Nashville.");
+        }
+        event.put("_embedded", Map.of("venues", List.of(venue)));
+        return event;
+    }
+
+    private static Map<String, Object> image(Random random, String owner, Object[] rendition) {
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("ratio", rendition[0]);
+        image.put("url", "https://s1.ticketm.net/dam/a/" + Math.floorMod(owner.hashCode(), 1000) + "/" + owner + "_"
+                + rendition[0] + "_" + rendition[1] + "x" + rendition[2] + ".jpg");
+        image.put("width", rendition[1]);
+        image.put("height", rendition[2]);
+        image.put("fallback", random.nextInt(10) == 0);
+        return image;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.eventsystem.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Embeddable stand-in for the Ticketmaster Discovery API, serving {@code events.json} and
+ * {@code venues.json} from {@link TicketmasterFixtures}. Latency, error and 429 injection are
+ * driven by a seeded random stream, so a run with the same seed and request order is repeatable.
+ *
+ * <pre>
+ * TicketmasterStubServer stub = TicketmasterStubServer.builder()
+ *         .latency(LatencyModel.logNormal(80, 400))
+ *         .errorRate(0.01)
+ *         .start(0);
+ * // api.ticketmaster.base-url = stub.eventsUrl(), api.ticketmaster.venues-url = stub.venuesUrl()
+ * </pre>
+ *
+ * Run standalone with {@code mvn -Pperf compile exec:exec@stub-server}.
+ */
+public final class TicketmasterStubServer implements AutoCloseable {
+    private static final byte[] THROTTLED_BODY = ("{\"fault\":{\"faultstring\":\"Rate limit quota violation. Quota limit  exceeded.\","
+            + "\"detail\":{\"errorcode\":\"policies.ratelimit.QuotaViolation\"}}}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR_BODY = "{\"errors\":[{\"code\":\"SYS-500\",\"detail\":\"Injected failure\"}]}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DEEP_PAGING_BODY = ("{\"errors\":[{\"code\":\"DIS1035\",\"detail\":\"API Limits Exceeded: Max paging depth exceeded. "
+            + "(page * size) must be less than 1,000\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    private final TicketmasterFixtures fixtures;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final double throttleRate;
+    private final int retryAfterSeconds;
+    private final int maxPages;
+    private final int deepPagingLimit;
+    private final long seed;
+
+    private final HttpServer server;
+    private final ScheduledExecutorService responder;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, List<Map<String, Object>>> filteredEvents = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> encodedPages = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private TicketmasterStubServer(Builder builder, int port) throws IOException {
+        this.fixtures = builder.fixtures != null ? builder.fixtures : TicketmasterFixtures.nashville(builder.seed);
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.throttleRate = builder.throttleRate;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.maxPages = builder.maxPages;
+        this.deepPagingLimit = builder.deepPagingLimit;
+        this.seed = builder.seed;
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 512);
+        this.responder = Executors.newScheduledThreadPool(builder.threads, runnable -> {
+            Thread thread = new Thread(runnable, "tm-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(responder);
+        server.createContext("/discovery/v2/events.json", exchange -> handle(exchange, true));
+        server.createContext("/discovery/v2/venues.json", exchange -> handle(exchange, false));
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int port() { return server.getAddress().getPort(); }
+    public String eventsUrl() { return "http://127.0.0.1:" + port() + "/discovery/v2/events.json"; }
+    public String venuesUrl() { return "http://127.0.0.1:" + port() + "/discovery/v2/venues.json"; }
+    public TicketmasterFixtures fixtures() { return fixtures; }
+
+    public long requestCount() { return requests.get(); }
+    public long throttledCount() { return throttled.get(); }
+    public long errorCount() { return errors.get(); }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, boolean events) {
+        requests.incrementAndGet();
+        SplittableRandom random = new SplittableRandom(seed * 31 + sequence.incrementAndGet());
+        long delay = latency.sampleMillis(random);
+
+        int status;
+        byte[] body;
+        Map<String, String> headers = new HashMap<>();
+        double roll = random.nextDouble();
+        if (roll < throttleRate) {
+            throttled.incrementAndGet();
+            status = 429;
+            body = THROTTLED_BODY;
+            headers.put("Retry-After", String.valueOf(retryAfterSeconds));
+            headers.put("Rate-Limit-Available", "0");
+        } else if (roll < throttleRate + errorRate) {
+            errors.incrementAndGet();
+            status = random.nextBoolean() ? 500 : 503;
+            body = ERROR_BODY;
+        } else {
+            Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+            int page = intParam(params, "page", 0);
+            int size = Math.max(1, Math.min(200, intParam(params, "size", 20)));
+            if (deepPagingLimit > 0 && (long) page * size >= deepPagingLimit) {
+                status = 400;
+                body = DEEP_PAGING_BODY;
+            } else {
+                status = 200;
+                body = events ? eventsPage(params, page, size) : venuesPage(page, size);
+            }
+        }
+        respond(exchange, status, body, headers, delay);
+    }
+
+    private byte[] eventsPage(Map<String, String> params, int page, int size) {
+        String filterKey = params.getOrDefault("startDateTime", "") + "|" + params.getOrDefault("endDateTime", "")
+                + "|" + params.getOrDefault("keyword", "") + "|" + params.getOrDefault("classificationName", "")
+                + "|" + params.getOrDefault("segmentId", "");
+        List<Map<String, Object>> matching = filteredEvents.computeIfAbsent(filterKey, key -> filter(params));
+        int pages = (matching.size() + size - 1) / size;
+        if (maxPages > 0 && pages > maxPages) {
+            matching = matching.subList(0, maxPages * size);
+        }
+        List<Map<String, Object>> finalMatching = matching;
+        return encodedPages.computeIfAbsent(filterKey + "|" + page + "|" + size,
+                key -> TicketmasterFixtures.toJson(fixtures.eventsPage(finalMatching, page, size)));
+    }
+
+    private byte[] venuesPage(int page, int size) {
+        return encodedPages.computeIfAbsent("venues|" + page + "|" + size,
+                key -> TicketmasterFixtures.toJson(fixtures.venuesPage(fixtures.venues(), page, size)));
+    }
+
+    private List<Map<String, Object>> filter(Map<String, String> params) {
+        String start = params.get("startDateTime");
+        String end = params.get("endDateTime");
+        String keyword = params.containsKey("keyword") ? params.get("keyword").toLowerCase(Locale.ROOT) : null;
+        String classification = params.get("classificationName");
+        String segmentId = params.get("segmentId");
+        return fixtures.events().stream()
+                .filter(event -> {
+                    String dateTime = (String) ((Map<String, Object>) ((Map<String, Object>) event.get("dates")).get("start")).get("dateTime");
+                    if (start != null && dateTime != null && dateTime.compareTo(start) < 0) return false;
+                    if (end != null && dateTime != null && dateTime.compareTo(end) > 0) return false;
+                    if (keyword != null && !((String) event.get("name")).toLowerCase(Locale.ROOT).contains(keyword)) return false;
+                    if (classification != null || segmentId != null) {
+                        Map<String, Object> classifications = ((List<Map<String, Object>>) event.get("classifications")).get(0);
+                        Map<String, Object> segment = (Map<String, Object>) classifications.get("segment");
+                        Map<String, Object> genre = (Map<String, Object>) classifications.get("genre");
+                        if (segmentId != null && !List.of(segmentId.split(",")).contains((String) segment.get("id"))) return false;
+                        if (classification != null && List.of(classification.split(",")).stream().noneMatch(name ->
+                                name.equalsIgnoreCase((String) segment.get("name")) || name.equalsIgnoreCase((String) genre.get("name")))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, Map<String, String> headers, long delayMillis) {
+        Runnable send = () -> {
+            try (exchange; OutputStream out = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+                headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+                exchange.sendResponseHeaders(status, body.length);
+                out.write(body);
+            } catch (IOException ignore) {
+                // Client went away
+            }
+        };
+        if (delayMillis > 0) {
+            responder.schedule(send, delayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            send.run();
+        }
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        try {
+            return params.containsKey(name) ? Integer.parseInt(params.get(name)) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static final class Builder {
+        private TicketmasterFixtures fixtures;
+        private LatencyModel latency = LatencyModel.none();
+        private double errorRate;
+        private double throttleRate;
+        private int retryAfterSeconds = 1;
+        private int maxPages;
+        private int deepPagingLimit = 1000;
+        private int threads = 8;
+        private long seed = 42L;
+
+        public Builder fixtures(TicketmasterFixtures fixtures) { this.fixtures = fixtures; return this; }
+        public Builder latency(LatencyModel latency) { this.latency = latency; return this; }
+        /** Fraction of requests answered with 500/503 */
+        public Builder errorRate(double errorRate) { this.errorRate = errorRate; return this; }
+        /** Fraction of requests answered with 429 and a Retry-After header */
+        public Builder throttleRate(double throttleRate) { this.throttleRate = throttleRate; return this; }
+        public Builder retryAfterSeconds(int retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; return this; }
+        /** Cap on pages served per query, 0 for no cap */
+        public Builder maxPages(int maxPages) { this.maxPages = maxPages; return this; }
+        /** Ticketmaster rejects page * size at or above this bound, 0 to disable */
+        public Builder deepPagingLimit(int deepPagingLimit) { this.deepPagingLimit = deepPagingLimit; return this; }
+        public Builder threads(int threads) { this.threads = threads; return this; }
+        public Builder seed(long seed) { this.seed = seed; return this; }
+
+        public TicketmasterStubServer start(int port) throws IOException {
+            return new TicketmasterStubServer(this, port);
+        }
+    }
+
+    /**
+     * Standalone entry point; configuration through {@code stub.*} system properties
+     */
+    public static void main(String[] args) throws Exception {
+        TicketmasterFixtures fixtures = System.getProperty("fixtures.dir") != null
+                ? TicketmasterFixtures.fromSystemProperties()
+                : TicketmasterFixtures.generate(Long.getLong("stub.seed", 42L), Integer.getInteger("stub.events", 2_000),
+                        Integer.getInteger("stub.venues", 150), java.time.LocalDate.now(java.time.ZoneOffset.UTC),
+                        Integer.getInteger("stub.days", 30));
+        TicketmasterStubServer stub = builder()
+                .fixtures(fixtures)
+                .latency(LatencyModel.parse(System.getProperty("stub.latency", "lognormal:80:400")))
+                .errorRate(Double.parseDouble(System.getProperty("stub.errorRate", "0")))
+                .throttleRate(Double.parseDouble(System.getProperty("stub.throttleRate", "0")))
+                .retryAfterSeconds(Integer.getInteger("stub.retryAfter", 1))
+                .maxPages(Integer.getInteger("stub.maxPages", 0))
+                .seed(Long.getLong("stub.seed", 42L))
+                .start(Integer.getInteger("stub.port", 8089));
+        System.out.printf("Ticketmaster stand-in serving %d events / %d venues%n", fixtures.events().size(), fixtures.venues().size());
+        System.out.println("  --api.ticketmaster.base-url=" + stub.eventsUrl());
+        System.out.println("  --api.ticketmaster.venues-url=" + stub.venuesUrl());
+        Thread.currentThread().join();
+    }
+}
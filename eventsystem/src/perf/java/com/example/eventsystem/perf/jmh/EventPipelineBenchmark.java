@@ -0,0 +1,98 @@
+package com.example.eventsystem.perf.jmh;
+
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
+import com.example.eventsystem.perf.TicketmasterFixtures;
+import com.example.eventsystem.service.EventTransformer;
+import com.example.eventsystem.service.ImageProcessingService;
+import com.example.eventsystem.service.PipelineMetrics;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event stages of the /api/events pipeline, measured over one full upstream page
+ * (200 events) per operation. Run with {@code -prof gc} for bytes allocated per page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPipelineBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    /** 0 derives every event's venue fields again, as before the venue cache */
+    @Param({"0", "4096"})
+    public int venueCacheSize;
+
+    private EventTransformer transformer;
+    private ImageProcessingService imageProcessingService;
+    private List<Map<String, Object>> page;
+    private EventResponse[] transformed;
+    private double[] venueLats;
+    private double[] venueLons;
+
+    @Setup
+    public void setUp() throws Exception {
+        imageProcessingService = new ImageProcessingService();
+        transformer = new EventTransformer(imageProcessingService, new PipelineMetrics(new SimpleMeterRegistry()), venueCacheSize);
+
+        // Round-trip through JSON so the maps look exactly like a decoded upstream page
+        TicketmasterFixtures fixtures = TicketmasterFixtures.fromSystemProperties();
+        byte[] json = TicketmasterFixtures.toJson(fixtures.eventsPage(fixtures.events(), 0, PAGE_SIZE));
+        Map<String, Object> response = new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+        page = (List<Map<String, Object>>) ((Map<String, Object>) response.get("_embedded")).get("events");
+
+        FetchSummary summary = new FetchSummary();
+        EventTransformer.Origin origin = new EventTransformer.Origin(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON);
+        transformed = new EventResponse[page.size()];
+        venueLats = new double[page.size()];
+        venueLons = new double[page.size()];
+        for (int i = 0; i < page.size(); i++) {
+            transformed[i] = transformer.transform(page.get(i), origin, summary);
+            Map<String, Object> venue = ((List<Map<String, Object>>) ((Map<String, Object>) page.get(i).get("_embedded")).get("venues")).get(0);
+            Map<String, Object> location = (Map<String, Object>) venue.get("location");
+            venueLats[i] = Double.parseDouble(location.get("latitude").toString());
+            venueLons[i] = Double.parseDouble(location.get("longitude").toString());
+        }
+    }
+
+    /** Map to EventResponse transform, including images, venue, distance and scoring; one crawl per page */
+    @Benchmark
+    public void transformPage(Blackhole bh) {
+        FetchSummary summary = new FetchSummary();
+        EventTransformer.Origin origin = new EventTransformer.Origin(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON);
+        for (Map<String, Object> event : page) {
+            bh.consume(transformer.transform(event, origin, summary));
+        }
+    }
+
+    @Benchmark
+    public void processEventImages(Blackhole bh) {
+        for (Map<String, Object> event : page) {
+            bh.consume(imageProcessingService.processEventImages((List<Map<String, Object>>) event.get("images"), (String) event.get("name"), false));
+        }
+    }
+
+    @Benchmark
+    public void calculateImpactScore(Blackhole bh) {
+        for (EventResponse event : transformed) {
+            bh.consume(transformer.calculateImpactScore(event));
+        }
+    }
+
+    @Benchmark
+    public void haversine(Blackhole bh) {
+        for (int i = 0; i < venueLats.length; i++) {
+            bh.consume(EventTransformer.haversine(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON, venueLats[i], venueLons[i]));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.eventsystem.perf.jmh;
+
+import com.example.eventsystem.model.FetchSummary;
+import com.example.eventsystem.perf.TicketmasterFixtures;
+import com.example.eventsystem.service.EventTransformer;
+import com.example.eventsystem.service.ImageProcessingService;
+import com.example.eventsystem.service.PageTransformer;
+import com.example.eventsystem.service.PipelineMetrics;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the parallel page transform: one full upstream page (200 events) per operation
+ * on a {@link PageTransformer} pool of {@code parallelism} threads, against the sequential
+ * loop it replaced. Parallelism above the machine's core count only adds overhead; pass
+ * {@code -p parallelism=...} to match the host.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageTransformBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private EventTransformer transformer;
+    private PageTransformer pageTransformer;
+    private List<Map> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        transformer = new EventTransformer(new ImageProcessingService(), new PipelineMetrics(new SimpleMeterRegistry()), 4096);
+        pageTransformer = new PageTransformer(transformer, parallelism);
+
+        TicketmasterFixtures fixtures = TicketmasterFixtures.fromSystemProperties();
+        byte[] json = TicketmasterFixtures.toJson(fixtures.eventsPage(fixtures.events(), 0, PAGE_SIZE));
+        Map<String, Object> response = new ObjectMapper().readValue(json, new TypeReference<Map<String, Object>>() {});
+        page = (List<Map>) ((Map<String, Object>) response.get("_embedded")).get("events");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pageTransformer.shutdown();
+    }
+
+    @Benchmark
+    public Object parallel() {
+        return pageTransformer.transformAsync(page, new EventTransformer.Origin(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON),
+                new FetchSummary()).join();
+    }
+
+    /** The former per-event loop, as the 1-thread reference */
+    @Benchmark
+    public Object sequential() {
+        FetchSummary summary = new FetchSummary();
+        EventTransformer.Origin origin = new EventTransformer.Origin(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON);
+        Object[] out = new Object[page.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = transformer.transform(page.get(i), origin, summary);
+        }
+        return out;
+    }
+}
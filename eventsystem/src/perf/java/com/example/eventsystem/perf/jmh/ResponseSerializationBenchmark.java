@@ -0,0 +1,101 @@
+package com.example.eventsystem.perf.jmh;
+
+import com.example.eventsystem.model.EventResponse;
+import com.example.eventsystem.model.FetchSummary;
+import com.example.eventsystem.perf.TicketmasterFixtures;
+import com.example.eventsystem.service.EventTransformer;
+import com.example.eventsystem.service.ImageProcessingService;
+import com.example.eventsystem.service.PipelineMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of an /api/events response body with the same ObjectMapper defaults Spring Boot uses,
+ * as JSON and as the binary formats offered through content negotiation (CBOR, Smile). The decode
+ * benchmarks read the body back into generic maps, as a consumer without the model classes would.
+ * Payload sizes per format are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "200"})
+    public int events;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private Map<String, Object> response;
+    private byte[] jsonBody;
+    private byte[] cborBody;
+    private byte[] smileBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        EventTransformer transformer = new EventTransformer(new ImageProcessingService(), new PipelineMetrics(new SimpleMeterRegistry()), 4096);
+        TicketmasterFixtures fixtures = TicketmasterFixtures.fromSystemProperties();
+        List<EventResponse> page = new ArrayList<>(events);
+        FetchSummary summary = new FetchSummary();
+        EventTransformer.Origin origin = new EventTransformer.Origin(TicketmasterFixtures.ORIGIN_LAT, TicketmasterFixtures.ORIGIN_LON);
+        for (Map<String, Object> event : fixtures.eventPageContent(0, events)) {
+            page.add(transformer.transform(event, origin, summary));
+        }
+        response = new HashMap<>();
+        response.put("events", page);
+        response.put("pagination", Map.of("currentPage", 0, "pageSize", events, "currentPageSize", page.size()));
+
+        jsonBody = json.writeValueAsBytes(response);
+        cborBody = cbor.writeValueAsBytes(response);
+        smileBody = smile.writeValueAsBytes(response);
+        System.out.printf("%n%d events: json %d bytes, cbor %d bytes (%.0f%%), smile %d bytes (%.0f%%)%n", events,
+                jsonBody.length, cborBody.length, 100.0 * cborBody.length / jsonBody.length,
+                smileBody.length, 100.0 * smileBody.length / jsonBody.length);
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return json.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws Exception {
+        return cbor.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] smile() throws Exception {
+        return smile.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Map<?, ?> jsonDecode() throws Exception {
+        return json.readValue(jsonBody, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> cborDecode() throws Exception {
+        return cbor.readValue(cborBody, Map.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> smileDecode() throws Exception {
+        return smile.readValue(smileBody, Map.class);
+    }
+}
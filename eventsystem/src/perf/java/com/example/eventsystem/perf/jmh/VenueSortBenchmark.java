@@ -0,0 +1,60 @@
+package com.example.eventsystem.perf.jmh;
+
+import com.example.eventsystem.perf.TicketmasterFixtures;
+import com.example.eventsystem.service.TicketmasterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fetchVenues ordering over venue maps shaped like the /api/venues output
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VenueSortBenchmark {
+    // Fixed so every run sorts the same venues
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 5);
+
+    @Param({"50", "200", "1000"})
+    public int venues;
+
+    private List<Map<String, Object>> unsorted;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<Map<String, Object>> source = TicketmasterFixtures.generate(7, 0, venues, FIRST_DAY, 1).venues();
+        unsorted = new ArrayList<>(venues);
+        for (Map<String, Object> venue : source) {
+            Map<String, Object> venueMap = new HashMap<>();
+            venueMap.put("upcoming_events_count", venue.get("upcomingEvents"));
+            venueMap.put("capacity", venue.get("capacity"));
+            venueMap.put("image_url", venue.containsKey("images") ? "https://s1.ticketm.net/venue.jpg" : null);
+            venueMap.put("address", ((Map<?, ?>) venue.get("address")).get("line1") + ", Nashville, TN, " + venue.get("postalCode"));
+            venueMap.put("contact_phone", venue.containsKey("boxOfficeInfo") ? "615-555-0100" : null);
+            venueMap.put("box_office_hours", venue.containsKey("boxOfficeInfo") ? "Mon-Fri" : null);
+            venueMap.put("parking_info", venue.get("parkingDetail"));
+            venueMap.put("accessibility_info", venue.get("accessibleSeatingDetail"));
+            venueMap.put("general_rules", venue.containsKey("generalInfo") ? "No outside food" : null);
+            venueMap.put("distance_from_search", random.nextInt(100) / 10.0);
+            unsorted.add(venueMap);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sortVenues() {
+        List<Map<String, Object>> copy = new ArrayList<>(unsorted);
+        copy.sort(TicketmasterService.VENUE_ORDER);
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.eventsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.example.eventsystem.service.CircuitBreaker.State.CLOSED;
+import static com.example.eventsystem.service.CircuitBreaker.State.HALF_OPEN;
+import static com.example.eventsystem.service.CircuitBreaker.State.OPEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private final MutableClock clock = new MutableClock("2026-11-05T12:00:00Z");
+
+    /** Window of 10 calls, at least 4 before judging, opens at 50% failures for 30 s */
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, 30_000, clock);
+    }
+
+    private static void call(CircuitBreaker breaker, boolean fails) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (fails) breaker.onFailure();
+        else breaker.onSuccess();
+    }
+
+    private static CircuitBreaker open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) call(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+        return breaker;
+    }
+
+    @Test
+    void staysClosedUntilTheMinimumCalls() {
+        CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 3; i++) call(breaker, true);
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        call(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+
+    @Test
+    void opensAtTheFailureRateOverTheWindow() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 6; i++) call(breaker, false);
+        for (int i = 0; i < 4; i++) call(breaker, true);
+        // 4 of 10 failed
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+
+        call(breaker, true);
+
+        // The oldest success left the window: 5 of 10
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+
+    @Test
+    void refusesCallsWhileOpen() {
+        CircuitBreaker breaker = open(breaker());
+
+        assertThat(breaker.tryAcquire()).isFalse();
+        clock.advance(Duration.ofMillis(29_999));
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+
+    @Test
+    void letsOneProbeThroughAfterTheOpenPeriod() {
+        CircuitBreaker breaker = open(breaker());
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesWithAFreshWindow() {
+        CircuitBreaker breaker = open(breaker());
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        // The failures before opening no longer count
+        for (int i = 0; i < 3; i++) call(breaker, true);
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+    }
+
+    @Test
+    void failedProbeOpensForAnotherPeriod() {
+        CircuitBreaker breaker = open(breaker());
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(breaker.tryAcquire()).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void ignoredProbeLetsAnotherOneThrough() {
+        CircuitBreaker breaker = open(breaker());
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void ignoredCallsDoNotCountWhileClosed() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 10; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onIgnored();
+        }
+        for (int i = 0; i < 3; i++) call(breaker, true);
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+    }
+}
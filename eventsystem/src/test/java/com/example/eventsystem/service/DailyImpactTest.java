@@ -0,0 +1,144 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.ImpactSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyImpactTest {
+    private static final LocalDate FIRST = LocalDate.of(2026, 11, 1);
+    private static final int DAYS = 90;
+    private static final int HIGH = 40;
+    private static final int CRITICAL = 60;
+
+    /** Events per score by epoch day, with some days left empty */
+    private static Map<Long, int[]> randomHistograms(long seed) {
+        Random random = new Random(seed);
+        Map<Long, int[]> histograms = new HashMap<>();
+        for (int day = -5; day < DAYS + 5; day++) {
+            if (random.nextInt(4) == 0) continue;
+            int[] scores = new int[DailyImpact.MAX_SCORE + 1];
+            for (int i = random.nextInt(6); i > 0; i--) scores[random.nextInt(scores.length)]++;
+            histograms.put(FIRST.toEpochDay() + day, scores);
+        }
+        return histograms;
+    }
+
+    /** The summary of {@code [from, to]} added up day by day */
+    private static ImpactSummary bruteForce(Map<Long, int[]> histograms, LocalDate from, LocalDate to) {
+        int events = 0;
+        long total = 0;
+        int max = 0;
+        int critical = 0;
+        int high = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            int[] scores = histograms.get(day.toEpochDay());
+            if (scores == null) continue;
+            for (int score = 0; score < scores.length; score++) {
+                if (scores[score] == 0) continue;
+                events += scores[score];
+                total += (long) score * scores[score];
+                max = Math.max(max, score);
+                if (score >= CRITICAL) critical += scores[score];
+                else if (score >= HIGH) high += scores[score];
+            }
+        }
+        return new ImpactSummary(from.toString(), to.toString(), events, total, max, critical, high);
+    }
+
+    @Test
+    void everyRangeMatchesADayByDaySum() {
+        Map<Long, int[]> histograms = randomHistograms(11);
+        DailyImpact daily = DailyImpact.of(FIRST, DAYS, histograms, HIGH, CRITICAL, 0);
+
+        for (int lo = 0; lo < DAYS; lo++) {
+            for (int hi = lo; hi < DAYS; hi++) {
+                LocalDate from = FIRST.plusDays(lo);
+                LocalDate to = FIRST.plusDays(hi);
+                assertThat(daily.summary(from, to)).as("%s..%s", from, to).usingRecursiveComparison()
+                        .isEqualTo(bruteForce(histograms, from, to));
+            }
+        }
+    }
+
+    @Test
+    void singleDaysAndPowerOfTwoSpans() {
+        Map<Long, int[]> histograms = new HashMap<>();
+        int[] peak = new int[DailyImpact.MAX_SCORE + 1];
+        peak[95] = 1;
+        peak[10] = 2;
+        histograms.put(FIRST.plusDays(8).toEpochDay(), peak);
+        int[] low = new int[DailyImpact.MAX_SCORE + 1];
+        low[45] = 1;
+        histograms.put(FIRST.plusDays(7).toEpochDay(), low);
+        DailyImpact daily = DailyImpact.of(FIRST, DAYS, histograms, HIGH, CRITICAL, 0);
+
+        ImpactSummary day = daily.summary(FIRST.plusDays(8), FIRST.plusDays(8));
+        assertThat(day.getEvents()).isEqualTo(3);
+        assertThat(day.getTotalImpact()).isEqualTo(115);
+        assertThat(day.getMaxImpact()).isEqualTo(95);
+        assertThat(day.getCritical()).isEqualTo(1);
+        assertThat(day.getHigh()).isZero();
+        // Spans of exactly 2^k days, ending just before, on and after the peak
+        for (int span = 1; span <= 64; span *= 2) {
+            assertThat(daily.summary(FIRST.plusDays(8 - span + 1), FIRST.plusDays(8)).getMaxImpact()).as("span %d", span).isEqualTo(95);
+            assertThat(daily.summary(FIRST.plusDays(9), FIRST.plusDays(8 + span)).getMaxImpact()).as("span %d", span).isZero();
+            assertThat(daily.summary(FIRST.plusDays(7), FIRST.plusDays(7 + span - 1)).getHigh()).as("span %d", span).isEqualTo(1);
+        }
+        assertThat(daily.summary(FIRST, FIRST.plusDays(63)).getMaxImpact()).isEqualTo(95);
+    }
+
+    @Test
+    void rangesOutsideTheWindowAreEmptyAndOverlapsAreCut() {
+        Map<Long, int[]> histograms = randomHistograms(3);
+        DailyImpact daily = DailyImpact.of(FIRST, DAYS, histograms, HIGH, CRITICAL, 0);
+        LocalDate last = FIRST.plusDays(DAYS - 1);
+
+        assertThat(daily.first()).isEqualTo(FIRST);
+        assertThat(daily.last()).isEqualTo(last);
+        ImpactSummary before = daily.summary(FIRST.minusDays(10), FIRST.minusDays(1));
+        assertThat(before).usingRecursiveComparison()
+                .isEqualTo(new ImpactSummary(FIRST.minusDays(10).toString(), FIRST.minusDays(1).toString(), 0, 0, 0, 0, 0));
+        assertThat(daily.summary(last.plusDays(1), last.plusDays(30)).getEvents()).isZero();
+        assertThat(daily.summary(LocalDate.of(1900, 1, 1), LocalDate.of(1900, 1, 2)).getEvents()).isZero();
+        assertThat(daily.summary(LocalDate.of(9999, 1, 1), LocalDate.of(9999, 1, 2)).getEvents()).isZero();
+        // Events outside the window do not leak into an overlapping range
+        assertThat(daily.summary(FIRST.minusDays(5), FIRST.plusDays(2))).usingRecursiveComparison()
+                .isEqualTo(bruteForce(histograms, FIRST, FIRST.plusDays(2)));
+        assertThat(daily.summary(last.minusDays(2), last.plusDays(5))).usingRecursiveComparison()
+                .isEqualTo(bruteForce(histograms, last.minusDays(2), last));
+    }
+
+    @Test
+    void daysListsOneSummaryPerCoveredDay() {
+        Map<Long, int[]> histograms = randomHistograms(5);
+        DailyImpact daily = DailyImpact.of(FIRST, DAYS, histograms, HIGH, CRITICAL, 0);
+
+        List<ImpactSummary> days = daily.days(FIRST.minusDays(3), FIRST.plusDays(4));
+
+        assertThat(days).hasSize(5);
+        for (int i = 0; i < days.size(); i++) {
+            LocalDate day = FIRST.plusDays(i);
+            assertThat(days.get(i)).usingRecursiveComparison().isEqualTo(bruteForce(histograms, day, day));
+        }
+        assertThat(daily.days(FIRST.minusDays(3), FIRST.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    void unsetThresholdsCountNothing() {
+        int[] scores = new int[DailyImpact.MAX_SCORE + 1];
+        scores[100] = 2;
+        DailyImpact daily = DailyImpact.of(FIRST, 1, Map.of(FIRST.toEpochDay(), scores), 0, 0, 0);
+
+        ImpactSummary summary = daily.summary(FIRST, FIRST);
+        assertThat(summary.getEvents()).isEqualTo(2);
+        assertThat(summary.getCritical()).isZero();
+        assertThat(summary.getHigh()).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.eventsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventDeduplicatorTest {
+
+    /** A raw Discovery API event with the fields the deduplicator reads */
+    private static Map<String, Object> event(String id, String name, String venue, String date, String time) {
+        Map<String, Object> start = new HashMap<>();
+        start.put("localDate", date);
+        if (time != null) start.put("localTime", time);
+        Map<String, Object> event = new HashMap<>();
+        if (id != null) event.put("id", id);
+        if (name != null) event.put("name", name);
+        event.put("dates", Map.of("start", start));
+        if (venue != null) event.put("_embedded", Map.of("venues", List.of(Map.of("name", venue))));
+        return event;
+    }
+
+    @Test
+    void pageWithoutRepeatsIsReturnedAsIs() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+        List<Map> page = List.of(
+                event("a", "Show", "Ryman Auditorium", "2026-11-05", "19:00:00"),
+                event("b", "Show", "Ryman Auditorium", "2026-11-06", "19:00:00"));
+
+        assertThat(deduplicator.filter(page)).isSameAs(page);
+    }
+
+    @Test
+    void repeatedIdsAreDroppedAcrossPages() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+        deduplicator.filter(List.of(event("a", "Show", "Ryman Auditorium", "2026-11-05", "19:00:00")));
+
+        List<Map> second = deduplicator.filter(List.of(
+                event("a", "Renamed show", "Ryman Auditorium", "2026-11-07", "20:00:00"),
+                event("b", "Other show", "Ryman Auditorium", "2026-11-05", "19:00:00")));
+
+        assertThat(second).extracting(e -> e.get("id")).containsExactly("b");
+    }
+
+    @Test
+    void sameShowUnderAnotherIdIsDroppedAcrossCaseAndWhitespace() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        List<Map> kept = deduplicator.filter(List.of(
+                event("a", "Taylor Swift | The Eras Tour", "Nissan Stadium", "2026-11-05", "19:00:00"),
+                event("b", "  taylor swift |  the ERAS\ttour ", "NISSAN   Stadium ", "2026-11-05", "19:00:00"),
+                event("c", "TAYLOR SWIFT | THE ERAS TOUR", " nissan stadium", "2026-11-05", "19:00:00")));
+
+        assertThat(kept).extracting(e -> e.get("id")).containsExactly("a");
+    }
+
+    @Test
+    void whitespaceInsideWordsStillCounts() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        List<Map> kept = deduplicator.filter(List.of(
+                event("a", "Bluebird Cafe", "The Bluebird Cafe", "2026-11-05", "19:00:00"),
+                event("b", "Blue bird Cafe", "The Bluebird Cafe", "2026-11-05", "19:00:00"),
+                event("c", "BluebirdCafe", "The Bluebird Cafe", "2026-11-05", "19:00:00")));
+
+        assertThat(kept).extracting(e -> e.get("id")).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void differentDateTimeOrVenueIsNotARepeat() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        List<Map> kept = deduplicator.filter(List.of(
+                event("a", "Show", "Ryman Auditorium", "2026-11-05", "19:00:00"),
+                event("b", "Show", "Ryman Auditorium", "2026-11-05", "21:30:00"),
+                event("c", "Show", "Ryman Auditorium", "2026-11-06", "19:00:00"),
+                event("d", "Show", "Brooklyn Bowl", "2026-11-05", "19:00:00"),
+                event("e", "Show", null, "2026-11-05", "19:00:00")));
+
+        assertThat(kept).extracting(e -> e.get("id")).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void fieldsDoNotRunIntoEachOther() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        List<Map> kept = deduplicator.filter(List.of(
+                event("a", "Show A", "Venue", "2026-11-05", null),
+                event("b", "Show", "A Venue", "2026-11-05", null)));
+
+        assertThat(kept).hasSize(2);
+    }
+
+    @Test
+    void eventsWithoutNameOrIdAreKeptByTheOtherKey() {
+        EventDeduplicator deduplicator = new EventDeduplicator();
+
+        List<Map> kept = deduplicator.filter(List.of(
+                event(null, "Show", "Ryman Auditorium", "2026-11-05", "19:00:00"),
+                event(null, "show", "ryman auditorium", "2026-11-05", "19:00:00"),
+                event("x", null, "Ryman Auditorium", "2026-11-05", "19:00:00"),
+                event("x", null, "Ryman Auditorium", "2026-11-05", "19:00:00"),
+                event("y", null, "Ryman Auditorium", "2026-11-05", "19:00:00")));
+
+        assertThat(kept).hasSize(3);
+        assertThat(kept.get(2).get("id")).isEqualTo("y");
+    }
+}
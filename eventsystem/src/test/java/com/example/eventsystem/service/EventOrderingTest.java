@@ -0,0 +1,101 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventFilter;
+import com.example.eventsystem.model.EventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventOrderingTest {
+
+    /**
+     * Events with few distinct keys, so there are many ties, and with a missing distance or
+     * price now and then
+     */
+    private static List<EventResponse> events(long seed, int count) {
+        Random random = new Random(seed);
+        List<EventResponse> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EventResponse event = new EventResponse();
+            event.setId("e" + i);
+            event.setImpactScore(random.nextInt(8) * 10);
+            event.setDistance(random.nextInt(5) == 0 ? -1 : random.nextInt(6) / 2.0);
+            event.setPriceMin(random.nextInt(5) == 0 ? null : (double) random.nextInt(4) * 25);
+            events.add(event);
+        }
+        return events;
+    }
+
+    /** What {@link List#sort} makes of the events, missing keys last in either direction */
+    private static <K extends Comparable<K>> List<EventResponse> listSort(List<EventResponse> events, Function<EventResponse, K> key,
+                                                                         boolean descending) {
+        Comparator<K> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        List<EventResponse> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(key, Comparator.nullsLast(order)));
+        return sorted;
+    }
+
+    private static Double distance(EventResponse event) {
+        return event.getDistance() >= 0 ? event.getDistance() : null;
+    }
+
+    @Test
+    void numericOrdersMatchAStableListSort() {
+        for (int n : new int[] {0, 1, 2, 7, 64, 1000}) {
+            List<EventResponse> events = events(n, n);
+            for (boolean descending : new boolean[] {false, true}) {
+                String dir = descending ? "desc" : "asc";
+                assertThat(EventOrdering.filterAndSort(events, EventFilter.NONE, "impactScore", dir)).as("impactScore %s %d", dir, n)
+                        .containsExactlyElementsOf(listSort(events, EventResponse::getImpactScore, descending));
+                assertThat(EventOrdering.filterAndSort(events, EventFilter.NONE, "distance", dir)).as("distance %s %d", dir, n)
+                        .containsExactlyElementsOf(listSort(events, EventOrderingTest::distance, descending));
+                assertThat(EventOrdering.filterAndSort(events, EventFilter.NONE, "price", dir)).as("price %s %d", dir, n)
+                        .containsExactlyElementsOf(listSort(events, EventResponse::getPriceMin, descending));
+            }
+        }
+    }
+
+    @Test
+    void comparatorAgreesWithTheSort() {
+        List<EventResponse> events = events(3, 500);
+        for (String sortBy : List.of("impactScore", "distance", "price")) {
+            for (boolean descending : new boolean[] {false, true}) {
+                List<EventResponse> sorted = new ArrayList<>(events);
+                sorted.sort(EventOrdering.comparator(sortBy, descending));
+
+                assertThat(EventOrdering.filterAndSort(events, EventFilter.NONE, sortBy, descending ? "desc" : "asc"))
+                        .as("%s %s", sortBy, descending).containsExactlyElementsOf(sorted);
+            }
+        }
+    }
+
+    @Test
+    void missingKeysGoLastInEitherDirection() {
+        List<EventResponse> events = events(5, 200);
+
+        for (String dir : List.of("asc", "desc")) {
+            List<EventResponse> byPrice = EventOrdering.filterAndSort(events, EventFilter.NONE, "price", dir);
+            int firstMissing = byPrice.indexOf(byPrice.stream().filter(e -> e.getPriceMin() == null).findFirst().orElseThrow());
+            assertThat(byPrice.subList(firstMissing, byPrice.size())).allMatch(e -> e.getPriceMin() == null);
+            // Missing keys keep their input order among themselves
+            assertThat(byPrice.subList(firstMissing, byPrice.size()))
+                    .containsExactlyElementsOf(events.stream().filter(e -> e.getPriceMin() == null).toList());
+        }
+    }
+
+    @Test
+    void relevanceKeepsInputOrderAndTheInputIsNotModified() {
+        List<EventResponse> events = events(9, 50);
+        List<EventResponse> before = new ArrayList<>(events);
+
+        assertThat(EventOrdering.filterAndSort(events, EventFilter.NONE, "relevance", "desc")).containsExactlyElementsOf(before);
+        EventOrdering.filterAndSort(events, EventFilter.NONE, "impactScore", "desc");
+        assertThat(events).containsExactlyElementsOf(before);
+    }
+}
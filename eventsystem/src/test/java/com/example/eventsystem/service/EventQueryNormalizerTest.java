@@ -0,0 +1,227 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventQueryNormalizerTest {
+    private static final ZoneId CHICAGO = ZoneId.of("America/Chicago");
+    private static final double LAT = 36.1656;
+    private static final double LON = -86.7781;
+
+    /** Normalizer whose "now" is the given instant in Chicago */
+    private static EventQueryNormalizer at(String instant) {
+        return new EventQueryNormalizer(Clock.fixed(Instant.parse(instant), CHICAGO), 3000);
+    }
+
+    private static EventQuery query(EventQueryNormalizer normalizer, String startDate, String endDate, String period) {
+        return normalizer.normalize(startDate, endDate, null, 0, 20, "date", "asc", LAT, LON, 10, period);
+    }
+
+    @Test
+    void defaultWindowEndsInStandardTimeAfterFallBack() {
+        // Noon CDT on 2026-10-28; clocks fall back on 2026-11-01
+        EventQuery query = query(at("2026-10-28T17:00:00Z"), null, null, null);
+
+        assertThat(query.isValid()).isTrue();
+        assertThat(query.getStartDateTime()).isEqualTo("2026-10-28T05:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2026-11-28T05:59:59Z");
+    }
+
+    @Test
+    void weekSpansFallBack() {
+        EventQuery query = query(at("2026-10-28T17:00:00Z"), null, null, "week");
+
+        assertThat(query.getStartDateTime()).isEqualTo("2026-10-28T05:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2026-11-04T05:59:59Z");
+    }
+
+    @Test
+    void weekSpansSpringForward() {
+        // Noon CST on 2026-03-05; clocks spring forward on 2026-03-08
+        EventQuery query = query(at("2026-03-05T18:00:00Z"), null, null, "WEEK");
+
+        assertThat(query.getStartDateTime()).isEqualTo("2026-03-05T06:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2026-03-12T04:59:59Z");
+    }
+
+    @Test
+    void todayUsesTheLocalDateNotTheUtcDate() {
+        // 2026-10-29T03:00Z is still the evening of 2026-10-28 in Chicago
+        EventQuery query = query(at("2026-10-29T03:00:00Z"), null, null, "today");
+
+        assertThat(query.getStartDateTime()).isEqualTo("2026-10-28T05:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2026-10-29T04:59:59Z");
+    }
+
+    @Test
+    void monthEndsOnLeapDay() {
+        EventQuery query = query(at("2028-02-10T18:00:00Z"), null, null, "month");
+
+        assertThat(query.getStartDateTime()).isEqualTo("2028-02-10T06:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2028-03-01T05:59:59Z");
+    }
+
+    @Test
+    void monthStartingOnItsLastDayIsOneDay() {
+        EventQuery leapDay = query(at("2028-02-29T18:00:00Z"), null, null, "month");
+        EventQuery monthEnd = query(at("2026-01-31T18:00:00Z"), null, null, "month");
+
+        assertThat(leapDay.getStartDateTime()).isEqualTo("2028-02-29T06:00:00Z");
+        assertThat(leapDay.getEndDateTime()).isEqualTo("2028-03-01T05:59:59Z");
+        assertThat(monthEnd.getStartDateTime()).isEqualTo("2026-01-31T06:00:00Z");
+        assertThat(monthEnd.getEndDateTime()).isEqualTo("2026-02-01T05:59:59Z");
+    }
+
+    @Test
+    void monthInNonLeapFebruaryEndsOnThe28th() {
+        EventQuery query = query(at("2026-02-10T18:00:00Z"), null, null, "month");
+
+        assertThat(query.getEndDateTime()).isEqualTo("2026-03-01T05:59:59Z");
+    }
+
+    @Test
+    void fractionalSecondsAreDropped() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.123Z", true, CHICAGO)).isEqualTo("2026-11-05T10:00:00Z");
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.1Z", true, CHICAGO)).isEqualTo("2026-11-05T10:00:00Z");
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.123456789Z", true, CHICAGO)).isEqualTo("2026-11-05T10:00:00Z");
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00Z", true, CHICAGO)).isEqualTo("2026-11-05T10:00:00Z");
+    }
+
+    @Test
+    void malformedFractionsAreRejected() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.1234567890Z", true, CHICAGO)).isNull();
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.Z", true, CHICAGO)).isNull();
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00.12aZ", true, CHICAGO)).isNull();
+        assertThat(normalizer.normalizeDate("2026-11-05T10:00:00,123Z", true, CHICAGO)).isNull();
+    }
+
+    @Test
+    void datesExpandToLocalDayBounds() {
+        EventQuery query = query(at("2026-10-28T17:00:00Z"), "2026-11-01", "2026-11-01", null);
+
+        // 2026-11-01 is 25 hours long in Chicago
+        assertThat(query.getStartDateTime()).isEqualTo("2026-11-01T05:00:00Z");
+        assertThat(query.getEndDateTime()).isEqualTo("2026-11-02T05:59:59Z");
+    }
+
+    @Test
+    void invalidCalendarDatesAreRejected() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        for (String date : List.of("2026-02-29", "2026-04-31", "2026-13-01", "2026-00-10", "2026-11-00",
+                "2026-11-05T24:00:00Z", "2026-11-05T10:60:00Z", "2026-11-05T10:00:60Z", "2026/11/05", "tomorrow")) {
+            EventQuery query = query(normalizer, date, null, null);
+            assertThat(query.getErrors()).as(date).containsExactly("startDate must be yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss[.SSS]Z");
+        }
+        assertThat(query(normalizer, "2028-02-29", null, null).isValid()).isTrue();
+    }
+
+    @Test
+    void startAfterEndIsRejected() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(query(normalizer, "2026-11-06", "2026-11-05", null).getErrors())
+                .containsExactly("startDate must not be after endDate");
+        assertThat(query(normalizer, "2026-11-05T10:00:01Z", "2026-11-05T10:00:00.999Z", null).getErrors())
+                .containsExactly("startDate must not be after endDate");
+        assertThat(query(normalizer, "2026-11-05", "2026-11-05", null).isValid()).isTrue();
+    }
+
+    @Test
+    void pageSizeIsCutToTheUpstreamPageSize() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(normalizer.normalize(null, null, null, 0, 100_000, "date", "asc", LAT, LON, 10, null).getSize())
+                .isEqualTo(EventQueryNormalizer.MAX_PAGE_SIZE);
+        assertThat(normalizer.normalize(null, null, null, 0, 0, "date", "asc", LAT, LON, 10, null).getSize()).isEqualTo(20);
+    }
+
+    @Test
+    void pagesMustStartWithinTheSnapshot() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(normalizer.normalize(null, null, null, 14, 200, "date", "asc", LAT, LON, 10, null).isValid()).isTrue();
+        assertThat(normalizer.normalize(null, null, null, 15, 200, "date", "asc", LAT, LON, 10, null).getErrors())
+                .containsExactly("page must start within the first 3000 events");
+        assertThat(normalizer.normalize(null, null, null, 100, 100_000, "date", "asc", LAT, LON, 10, null).isValid()).isFalse();
+        // page * size overflows an int
+        assertThat(normalizer.normalize(null, null, null, Integer.MAX_VALUE, 200, "date", "asc", LAT, LON, 10, null).isValid()).isFalse();
+        assertThat(normalizer.normalize(null, null, null, -3, 20, "date", "asc", LAT, LON, 10, null).getPage()).isZero();
+    }
+
+    @Test
+    void streamSizeIsCappedAtTheSnapshotSize() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        assertThat(normalizer.normalizeStream(null, null, null, 1000, "date", "asc", LAT, LON, 10, null,
+                null, null, null, null, null, null, null, null, null).getSize()).isEqualTo(1000);
+        assertThat(normalizer.normalizeStream(null, null, null, 100_000, "date", "asc", LAT, LON, 10, null,
+                null, null, null, null, null, null, null, null, null).getSize()).isEqualTo(3000);
+    }
+
+    @Test
+    void equivalentInputsShareACacheKey() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        EventQuery plain = normalizer.normalize("2026-11-05", "2026-11-07", "taylor swift", 0, 20, "name", "desc", LAT, LON, 10, null,
+                List.of("music"), null, null, List.of("High"), null, null, null, null, null);
+        EventQuery spelledOut = normalizer.normalize("2026-11-05T06:00:00.000Z", "2026-11-08T05:59:59Z", "  Taylor \t Swift ", 3, 50,
+                "NAME", "DESC", LAT, LON, 10, null,
+                List.of("Music", " music "), List.of(" "), List.of(), List.of("HIGH"), null, null, null, null, null);
+
+        assertThat(spelledOut.isValid()).isTrue();
+        assertThat(spelledOut.cacheKey()).isEqualTo(plain.cacheKey());
+    }
+
+    @Test
+    void impactLevelsAreCanonicalized() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        EventQuery query = normalizer.normalize("2026-11-05", "2026-11-07", null, 0, 20, "date", "asc", LAT, LON, 10, null,
+                null, null, null, List.of("CRITICAL", "critical", " High "), null, null, null, null, null);
+
+        assertThat(query.isValid()).isTrue();
+        assertThat(query.getFilter().getImpactLevels()).containsExactly("Critical", "High");
+    }
+
+    @Test
+    void unknownImpactLevelIsRejected() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+
+        EventQuery query = normalizer.normalize("2026-11-05", "2026-11-07", null, 0, 20, "date", "asc", LAT, LON, 10, null,
+                null, null, null, List.of("severe"), null, null, null, null, null);
+
+        assertThat(query.getErrors()).containsExactly("impactLevel must be one of Critical, High, Medium, Low");
+    }
+
+    @Test
+    void differentInputsHaveDifferentCacheKeys() {
+        EventQueryNormalizer normalizer = at("2026-10-28T17:00:00Z");
+        EventQuery base = query(normalizer, "2026-11-05", "2026-11-07", null);
+
+        assertThat(query(normalizer, "2026-11-05", "2026-11-08", null).cacheKey()).isNotEqualTo(base.cacheKey());
+        assertThat(normalizer.normalize("2026-11-05", "2026-11-07", null, 0, 20, "date", "asc", LAT, LON, 25, null).cacheKey())
+                .isNotEqualTo(base.cacheKey());
+        assertThat(normalizer.normalize("2026-11-05", "2026-11-07", null, 0, 20, "date", "desc", LAT, LON, 10, null).cacheKey())
+                .isNotEqualTo(base.cacheKey());
+    }
+
+    @Test
+    void periodAndExplicitTodayShareACacheKey() {
+        EventQueryNormalizer normalizer = at("2026-10-29T03:00:00Z");
+
+        assertThat(query(normalizer, null, null, "today").cacheKey())
+                .isEqualTo(query(normalizer, "2026-10-28", "2026-10-28", null).cacheKey());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventQuery;
+import com.example.eventsystem.model.EventResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+    private static final double LAT = 36.1656;
+    private static final double LON = -86.7781;
+
+    private final MutableClock clock = new MutableClock("2026-11-01T12:00:00Z");
+    private final EventQueryNormalizer normalizer = new EventQueryNormalizer(clock, 3000);
+
+    private EventSearchIndex index(long ttlMillis, int maxScopes) {
+        EventSearchIndex index = new EventSearchIndex(new PipelineMetrics(new SimpleMeterRegistry()), clock);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "ttlMillis", ttlMillis);
+        ReflectionTestUtils.setField(index, "maxScopes", maxScopes);
+        return index;
+    }
+
+    private EventQuery query(String keyword, String startDate, String endDate) {
+        return normalizer.normalize(startDate, endDate, keyword, 0, 20, "date", "asc", LAT, LON, 10, null);
+    }
+
+    private static EventResponse event(String id, String name, String startDateTime) {
+        EventResponse event = new EventResponse();
+        event.setId(id);
+        event.setName(name);
+        event.setStartDateTime(startDateTime);
+        event.setDistance(1.5);
+        return event;
+    }
+
+    /** Crawl results are indexed on the index's own thread; wait until the answer shows up */
+    private static <T> T await(Supplier<T> answer) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        T value;
+        while ((value = answer.get()) == null && System.nanoTime() < deadline) Thread.sleep(10);
+        return value;
+    }
+
+    private void crawl(EventSearchIndex index, String startDate, String endDate, EventResponse... events) {
+        index.onIngest(new EventsIngestedEvent(List.of(events), query(null, startDate, endDate), true));
+    }
+
+    @Test
+    void coveredKeywordQueriesAreAnsweredLocally() throws InterruptedException {
+        EventSearchIndex index = index(300_000, 16);
+        crawl(index, "2026-11-01", "2026-11-30",
+                event("a", "Jazz Night", "2026-11-05T01:00:00Z"), event("b", "Rock Night", "2026-11-20T01:00:00Z"));
+
+        List<EventResponse> hits = await(() -> index.search(query("jazz", "2026-11-01", "2026-11-10")));
+
+        assertThat(hits).extracting(EventResponse::getId).containsExactly("a");
+        // Window outside the scope: not covered
+        assertThat(index.search(query("jazz", "2026-11-01", "2026-12-10"))).isNull();
+    }
+
+    @Test
+    void scopesExpireAfterTheTtl() throws InterruptedException {
+        EventSearchIndex index = index(60_000, 16);
+        crawl(index, "2026-11-01", "2026-11-30", event("a", "Jazz Night", "2026-11-05T01:00:00Z"));
+        assertThat(await(() -> index.search(query("jazz", "2026-11-01", "2026-11-10")))).isNotNull();
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(index.search(query("jazz", "2026-11-01", "2026-11-10"))).isNotNull();
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(index.search(query("jazz", "2026-11-01", "2026-11-10"))).isNull();
+        assertThat(index.range(query(null, "2026-11-01", "2026-11-10"))).isNull();
+    }
+
+    @Test
+    void theStalestScopeIsEvictedBeyondTheLimit() throws InterruptedException {
+        EventSearchIndex index = index(300_000, 2);
+        crawl(index, "2026-11-01", "2026-11-10", event("a", "Jazz Night", "2026-11-05T01:00:00Z"));
+        await(() -> index.search(query("jazz", "2026-11-01", "2026-11-10")));
+        clock.advance(Duration.ofSeconds(1));
+        crawl(index, "2026-11-11", "2026-11-20", event("b", "Jazz Brunch", "2026-11-15T16:00:00Z"));
+        await(() -> index.search(query("jazz", "2026-11-11", "2026-11-20")));
+        clock.advance(Duration.ofSeconds(1));
+
+        crawl(index, "2026-11-21", "2026-11-30", event("c", "Jazz Finale", "2026-11-25T01:00:00Z"));
+
+        assertThat(await(() -> index.search(query("jazz", "2026-11-21", "2026-11-30")))).isNotNull();
+        assertThat(index.search(query("jazz", "2026-11-01", "2026-11-10"))).isNull();
+        assertThat(index.search(query("jazz", "2026-11-11", "2026-11-20"))).extracting(EventResponse::getId).containsExactly("b");
+    }
+}
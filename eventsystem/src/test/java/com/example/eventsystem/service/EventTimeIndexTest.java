@@ -0,0 +1,93 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTimeIndexTest {
+    private static final ZoneId CHICAGO = ZoneId.of("America/Chicago");
+
+    private static EventResponse event(String id, String startDateTime, String venue) {
+        EventResponse event = new EventResponse();
+        event.setId(id);
+        event.setStartDateTime(startDateTime);
+        event.setVenue(venue);
+        return event;
+    }
+
+    private static long second(String instant) {
+        return Instant.parse(instant).getEpochSecond();
+    }
+
+    private static List<String> ids(List<EventResponse> events) {
+        return events.stream().map(EventResponse::getId).toList();
+    }
+
+    private static final EventTimeIndex INDEX = EventTimeIndex.of(List.of(
+            event("late", "2026-11-05T03:00:00Z", "Ryman Auditorium"),
+            event("early", "2026-11-03T01:00:00Z", "Bridgestone Arena"),
+            event("tie1", "2026-11-04T01:00:00Z", "Ryman Auditorium"),
+            event("mid", "2026-11-04T00:30:00Z", "Bridgestone Arena"),
+            event("tie2", "2026-11-04T01:00:00Z", "Bridgestone Arena"),
+            event("tie3", "2026-11-04T01:00:00Z", "Ryman Auditorium")), CHICAGO);
+
+    @Test
+    void eventsAreOrderedByStartWithTiesInInputOrder() {
+        assertThat(ids(INDEX.range(0, Long.MAX_VALUE))).containsExactly("early", "mid", "tie1", "tie2", "tie3", "late");
+    }
+
+    @Test
+    void rangeBoundsAreInclusive() {
+        long tie = second("2026-11-04T01:00:00Z");
+
+        assertThat(ids(INDEX.range(tie, tie))).containsExactly("tie1", "tie2", "tie3");
+        assertThat(ids(INDEX.range(tie - 1, tie - 1))).isEmpty();
+        assertThat(ids(INDEX.range(second("2026-11-04T00:30:00Z"), tie))).containsExactly("mid", "tie1", "tie2", "tie3");
+        assertThat(ids(INDEX.range(tie + 1, second("2026-11-05T03:00:00Z")))).containsExactly("late");
+    }
+
+    @Test
+    void rangesOutsideTheEventsAreEmpty() {
+        assertThat(INDEX.range(0, second("2026-11-03T00:59:59Z"))).isEmpty();
+        assertThat(INDEX.range(second("2026-11-05T03:00:01Z"), Long.MAX_VALUE)).isEmpty();
+        assertThat(INDEX.range(second("2026-11-05T00:00:00Z"), second("2026-11-04T00:00:00Z"))).isEmpty();
+        assertThat(EventTimeIndex.EMPTY.range(0, Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void venueRangesKeepStartOrderAndIgnoreCase() {
+        long tie = second("2026-11-04T01:00:00Z");
+
+        assertThat(ids(INDEX.range(0, Long.MAX_VALUE, "ryman auditorium"))).containsExactly("tie1", "tie3", "late");
+        assertThat(ids(INDEX.range(tie, tie, "RYMAN AUDITORIUM"))).containsExactly("tie1", "tie3");
+        assertThat(ids(INDEX.range(tie + 1, Long.MAX_VALUE, "Bridgestone Arena"))).isEmpty();
+        assertThat(ids(INDEX.range(0, tie - 1, "Bridgestone Arena"))).containsExactly("early", "mid");
+        assertThat(INDEX.range(0, Long.MAX_VALUE, "Nissan Stadium")).isEmpty();
+    }
+
+    @Test
+    void localDateAndTimeAreReadInTheZoneAndUndatedEventsAreLeftOut() {
+        EventResponse local = new EventResponse();
+        local.setId("local");
+        local.setDate("2026-11-04");
+        local.setTime("19:00:00");
+        EventResponse allDay = new EventResponse();
+        allDay.setId("allDay");
+        allDay.setDate("2026-11-04");
+        EventResponse undated = new EventResponse();
+        undated.setId("undated");
+        EventResponse unreadable = event("unreadable", "next tuesday", null);
+
+        EventTimeIndex index = EventTimeIndex.of(List.of(local, allDay, undated, unreadable), CHICAGO);
+
+        assertThat(index.size()).isEqualTo(2);
+        // 19:00 CST is 01:00 UTC the next day; midnight CST is 06:00 UTC
+        assertThat(ids(index.range(second("2026-11-05T01:00:00Z"), second("2026-11-05T01:00:00Z")))).containsExactly("local");
+        assertThat(ids(index.range(second("2026-11-04T06:00:00Z"), second("2026-11-04T06:00:00Z")))).containsExactly("allDay");
+    }
+}
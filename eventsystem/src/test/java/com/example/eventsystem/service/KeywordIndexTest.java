@@ -0,0 +1,120 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.EventResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordIndexTest {
+
+    private static EventResponse event(String id, String name, String venue) {
+        EventResponse event = new EventResponse();
+        event.setId(id);
+        event.setName(name);
+        event.setVenue(venue);
+        event.setCategory("Music");
+        event.setDescription("");
+        return event;
+    }
+
+    private static List<String> ids(List<EventResponse> events) {
+        return events.stream().map(EventResponse::getId).toList();
+    }
+
+    @Test
+    void tokensAreLowerCasedRunsOfLettersAndDigits() {
+        assertThat(KeywordIndex.tokenize("  Taylor Swift | The ERAS Tour, 2026!")).containsExactly("taylor", "swift", "the", "eras", "tour", "2026");
+        assertThat(KeywordIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void everyTokenMustMatchAsAPrefix() {
+        KeywordIndex index = new KeywordIndex();
+        index.replaceAll(List.of(
+                event("a", "Jazz Night", "Blue Room"),
+                event("b", "Jazzfest", "Riverfront Park"),
+                event("c", "Rock Night", "Blue Room")));
+
+        assertThat(ids(index.search(List.of("jazz")))).containsExactlyInAnyOrder("a", "b");
+        assertThat(ids(index.search(List.of("night", "blue")))).containsExactlyInAnyOrder("a", "c");
+        assertThat(index.search(List.of("jazz", "rock"))).isEmpty();
+        assertThat(index.search(List.of("zzz"))).isEmpty();
+    }
+
+    @Test
+    void namesAndWholeTermsRankFirst() {
+        KeywordIndex index = new KeywordIndex();
+        index.replaceAll(List.of(
+                event("venue", "Late Show", "Opry House"),
+                event("prefix", "Oprymania", "Ryman Auditorium"),
+                event("name", "Opry Classics", "Ryman Auditorium")));
+
+        assertThat(ids(index.search(List.of("opry")))).containsExactly("name", "venue", "prefix");
+    }
+
+    @Test
+    void tiesKeepIndexOrder() {
+        KeywordIndex index = new KeywordIndex();
+        index.replaceAll(List.of(event("b", "Jazz", "Hall"), event("a", "Jazz", "Hall")));
+
+        assertThat(ids(index.search(List.of("jazz")))).containsExactly("b", "a");
+    }
+
+    @Test
+    void changedTextIsIndexedAgainAndUnchangedEventsAreReplaced() {
+        KeywordIndex index = new KeywordIndex();
+        index.replaceAll(List.of(event("a", "Jazz Night", "Blue Room"), event("b", "Rock Night", "Blue Room")));
+
+        EventResponse sameText = event("a", "Jazz Night", "Blue Room");
+        KeywordIndex.Update update = index.replaceAll(List.of(sameText, event("b", "Folk Night", "Blue Room")));
+
+        assertThat(update).isEqualTo(new KeywordIndex.Update(1, 1, 0));
+        assertThat(index.search(List.of("jazz"))).containsExactly(sameText);
+        assertThat(index.search(List.of("rock"))).isEmpty();
+        assertThat(ids(index.search(List.of("folk")))).containsExactly("b");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void eventsMissingFromAnUpdateAreRemoved() {
+        KeywordIndex index = new KeywordIndex();
+        index.replaceAll(List.of(event("a", "Jazz Night", "Blue Room"), event("b", "Jazz Brunch", "Blue Room")));
+
+        KeywordIndex.Update update = index.replaceAll(List.of(event("b", "Jazz Brunch", "Blue Room")));
+
+        assertThat(update).isEqualTo(new KeywordIndex.Update(0, 1, 1));
+        assertThat(ids(index.search(List.of("jazz")))).containsExactly("b");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.replaceAll(List.of()).removed()).isEqualTo(1);
+        assertThat(index.search(List.of("jazz"))).isEmpty();
+    }
+
+    @Test
+    void repeatedAndIdLessEventsAreIndexedOnce() {
+        KeywordIndex index = new KeywordIndex();
+
+        KeywordIndex.Update update = index.replaceAll(List.of(
+                event("a", "Jazz", "Hall"), event("a", "Jazz again", "Hall"), event(null, "Jazz", "Hall")));
+
+        assertThat(update.indexed()).isEqualTo(1);
+        assertThat(ids(index.search(List.of("jazz")))).containsExactly("a");
+    }
+
+    @Test
+    void searchesStayCorrectAcrossRebuilds() {
+        KeywordIndex index = new KeywordIndex();
+        for (int round = 0; round < 5; round++) {
+            List<EventResponse> events = new ArrayList<>();
+            for (int i = 0; i < 300; i++) events.add(event("e" + i, "Show " + round + " number" + i, "Hall"));
+            index.replaceAll(events);
+
+            assertThat(index.size()).isEqualTo(300);
+            assertThat(index.search(List.of("show", String.valueOf(round)))).hasSize(300);
+            assertThat(ids(index.search(List.of("number299")))).containsExactly("e299");
+            if (round > 0) assertThat(index.search(List.of(String.valueOf(round - 1)))).isEmpty();
+        }
+    }
+}
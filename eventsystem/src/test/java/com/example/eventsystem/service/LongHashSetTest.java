@@ -0,0 +1,55 @@
+package com.example.eventsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    void addReportsWhetherTheValueWasNew() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThat(set.add(42)).isTrue();
+        assertThat(set.add(42)).isFalse();
+        assertThat(set.add(-42)).isTrue();
+    }
+
+    @Test
+    void keepsEveryValueAcrossResizes() {
+        LongHashSet set = new LongHashSet(4);
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+            assertThat(set.add(values[i])).isTrue();
+        }
+
+        for (long value : values) assertThat(set.add(value)).isFalse();
+    }
+
+    @Test
+    void zeroIsAValueLikeAnyOther() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+        // Values whose probe lands where a remapped zero would have
+        assertThat(set.add(0x9E3779B97F4A7C15L)).isTrue();
+        assertThat(set.add(Long.MIN_VALUE)).isTrue();
+        for (int i = 1; i <= 100; i++) assertThat(set.add(i)).isTrue();
+
+        assertThat(set.add(0)).isFalse();
+    }
+
+    @Test
+    void valuesDifferingOnlyInHighBitsAreKeptApart() {
+        LongHashSet set = new LongHashSet(16);
+        for (long i = 1; i <= 1_000; i++) assertThat(set.add(i << 40)).isTrue();
+
+        for (long i = 1; i <= 1_000; i++) assertThat(set.add(i << 40)).isFalse();
+        assertThat(set.add(1_001L << 40)).isTrue();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.eventsystem.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** Clock that stands still until a test moves it */
+final class MutableClock extends Clock {
+    private volatile Instant now;
+    private final ZoneId zone;
+
+    MutableClock(String instant) {
+        this(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    private MutableClock(Instant now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone;
+    }
+
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /** A view in another zone that moves with this clock */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        MutableClock parent = this;
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return zone;
+            }
+
+            @Override
+            public Clock withZone(ZoneId other) {
+                return parent.withZone(other);
+            }
+
+            @Override
+            public Instant instant() {
+                return parent.instant();
+            }
+        };
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
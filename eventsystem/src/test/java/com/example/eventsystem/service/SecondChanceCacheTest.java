@@ -0,0 +1,60 @@
+package com.example.eventsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecondChanceCacheTest {
+
+    @Test
+    void staysWithinItsLimit() {
+        SecondChanceCache<Integer> cache = new SecondChanceCache<>(3);
+
+        for (int i = 0; i < 10; i++) cache.put("k" + i, i);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("k9")).isEqualTo(9);
+    }
+
+    @Test
+    void entriesReadSinceTheLastSweepAreKept() {
+        SecondChanceCache<Integer> cache = new SecondChanceCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.get("c");
+
+        cache.put("d", 4);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.get("d")).isEqualTo(4);
+    }
+
+    @Test
+    void evictsEvenWhenEveryEntryWasRead() {
+        SecondChanceCache<Integer> cache = new SecondChanceCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("b");
+
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void replacingAKeyDoesNotEvict() {
+        SecondChanceCache<Integer> cache = new SecondChanceCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.put("a", 10);
+
+        assertThat(cache.get("a")).isEqualTo(10);
+        assertThat(cache.get("b")).isEqualTo(2);
+    }
+}
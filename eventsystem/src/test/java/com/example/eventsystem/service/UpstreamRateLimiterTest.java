@@ -0,0 +1,96 @@
+package com.example.eventsystem.service;
+
+import com.example.eventsystem.model.UpstreamPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamRateLimiterTest {
+    private final MutableClock clock = new MutableClock("2026-11-05T23:59:50Z");
+    private UpstreamRateLimiter limiter;
+
+    /** One permit per second, no burst beyond one, and a daily quota of {@code quota} calls */
+    private UpstreamRateLimiter limiter(int quota) {
+        return limiter(quota, clock);
+    }
+
+    private UpstreamRateLimiter limiter(int quota, Clock clock) {
+        limiter = new UpstreamRateLimiter(new PipelineMetrics(new SimpleMeterRegistry()), clock);
+        ReflectionTestUtils.setField(limiter, "requestsPerSecond", 1.0);
+        ReflectionTestUtils.setField(limiter, "burst", 1);
+        ReflectionTestUtils.setField(limiter, "defaultMaxWaitMillis", 3000L);
+        ReflectionTestUtils.setField(limiter, "dailyQuota", quota);
+        ReflectionTestUtils.setField(limiter, "backgroundReserve", 0.0);
+        ReflectionTestUtils.setField(limiter, "backgroundShare", 4);
+        limiter.init();
+        return limiter;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (limiter != null) limiter.shutdown();
+    }
+
+    private static long in(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void cancelledWaitersGiveTheirQuotaBack() throws Exception {
+        UpstreamRateLimiter limiter = limiter(2);
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompleted();
+        CompletableFuture<Void> queued = limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000));
+        assertThat(queued).isNotDone();
+        // The queued caller holds the last call of the quota
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompletedExceptionally();
+
+        queued.cancel(false);
+        // Dropped, and its quota given back, by the next dispatch once a token refills
+        limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000)).get(3, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void expiredWaitersGiveTheirQuotaBack() throws Exception {
+        UpstreamRateLimiter limiter = limiter(2);
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompleted();
+        // Admitted on the estimate, then cut short by a pause upstream asked for
+        CompletableFuture<Void> queued = limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(1200));
+        limiter.onThrottled(2000);
+        assertThatThrownBy(() -> queued.get(3, TimeUnit.SECONDS)).hasCauseInstanceOf(UpstreamThrottledException.class);
+
+        limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000)).get(3, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void quotaResetsAtMidnightUtc() throws Exception {
+        UpstreamRateLimiter limiter = limiter(1);
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompleted();
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompletedExceptionally();
+
+        clock.advance(Duration.ofSeconds(10));
+
+        limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000)).get(3, TimeUnit.SECONDS);
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompletedExceptionally();
+    }
+
+    @Test
+    void quotaDayIsTheUtcDayWhateverTheClockZone() throws Exception {
+        UpstreamRateLimiter limiter = limiter(1, clock.withZone(ZoneId.of("America/Chicago")));
+        assertThat(limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000))).isCompleted();
+
+        // 04:59:50 UTC on the 6th, still the evening of the 5th in Chicago
+        clock.advance(Duration.ofHours(5));
+
+        limiter.acquireAsync(UpstreamPriority.INTERACTIVE, in(5000)).get(3, TimeUnit.SECONDS);
+    }
+}
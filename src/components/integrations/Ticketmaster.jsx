@@ -156,11 +156,12 @@ function estimateCapacityFromVenueName(venueName) {
     return 1000; // Default fallback
 }
 
+const API_BASE = import.meta.env.VITE_API_URL || "http://localhost:8080/api";
+
 /**
- * Fetches events from the backend Ticketmaster Event System API.
+ * Maps frontend params to backend /events query params
  */
-async function discoverEvents(params = {}) {
-    // Map frontend params to backend API query params
+function buildEventsQuery(params = {}) {
     const query = new URLSearchParams();
     if (params.startDateTime) query.append('startDate', params.startDateTime);
     if (params.endDateTime) query.append('endDate', params.endDateTime);
@@ -173,16 +174,50 @@ async function discoverEvents(params = {}) {
     if (params.sort) {
         const [sortBy, sortDir] = params.sort.split(',');
         query.append('sortBy', sortBy);
-        query.append('sortDir', sortDir);
+        if (sortDir) query.append('sortDir', sortDir);
     }
     if (params.keyword) query.append('keyword', params.keyword);
     if (params.page) query.append('page', params.page);
     
     // Request a large size to get all events (up to 1000)
     query.append('size', '1000');
-    
-    const API_BASE = import.meta.env.VITE_API_URL || "http://localhost:8080/api";
-    const url = `${API_BASE}/events?${query.toString()}`;
+    return query;
+}
+
+/**
+ * Transforms one backend event to match the expected format
+ */
+function toDiscoveryEvent(event) {
+    return {
+        id: event.id,
+        name: event.name,
+        date: event.date,
+        time: event.time,
+        venue: event.venue,
+        venueCapacity: event.venueCapacity,
+        venueType: event.venueType,
+        impactScore: event.impactScore,
+        impactLevel: event.impactLevel,
+        distance: event.distance,
+        price: event.price,
+        status: event.status,
+        venueTier: event.venueTier,
+        category: event.category,
+        address: event.address,
+        description: event.description,
+        ticketUrl: event.ticketUrl,
+        // Include all the new image fields
+        event_image: event.eventImage,
+        images: event.allImages || [],
+        image_metadata: event.imageMetadata
+    };
+}
+
+/**
+ * Fetches events from the backend Ticketmaster Event System API.
+ */
+async function discoverEvents(params = {}) {
+    const url = `${API_BASE}/events?${buildEventsQuery(params).toString()}`;
     
     try {
         const response = await fetch(url);
@@ -195,32 +230,9 @@ async function discoverEvents(params = {}) {
         const events = data.events || data;
         const pagination = data.pagination || { currentPage: 0, pageSize: events.length, totalElements: events.length };
         
-        // Transform the backend response to match expected format
         return {
             _embedded: {
-                events: events.map(event => ({
-                    id: event.id,
-                    name: event.name,
-                    date: event.date,
-                    time: event.time,
-                    venue: event.venue,
-                    venueCapacity: event.venueCapacity,
-                    venueType: event.venueType,
-                    impactScore: event.impactScore,
-                    impactLevel: event.impactLevel,
-                    distance: event.distance,
-                    price: event.price,
-                    status: event.status,
-                    venueTier: event.venueTier,
-                    category: event.category,
-                    address: event.address,
-                    description: event.description,
-                    ticketUrl: event.ticketUrl,
-                    // Include all the new image fields
-                    event_image: event.eventImage,
-                    images: event.allImages || [],
-                    image_metadata: event.imageMetadata
-                }))
+                events: events.map(toDiscoveryEvent)
             },
             page: {
                 number: pagination.currentPage || 0,
@@ -238,6 +250,55 @@ async function discoverEvents(params = {}) {
     }
 }
 
+/**
+ * Streams events from /events/stream (Server-Sent Events). onEvents receives each batch as
+ * soon as the backend has processed an upstream page; onSummary receives the final frame.
+ * Batches arrive in upstream order, so apply compareEvents once the summary is in.
+ * Returns a function that closes the stream.
+ */
+function streamEvents(params = {}, { onEvents, onSummary, onError } = {}) {
+    const query = buildEventsQuery(params);
+    query.delete('page');
+    const source = new EventSource(`${API_BASE}/events/stream?${query.toString()}`);
+    let done = false;
+    const close = () => {
+        done = true;
+        source.close();
+    };
+
+    source.addEventListener('events', (e) => {
+        onEvents?.(JSON.parse(e.data).map(toDiscoveryEvent));
+    });
+    source.addEventListener('summary', (e) => {
+        close();
+        onSummary?.(JSON.parse(e.data));
+    });
+    // Fires for the server's error frame (with data) and for dropped connections (without)
+    source.addEventListener('error', (e) => {
+        if (done) return;
+        close();
+        onError?.(new Error(e.data ? JSON.parse(e.data).error : 'Event stream disconnected'));
+    });
+    return close;
+}
+
+/**
+ * Client-side equivalent of the backend's sortBy/sortDir ordering (date, name or venue)
+ */
+function compareEvents(sortBy = 'date', sortDir = 'asc') {
+    const key = sortBy === 'name' ? 'name' : sortBy === 'venue' ? 'venue' : 'date';
+    const direction = sortDir === 'desc' ? -1 : 1;
+    return (a, b) => {
+        const x = a[key];
+        const y = b[key];
+        let order;
+        if (x == null || y == null) order = (x == null) - (y == null); // nulls last, before direction
+        else if (key === 'date') order = x < y ? -1 : x > y ? 1 : 0;
+        else order = x.localeCompare(y, undefined, { sensitivity: 'accent' });
+        return order * direction;
+    };
+}
+
 /**
  * Processes a real Ticketmaster API response
  */
@@ -310,4 +371,4 @@ async function discoverVenues(params = {}) {
     };
 }
 
-export { discoverEvents, discoverVenues, processTicketmasterResponse, mapTicketmasterEventToInternal };
\ No newline at end of file
+export { discoverEvents, streamEvents, compareEvents, discoverVenues, processTicketmasterResponse, mapTicketmasterEventToInternal };
\ No newline at end of file
@@ -1,5 +1,5 @@
-import React, { useState, useEffect } from "react";
-import { discoverEvents } from "../components/integrations/Ticketmaster";
+import React, { useState, useEffect, useRef } from "react";
+import { discoverEvents, streamEvents, compareEvents } from "../components/integrations/Ticketmaster";
 import EventCard from "../components/events/EventCard";
 import EventFilters from "../components/events/EventFilters";
 import { CalendarX, Sparkles, TrendingUp, X, MapPin, Calendar, Clock, Users, Ticket, ExternalLink, Filter, Grid, List, Search, RefreshCw, Music, Star, Zap, Target, Eye, AlertCircle } from "lucide-react";
@@ -385,6 +385,11 @@ export default function Events() {
   const HOTEL_LAT = 36.1527289;
   const HOTEL_LON = -86.7890460;
 
+  // Closes the events stream that is currently loading, if any
+  const closeStreamRef = useRef(null);
+
+  useEffect(() => () => closeStreamRef.current?.(), []);
+
   useEffect(() => {
     console.log('Filters changed:', filters);
     loadEvents();
@@ -395,7 +400,8 @@ export default function Events() {
     applyFilters();
   }, [filters.impactLevel, filters.venueType, allEvents, searchTerm]);
 
-  const loadEvents = async () => {
+  const loadEvents = () => {
+    closeStreamRef.current?.();
     setIsLoading(true);
     try {
       const now = new Date();
@@ -454,30 +460,48 @@ export default function Events() {
       };
       console.log('API params:', params);
 
-      const response = await discoverEvents(params);
-      const mappedEvents = response._embedded?.events.map(mapApiEventToInternal) || [];
-      console.log('Events returned:', mappedEvents.length, mappedEvents.map(e => e.date || e.startDate));
-      
-      setAllEvents(mappedEvents);
-      setPagination({
-        currentPage: response.page.number || 0,
-        totalPages: response.page.totalPages || 1,
-        totalElements: response.page.totalElements || mappedEvents.length,
-        pageSize: response.page.size || 20,
-        hasNextPage: response.page.hasNextPage || false,
-        hasPreviousPage: response.page.hasPreviousPage || false,
-        pageNumbers: response.page.pageNumbers || []
-      });
+      // Render each batch as soon as the backend has processed an upstream page,
+      // then put the full list in its final order once the summary arrives
+      let received = [];
+      setAllEvents([]);
+      closeStreamRef.current = streamEvents(params, {
+        onEvents: (batch) => {
+          received = received.concat(batch);
+          setAllEvents(received.map(mapApiEventToInternal));
+          setIsLoading(false);
+        },
+        onSummary: (summary) => {
+          const mappedEvents = [...received]
+            .sort(compareEvents(summary.sortBy, summary.sortDir))
+            .map(mapApiEventToInternal);
+          console.log('Events returned:', mappedEvents.length, `in ${summary.elapsedMillis} ms`, summary.fallback ? '(cached)' : summary.partial ? '(partial)' : '');
 
+          setAllEvents(mappedEvents);
+          setPagination({
+            currentPage: 0,
+            totalPages: 1,
+            totalElements: summary.count,
+            pageSize: summary.count || 20,
+            hasNextPage: false,
+            hasPreviousPage: false,
+            pageNumbers: []
+          });
+          setIsLoading(false);
+        },
+        onError: (error) => {
+          console.error("Error loading events:", error);
+          toast({
+            title: "Error Loading Events",
+            description: "Failed to load events. Please try again.",
+            variant: "destructive",
+          });
+          setIsLoading(false);
+        }
+      });
     } catch (error) {
       console.error("Error loading events:", error);
-      toast({
-        title: "Error Loading Events",
-        description: "Failed to load events. Please try again.",
-        variant: "destructive",
-      });
+      setIsLoading(false);
     }
-    setIsLoading(false);
   };
 
   const applyFilters = () => {